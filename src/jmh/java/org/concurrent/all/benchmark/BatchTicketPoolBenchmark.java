@@ -0,0 +1,80 @@
+package org.concurrent.all.benchmark;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch add/purchase against per-ticket calls. Scores are invocations per millisecond;
+ * multiply by batchSize for tickets per millisecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Timeout(time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class BatchTicketPoolBenchmark {
+
+    @Param({"Synchronized", "ReentrantLock", "BlockingQueue", "RingBuffer", "Sharded", "MultiEvent", "OffHeap", "StampedLock"})
+    private String implementation;
+
+    @Param({"1", "16", "256"})
+    private int batchSize;
+
+    @Param("1024")
+    private int capacity;
+
+    private TicketPool pool;
+    private List<Ticket> batch;
+
+    @State(Scope.Thread)
+    public static class Sink {
+        final List<Ticket> tickets = new ArrayList<>();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        pool = BenchmarkPools.create(implementation, capacity);
+        batch = Collections.nCopies(batchSize, new Ticket("T-1", "Event", 100.0));
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(2)
+    public int add() throws InterruptedException {
+        int added = pool.addTickets(batch);
+        BenchmarkPools.checkInterrupted();
+        return added;
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(2)
+    public int purchase(Sink sink) throws InterruptedException {
+        int purchased = pool.purchaseTickets(batchSize, sink.tickets);
+        sink.tickets.clear();
+        BenchmarkPools.checkInterrupted();
+        return purchased;
+    }
+}
@@ -0,0 +1,38 @@
+package org.concurrent.all.benchmark;
+
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
+import org.concurrent.all.pool.impl.MultiEventTicketPool;
+import org.concurrent.all.pool.impl.OffHeapTicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.concurrent.all.pool.impl.StampedLockTicketPool;
+import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+
+final class BenchmarkPools {
+    private BenchmarkPools() {
+    }
+
+    static TicketPool create(String implementation, int capacity) {
+        return switch (implementation) {
+            case "Synchronized" -> new SynchronizedTicketPool(capacity);
+            case "ReentrantLock" -> new ReentrantLockTicketPool(capacity);
+            case "BlockingQueue" -> new BlockingQueueTicketPool(capacity);
+            case "RingBuffer" -> new RingBufferTicketPool(capacity);
+            case "Sharded" -> new ShardedTicketPool(capacity);
+            case "MultiEvent" -> new MultiEventTicketPool(capacity);
+            case "OffHeap" -> new OffHeapTicketPool(capacity);
+            case "StampedLock" -> new StampedLockTicketPool(capacity);
+            default -> throw new IllegalArgumentException("Unknown pool implementation: " + implementation);
+        };
+    }
+
+    // Pools swallow InterruptedException and restore the flag. When JMH interrupts a thread
+    // left blocked at the end of an iteration, clear the flag so the worker is reusable.
+    static void checkInterrupted() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
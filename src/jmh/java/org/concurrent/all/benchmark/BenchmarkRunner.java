@@ -0,0 +1,65 @@
+package org.concurrent.all.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the benchmarks once per thread count and writes all results into one JSON file, so
+ * runs of different releases can be compared directly. Any regular JMH option is accepted;
+ * an explicit -t runs only that thread count.
+ * <p>
+ * Thread counts: -Djmh.threadCounts=2,4,16,64. Result file: -Djmh.result=target/jmh-result.json.
+ */
+public final class BenchmarkRunner {
+    private static final String DEFAULT_THREAD_COUNTS = "2,4,16,64";
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams()
+                || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        List<Integer> threadCounts = new ArrayList<>();
+        if (cli.getThreads().hasValue()) {
+            threadCounts.add(cli.getThreads().get());
+        } else {
+            for (String count : System.getProperty("jmh.threadCounts", DEFAULT_THREAD_COUNTS).split(",")) {
+                threadCounts.add(Integer.parseInt(count.trim()));
+            }
+        }
+
+        List<RunResult> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .parent(cli)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File("target", "jmh-t" + threads + ".json").getPath())
+                    .build();
+            results.addAll(new Runner(options).run());
+        }
+
+        File resultFile = new File(cli.getResult().orElse(System.getProperty("jmh.result", DEFAULT_RESULT_FILE)));
+        File parent = resultFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, resultFile.getPath()).writeOut(results);
+        System.out.println("Combined results written to " + resultFile);
+    }
+}
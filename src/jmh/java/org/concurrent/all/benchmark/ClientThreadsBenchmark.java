@@ -0,0 +1,95 @@
+package org.concurrent.all.benchmark;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.util.ClientThreads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for a crowd of simulated clients, one thread each, to push opsPerClient tickets through
+ * a pool: half the clients add, the other half purchase. Compares platform and virtual threads;
+ * the virtual variants need a Java 21 runtime.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ClientThreadsBenchmark {
+
+    @Param({"Synchronized", "ReentrantLock", "BlockingQueue", "RingBuffer", "Sharded", "MultiEvent", "OffHeap", "StampedLock"})
+    private String implementation;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000", "10000"})
+    private int clients;
+
+    @Param("10")
+    private int opsPerClient;
+
+    @Param("1024")
+    private int capacity;
+
+    private final Ticket ticket = new Ticket("T-1", "Event", 100.0);
+    private TicketPool pool;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        if (threads.equals("virtual") && !ClientThreads.isVirtualSupported()) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime");
+        }
+        pool = BenchmarkPools.create(implementation, capacity);
+    }
+
+    @Benchmark
+    public int crowd() throws InterruptedException {
+        boolean virtual = threads.equals("virtual");
+        List<Thread> started = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Runnable client = i % 2 == 0 ? this::produce : this::consume;
+            started.add(ClientThreads.start(client, "Client-" + i, virtual));
+        }
+        for (Thread t : started) {
+            t.join();
+        }
+        return pool.getPurchasedTickets();
+    }
+
+    private void produce() {
+        try {
+            for (int i = 0; i < opsPerClient; i++) {
+                pool.addTicket(ticket);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        try {
+            for (int i = 0; i < opsPerClient; i++) {
+                pool.purchaseTicket();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.concurrent.all.benchmark;
+
+import org.concurrent.all.journal.JournaledTicketPool;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Add/purchase throughput with the write-ahead journal off and on. With the journal on, every
+ * call waits for its group commit, so the score depends on how many threads share a force().
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Timeout(time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class JournaledTicketPoolBenchmark {
+
+    @Param({"Synchronized", "ReentrantLock", "BlockingQueue", "RingBuffer", "Sharded", "MultiEvent", "OffHeap", "StampedLock"})
+    private String implementation;
+
+    @Param({"off", "on"})
+    private String journal;
+
+    @Param("1024")
+    private int capacity;
+
+    private final Ticket ticket = new Ticket("T-1", "Event", 100.0);
+    private TicketPool pool;
+    private Path journalFile;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException, InterruptedException {
+        pool = BenchmarkPools.create(implementation, capacity);
+        if (journal.equals("on")) {
+            journalFile = Files.createTempFile("ticket-pool", ".journal");
+            pool = new JournaledTicketPool(pool, journalFile);
+        }
+        for (int i = 0; i < capacity / 2; i++) {
+            pool.addTicket(ticket);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (pool instanceof JournaledTicketPool journaled) {
+            journaled.close();
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+    @Benchmark
+    @Group("journal")
+    @GroupThreads(4)
+    public boolean add() throws InterruptedException {
+        boolean added = pool.addTicket(ticket);
+        BenchmarkPools.checkInterrupted();
+        return added;
+    }
+
+    @Benchmark
+    @Group("journal")
+    @GroupThreads(4)
+    public Ticket purchase() throws InterruptedException {
+        Ticket t = pool.purchaseTicket();
+        BenchmarkPools.checkInterrupted();
+        return t;
+    }
+}
@@ -0,0 +1,107 @@
+package org.concurrent.all.benchmark;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer/consumer throughput of every pool. Each group fixes the producer:consumer
+ * ratio; the total thread count is the JMH thread count (-t), which replicates the group
+ * while all threads share one pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Timeout(time = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TicketPoolBenchmark {
+
+    @Param({"Synchronized", "ReentrantLock", "BlockingQueue", "RingBuffer", "Sharded", "MultiEvent", "OffHeap", "StampedLock"})
+    private String implementation;
+
+    @Param({"16", "1024"})
+    private int capacity;
+
+    private final Ticket ticket = new Ticket("T-1", "Event", 100.0);
+    private TicketPool pool;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws InterruptedException {
+        pool = BenchmarkPools.create(implementation, capacity);
+        for (int i = 0; i < capacity / 2; i++) {
+            pool.addTicket(ticket);
+        }
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(1)
+    public boolean balancedAdd() throws InterruptedException {
+        return add();
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(1)
+    public Ticket balancedPurchase() throws InterruptedException {
+        return purchase();
+    }
+
+    @Benchmark
+    @Group("producerHeavy")
+    @GroupThreads(3)
+    public boolean producerHeavyAdd() throws InterruptedException {
+        return add();
+    }
+
+    @Benchmark
+    @Group("producerHeavy")
+    @GroupThreads(1)
+    public Ticket producerHeavyPurchase() throws InterruptedException {
+        return purchase();
+    }
+
+    @Benchmark
+    @Group("consumerHeavy")
+    @GroupThreads(1)
+    public boolean consumerHeavyAdd() throws InterruptedException {
+        return add();
+    }
+
+    @Benchmark
+    @Group("consumerHeavy")
+    @GroupThreads(3)
+    public Ticket consumerHeavyPurchase() throws InterruptedException {
+        return purchase();
+    }
+
+    private boolean add() throws InterruptedException {
+        boolean added = pool.addTicket(ticket);
+        BenchmarkPools.checkInterrupted();
+        return added;
+    }
+
+    private Ticket purchase() throws InterruptedException {
+        Ticket t = pool.purchaseTicket();
+        BenchmarkPools.checkInterrupted();
+        return t;
+    }
+}
@@ -1,34 +1,107 @@
 package org.concurrent.all;
 
+import org.concurrent.all.client.ClientRuntime;
 import org.concurrent.all.client.Consumer;
 import org.concurrent.all.client.Producer;
+import org.concurrent.all.journal.JournaledTicketPool;
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
+import org.concurrent.all.pool.PoolSnapshot;
 import org.concurrent.all.pool.TicketPool;
 import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
+import org.concurrent.all.pool.impl.MultiEventTicketPool;
+import org.concurrent.all.pool.impl.OffHeapTicketPool;
 import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.concurrent.all.pool.impl.StampedLockTicketPool;
 import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+import org.concurrent.all.reservation.Reservation;
+import org.concurrent.all.reservation.ReservingTicketPool;
+import org.concurrent.all.util.ClientThreads;
 import org.concurrent.all.util.Reader;
 import org.concurrent.all.util.Writer;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
+    private static final int LOG_PAGE_SIZE = 1000;
+
     public static void main(String[] args) throws InterruptedException {
         Scanner sc = new Scanner(System.in);
+        boolean virtualThreads = Arrays.asList(args).contains("--virtual-threads");
+        if (virtualThreads && !ClientThreads.isVirtualSupported()) {
+            System.out.println("Virtual threads need Java 21 or newer; using platform threads.");
+            virtualThreads = false;
+        }
+        // Bulk clients become scheduled tasks on a few workers instead of a thread each.
+        ClientRuntime runtime = Arrays.asList(args).contains("--shared-scheduler") ? new ClientRuntime() : null;
 
         // 1. Choose the synchronization mechanism
         System.out.println("Select synchronization mechanism:");
         System.out.println("1. Synchronized");
         System.out.println("2. ReentrantLock");
         System.out.println("3. BlockingQueue");
+        System.out.println("4. RingBuffer (lock-free)");
+        System.out.println("5. Sharded (work stealing)");
+        System.out.println("6. MultiEvent (per-event inventory)");
+        System.out.println("7. OffHeap (direct-buffer ring)");
+        System.out.println("8. StampedLock (optimistic reads)");
         int choice = sc.nextInt();
+        if (virtualThreads && choice == 1) {
+            // A client waiting in synchronized + wait() pins its carrier thread.
+            throw new IllegalArgumentException(
+                    "Synchronized pins virtual threads; choose another mechanism or drop --virtual-threads");
+        }
 
         // 2. Configure initial system parameters
         System.out.print("Enter pool capacity: ");
         int capacity = sc.nextInt();
 
         TicketPool pool = createPool(choice, capacity);
+        String journalFile = System.getProperty("ticketpool.journal");
+        JournaledTicketPool journaled = null;
+        if (journalFile != null) {
+            try {
+                journaled = new JournaledTicketPool(pool, Path.of(journalFile));
+                journaled.scheduleCheckpoints(Long.getLong("ticketpool.checkpointSeconds", 60), TimeUnit.SECONDS);
+                pool = journaled;
+                System.out.println("Journal " + journalFile + " replayed: " + pool.getPoolInfo());
+            } catch (IOException e) {
+                System.out.println("Could not open journal " + journalFile + ": " + e.getMessage());
+            }
+        }
+
+        String auditDir = System.getProperty("ticketpool.audit");
+        AuditLog auditLog = null;
+        if (auditDir != null) {
+            try {
+                // Segments are only ever deleted when a limit is given explicitly.
+                int maxSegments = Integer.getInteger("ticketpool.auditMaxSegments", AuditLog.KEEP_ALL_SEGMENTS);
+                auditLog = new AuditLog(Path.of(auditDir), AuditLog.DEFAULT_RECORDS_PER_SEGMENT, maxSegments);
+                pool.setAuditLog(auditLog);
+                System.out.println("Auditing pool events to " + auditDir
+                        + (maxSegments == AuditLog.KEEP_ALL_SEGMENTS ? "" : ", keeping the newest " + maxSegments + " segments"));
+            } catch (IOException e) {
+                System.out.println("Could not open audit log " + auditDir + ": " + e.getMessage());
+            }
+        }
+
+        ReservingTicketPool reserving = null;
+        List<Reservation> reservations = new ArrayList<>();
+        if (Arrays.asList(args).contains("--reservations")) {
+            reserving = new ReservingTicketPool(pool);
+            pool = reserving;
+        }
 
         // Default rates
         int produceRate = 2;
@@ -72,27 +145,57 @@ public class Main {
                     break;
 
                 case "status":
+                    PoolSnapshot status = pool.snapshot();
                     System.out.println(pool.getPoolInfo());
-                    System.out.println("Total Tickets Added: " + pool.getAddedTickets());
-                    System.out.println("Total Tickets Purchased: " + pool.getPurchasedTickets());
-                    System.out.println("Total tickets left in the pool: " + pool.getAvailableTickets());
-                    System.out.printf("Total Sold Value: $%.2f%n", pool.getTotalRevenue());
-                    System.out.printf("Total Unsold Value: $%.2f%n", pool.getTotalUnsoldValue());
+                    System.out.println("Total Tickets Added: " + status.added());
+                    System.out.println("Total Tickets Purchased: " + status.purchased());
+                    System.out.println("Total tickets left in the pool: " + status.available());
+                    System.out.println("Total Timed-out Requests: " + status.timeouts());
+                    System.out.printf("Total Sold Value: $%.2f%n", status.revenue());
+                    System.out.printf("Total Unsold Value: $%.2f%n", status.unsoldValue());
+                    if (runtime != null) {
+                        System.out.println(runtime.getInfo());
+                    }
                     break;
 
                 case "addproducer":
-                    int pRate = produceRate;
+                    double pRate = produceRate;
                     if (parts.length >= 2) {
-                        pRate = Integer.parseInt(parts[1]);
+                        pRate = Double.parseDouble(parts[1]);
                     } else {
                         System.out.println("Using default rate " + produceRate + " for producer.");
                     }
-                    Producer p = new Producer(pool, pRate);
+                    int pBatch = parts.length >= 3 ? Integer.parseInt(parts[2]) : 1;
+                    Producer p = new Producer(pool, pRate, pBatch);
                     producers.add(p);
-                    Thread pThread = new Thread(p, "Producer-" + (++producerCount));
-                    producerThreads.add(pThread);
-                    pThread.start();
-                    System.out.println("Added Producer-" + producerCount + " at rate " + pRate);
+                    producerThreads.add(ClientThreads.start(p, "Producer-" + (++producerCount), virtualThreads));
+                    System.out.println("Added Producer-" + producerCount + " at rate " + formatRate(pRate)
+                            + (pBatch > 1 ? " in batches of " + pBatch : ""));
+                    break;
+
+                case "addproducers":
+                    if (parts.length < 2) {
+                        System.out.println("Usage: addProducers <count> [rate] [batch]");
+                        break;
+                    }
+                    int producersToAdd = Integer.parseInt(parts[1]);
+                    double bulkPRate = parts.length >= 3 ? Double.parseDouble(parts[2]) : produceRate;
+                    int bulkPBatch = parts.length >= 4 ? Integer.parseInt(parts[3]) : 1;
+                    if (runtime != null) {
+                        for (int i = 0; i < producersToAdd; i++) {
+                            runtime.addProducer(pool, bulkPRate);
+                        }
+                        System.out.println("Added " + producersToAdd + " producers at rate " + formatRate(bulkPRate)
+                                + " on " + runtime.getWorkerCount() + " shared workers");
+                        break;
+                    }
+                    for (int i = 0; i < producersToAdd; i++) {
+                        Producer bulkProducer = new Producer(pool, bulkPRate, bulkPBatch);
+                        producers.add(bulkProducer);
+                        producerThreads.add(ClientThreads.start(bulkProducer, "Producer-" + (++producerCount), virtualThreads));
+                    }
+                    System.out.println("Added " + producersToAdd + " producers at rate " + formatRate(bulkPRate)
+                            + " on " + (virtualThreads ? "virtual" : "platform") + " threads");
                     break;
 
                 case "removeproducer":
@@ -115,18 +218,43 @@ public class Main {
                     break;
 
                 case "addconsumer":
-                    int cRate = consumeRate;
+                    double cRate = consumeRate;
                     if (parts.length >= 2) {
-                        cRate = Integer.parseInt(parts[1]);
+                        cRate = Double.parseDouble(parts[1]);
                     } else {
                         System.out.println("Using default rate " + consumeRate + " for consumer.");
                     }
-                    Consumer c = new Consumer(pool, cRate);
+                    int cBatch = parts.length >= 3 ? Integer.parseInt(parts[2]) : 1;
+                    Consumer c = new Consumer(pool, cRate, cBatch);
                     consumers.add(c);
-                    Thread cThread = new Thread(c, "Consumer-" + (++consumerCount));
-                    consumerThreads.add(cThread);
-                    cThread.start();
-                    System.out.println("Added Consumer-" + consumerCount + " at rate " + cRate);
+                    consumerThreads.add(ClientThreads.start(c, "Consumer-" + (++consumerCount), virtualThreads));
+                    System.out.println("Added Consumer-" + consumerCount + " at rate " + formatRate(cRate)
+                            + (cBatch > 1 ? " in batches of " + cBatch : ""));
+                    break;
+
+                case "addconsumers":
+                    if (parts.length < 2) {
+                        System.out.println("Usage: addConsumers <count> [rate] [batch]");
+                        break;
+                    }
+                    int consumersToAdd = Integer.parseInt(parts[1]);
+                    double bulkCRate = parts.length >= 3 ? Double.parseDouble(parts[2]) : consumeRate;
+                    int bulkCBatch = parts.length >= 4 ? Integer.parseInt(parts[3]) : 1;
+                    if (runtime != null) {
+                        for (int i = 0; i < consumersToAdd; i++) {
+                            runtime.addConsumer(pool, bulkCRate);
+                        }
+                        System.out.println("Added " + consumersToAdd + " consumers at rate " + formatRate(bulkCRate)
+                                + " on " + runtime.getWorkerCount() + " shared workers");
+                        break;
+                    }
+                    for (int i = 0; i < consumersToAdd; i++) {
+                        Consumer bulkConsumer = new Consumer(pool, bulkCRate, bulkCBatch);
+                        consumers.add(bulkConsumer);
+                        consumerThreads.add(ClientThreads.start(bulkConsumer, "Consumer-" + (++consumerCount), virtualThreads));
+                    }
+                    System.out.println("Added " + consumersToAdd + " consumers at rate " + formatRate(bulkCRate)
+                            + " on " + (virtualThreads ? "virtual" : "platform") + " threads");
                     break;
 
                 case "removeconsumer":
@@ -149,18 +277,16 @@ public class Main {
                     break;
 
                 case "addwriter":
-                    int wRate = writeRate;
+                    double wRate = writeRate;
                     if (parts.length >= 2) {
-                        wRate = Integer.parseInt(parts[1]);
+                        wRate = Double.parseDouble(parts[1]);
                     } else {
                         System.out.println("Using default rate " + writeRate + " for writer.");
                     }
                     Writer w = new Writer(pool, wRate);
                     writers.add(w);
-                    Thread wThread = new Thread(w, "Writer-" + (++writerCount));
-                    writerThreads.add(wThread);
-                    wThread.start();
-                    System.out.println("Added Writer-" + writerCount + " at rate " + wRate);
+                    writerThreads.add(ClientThreads.start(w, "Writer-" + (++writerCount), virtualThreads));
+                    System.out.println("Added Writer-" + writerCount + " at rate " + formatRate(wRate));
                     break;
 
                 case "removewriter":
@@ -183,18 +309,16 @@ public class Main {
                     break;
 
                 case "addreader":
-                    int rRate = readRate;
+                    double rRate = readRate;
                     if (parts.length >= 2) {
-                        rRate = Integer.parseInt(parts[1]);
+                        rRate = Double.parseDouble(parts[1]);
                     } else {
                         System.out.println("Using default rate " + readRate + " for reader.");
                     }
                     Reader r = new Reader(pool, rRate);
                     readers.add(r);
-                    Thread rThread = new Thread(r, "Reader-" + (++readerCount));
-                    readerThreads.add(rThread);
-                    rThread.start();
-                    System.out.println("Added Reader-" + readerCount + " at rate " + rRate);
+                    readerThreads.add(ClientThreads.start(r, "Reader-" + (++readerCount), virtualThreads));
+                    System.out.println("Added Reader-" + readerCount + " at rate " + formatRate(rRate));
                     break;
 
                 case "removereader":
@@ -216,20 +340,73 @@ public class Main {
                     System.out.println("Removed reader #" + (readerIndex + 1));
                     break;
 
+                case "reserve":
+                    if (reserving == null) {
+                        System.out.println("Start with --reservations to hold tickets.");
+                        break;
+                    }
+                    double holdSeconds = parts.length >= 2 ? Double.parseDouble(parts[1]) : 30;
+                    Reservation reservation = reserving.tryReserveTicket(
+                            Duration.ofMillis((long) (holdSeconds * 1000)), 1, TimeUnit.SECONDS);
+                    if (reservation == null) {
+                        System.out.println("No tickets became available to reserve within 1s.");
+                        break;
+                    }
+                    reservations.add(reservation);
+                    System.out.println("Reserved " + reservation.getTicket().getId() + " for "
+                            + formatRate(holdSeconds) + "s as reservation #" + reservations.size());
+                    break;
+
+                case "confirm":
+                case "release":
+                    if (parts.length < 2) {
+                        System.out.println("Usage: " + cmd + " <reservation>");
+                        break;
+                    }
+                    int reservationIndex = Integer.parseInt(parts[1]) - 1;
+                    if (reservationIndex < 0 || reservationIndex >= reservations.size()) {
+                        System.out.println("Invalid reservation index.");
+                        break;
+                    }
+                    Reservation held = reservations.get(reservationIndex);
+                    if (cmd.equals("confirm") ? held.confirm() : held.release()) {
+                        System.out.println((cmd.equals("confirm") ? "Confirmed" : "Released")
+                                + " reservation #" + (reservationIndex + 1));
+                    } else {
+                        System.out.println("Reservation #" + (reservationIndex + 1) + " is already " + held.getState());
+                    }
+                    break;
+
+                case "loglevel":
+                    if (parts.length < 3) {
+                        System.out.println("Usage: logLevel <actions|waits|updates|messages> <all|off|1/N|K/s>");
+                        break;
+                    }
+                    try {
+                        LogCategory category = LogCategory.valueOf(parts[1].toUpperCase());
+                        LogPolicy policy = LogPolicy.parse(parts[2]);
+                        pool.setLogPolicy(category, policy);
+                        System.out.println("Logging " + category.name().toLowerCase() + ": " + policy);
+                    } catch (IllegalArgumentException e) {
+                        System.out.println("Usage: logLevel <actions|waits|updates|messages> <all|off|1/N|K/s>");
+                    }
+                    break;
+
                 case "logs":
                     // Show logs for 10 seconds, printing only new lines as they appear
                     long endTime = System.currentTimeMillis() + 10_000; // 10 seconds
-                    int displayedCount = 0;
+                    long cursor = 0;
                     while (System.currentTimeMillis() < endTime) {
-                        String allLogs = pool.getLogs();
-                        if (!allLogs.isEmpty()) {
-                            String[] lines = allLogs.split("\n");
-                            // Print only the new lines since last time
-                            for (int i = displayedCount; i < lines.length; i++) {
-                                System.out.println(lines[i]);
+                        LogBatch batch;
+                        do {
+                            batch = pool.getLogsSince(cursor, LOG_PAGE_SIZE);
+                            long skipped = batch.next() - cursor - batch.lines().size();
+                            if (skipped > 0) {
+                                System.out.println("... " + skipped + " older log lines no longer retained");
                             }
-                            displayedCount = lines.length;
-                        }
+                            batch.lines().forEach(System.out::println);
+                            cursor = batch.next();
+                        } while (batch.lines().size() == LOG_PAGE_SIZE);
                         try {
                             Thread.sleep(1000);
                         } catch (InterruptedException e) {
@@ -251,53 +428,96 @@ public class Main {
 
         // Stopping all threads
         System.out.println("Stopping all threads...");
+        if (runtime != null) {
+            runtime.close();
+        }
 
         for (Producer prod : producers) {
             prod.stop();
         }
-        for (Thread t : producerThreads) {
-            t.join(200);
-        }
+        joinAll(producerThreads);
 
         for (Consumer cons : consumers) {
             cons.stop();
         }
-        for (Thread t : consumerThreads) {
-            t.join(200);
-        }
+        joinAll(consumerThreads);
 
         for (Writer wr : writers) {
             wr.stop();
         }
-        for (Thread t : writerThreads) {
-            t.join(200);
-        }
+        joinAll(writerThreads);
 
         for (Reader rd : readers) {
             rd.stop();
         }
-        for (Thread t : readerThreads) {
-            t.join(200);
-        }
+        joinAll(readerThreads);
 
         // Final status
         System.out.println("\nFinal Status:");
+        PoolSnapshot result = pool.snapshot();
         System.out.println(pool.getPoolInfo());
-        System.out.println("Total Tickets Added: " + pool.getAddedTickets());
-        System.out.println("Total Tickets Purchased: " + pool.getPurchasedTickets());
-        System.out.println("Total tickets left in the pool: " + pool.getAvailableTickets());
-        System.out.println("Current Version: " + pool.getVersion());
-        System.out.printf("Total Sold Value: $%.2f%n", pool.getTotalRevenue());
-        System.out.printf("Total Unsold Value: $%.2f%n", pool.getTotalUnsoldValue());
+        System.out.println("Total Tickets Added: " + result.added());
+        System.out.println("Total Tickets Purchased: " + result.purchased());
+        System.out.println("Total tickets left in the pool: " + result.available());
+        System.out.println("Current Version: " + result.version());
+        System.out.println("Total Timed-out Requests: " + result.timeouts());
+        System.out.printf("Total Sold Value: $%.2f%n", result.revenue());
+        System.out.printf("Total Unsold Value: $%.2f%n", result.unsoldValue());
+        if (runtime != null) {
+            System.out.println(runtime.getInfo());
+        }
+
+        if (reserving != null) {
+            reserving.close();
+        }
+        if (journaled != null) {
+            try {
+                journaled.close();
+            } catch (IOException e) {
+                System.out.println("Could not close journal: " + e.getMessage());
+            }
+        }
+
+        if (auditLog != null) {
+            // Drain records still buffered in the pool log into the audit log first.
+            pool.getLogs();
+            pool.setAuditLog(null);
+            auditLog.close();
+        }
 
         System.out.println("Exiting program.");
     }
 
+    // One shared deadline, so stopping many thousands of clients does not take 200ms each.
+    // Clients still blocked in the pool after it are interrupted.
+    private static void joinAll(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        for (Thread t : threads) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining > 0) {
+                t.join(remaining);
+            }
+            if (t.isAlive()) {
+                t.interrupt();
+            }
+        }
+    }
+
+    // Whole rates print as before ("2", not "2.0"); fractional ones keep their digits.
+    private static String formatRate(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
+    }
+
     private static TicketPool createPool(int choice, int capacity) {
         return switch (choice) {
             case 1 -> new SynchronizedTicketPool(capacity);
             case 2 -> new ReentrantLockTicketPool(capacity);
             case 3 -> new BlockingQueueTicketPool(capacity);
+            case 4 -> new RingBufferTicketPool(capacity);
+            case 5 -> new ShardedTicketPool(capacity);
+            case 6 -> new MultiEventTicketPool(capacity);
+            case 7 -> new OffHeapTicketPool(capacity);
+            case 8 -> new StampedLockTicketPool(capacity);
             default -> throw new IllegalArgumentException("Invalid choice");
         };
     }
@@ -306,15 +526,21 @@ public class Main {
         System.out.println("Commands:");
         System.out.println("  help                 - Show this help message");
         System.out.println("  status               - Display the ticket pool’s real-time state");
-        System.out.println("  addProducer [rate]    - Add producer (default rate: 2)");
+        System.out.println("  addProducer [rate] [batch] - Add producer (ops/s, fractional allowed; default rate: 2, batch: 1)");
+        System.out.println("  addProducers <n> [rate] [batch] - Add n producers at once (batch ignored with --shared-scheduler)");
         System.out.println("  removeProducer <idx>  - Remove producer at 1-based index");
-        System.out.println("  addConsumer [rate]    - Add consumer (default rate: 2)");
+        System.out.println("  addConsumer [rate] [batch] - Add consumer (default rate: 2, batch: 1)");
+        System.out.println("  addConsumers <n> [rate] [batch] - Add n consumers at once");
         System.out.println("  removeConsumer <idx>  - Remove consumer at index");
         System.out.println("  addWriter [rate]      - Add writer (default rate: 1)");
         System.out.println("  removeWriter <idx>    - Remove writer at index");
         System.out.println("  addReader [rate]      - Add reader (default rate: 1)");
         System.out.println("  removeReader <idx>    - Remove reader at index");
+        System.out.println("  reserve [seconds]     - Hold a ticket (with --reservations; default hold: 30s)");
+        System.out.println("  confirm <idx>         - Buy a held ticket");
+        System.out.println("  release <idx>         - Return a held ticket to the pool");
         System.out.println("  logs                 - Tail logs for 10 seconds");
+        System.out.println("  logLevel <category> <policy> - Log actions|waits|updates|messages: all, off, 1/N or K/s");
         System.out.println("  exit                 - Exit program");
     }
 }
\ No newline at end of file
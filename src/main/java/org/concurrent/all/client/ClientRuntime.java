@@ -0,0 +1,131 @@
+package org.concurrent.all.client;
+
+import org.concurrent.all.pool.TicketPool;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multiplexes any number of simulated producers and consumers onto a small fixed set of worker
+ * threads, so tens of thousands of buyers cost one scheduled task each rather than one stack
+ * each. Clients use the pool's non-blocking operations, which keeps a worker from ever parking
+ * on a full or empty pool while other clients are due.
+ * <p>
+ * Stopped clients are dropped once their last attempt has run, keeping their counts; a client
+ * stopped by a failing pool call is counted and reported to that pool's event log.
+ */
+public class ClientRuntime implements AutoCloseable {
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Set<SimulatedClient> clients = ConcurrentHashMap.newKeySet();
+    private final LongAdder retiredCompleted = new LongAdder();
+    private final LongAdder retiredMissed = new LongAdder();
+    private final AtomicInteger failedClients = new AtomicInteger();
+    private final AtomicInteger producerCount = new AtomicInteger();
+    private final AtomicInteger consumerCount = new AtomicInteger();
+
+    public ClientRuntime() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public ClientRuntime(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        AtomicInteger workerCount = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(workers, r -> {
+            Thread t = new Thread(r, "client-worker-" + workerCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public SimulatedClient addProducer(TicketPool pool, double rate) {
+        String name = "SimProducer-" + producerCount.incrementAndGet();
+        int source = Producer.nextSource();
+        return start(new SimulatedClient(name, rate,
+                n -> pool.tryAddTicket(Producer.newTicket(source, n)), scheduler, client -> retire(client, pool)));
+    }
+
+    public SimulatedClient addConsumer(TicketPool pool, double rate) {
+        String name = "SimConsumer-" + consumerCount.incrementAndGet();
+        return start(new SimulatedClient(name, rate, n -> pool.tryPurchaseTicket() != null, scheduler,
+                client -> retire(client, pool)));
+    }
+
+    private SimulatedClient start(SimulatedClient client) {
+        clients.add(client);
+        client.schedule();
+        return client;
+    }
+
+    // Runs on the client's last worker, so its counts are final.
+    private void retire(SimulatedClient client, TicketPool pool) {
+        if (!clients.remove(client)) {
+            return;
+        }
+        retiredCompleted.add(client.getCompleted());
+        retiredMissed.add(client.getMissed());
+        RuntimeException failure = client.getFailure();
+        if (failure != null) {
+            failedClients.incrementAndGet();
+            pool.logReaderMessage(client.getName() + " stopped after a failed pool call: " + failure);
+        }
+    }
+
+    public int getWorkerCount() {
+        return scheduler.getCorePoolSize();
+    }
+
+    public int getClientCount() {
+        int count = 0;
+        for (SimulatedClient client : clients) {
+            if (client.isRunning()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailedClients() {
+        return failedClients.get();
+    }
+
+    public long getCompletedOps() {
+        long total = retiredCompleted.sum();
+        for (SimulatedClient client : clients) {
+            total += client.getCompleted();
+        }
+        return total;
+    }
+
+    public long getMissedOps() {
+        long total = retiredMissed.sum();
+        for (SimulatedClient client : clients) {
+            total += client.getMissed();
+        }
+        return total;
+    }
+
+    public String getInfo() {
+        return String.format("[ClientRuntime] Clients: %d on %d workers, Completed: %d, Missed: %d, Failed: %d",
+                getClientCount(), getWorkerCount(), getCompletedOps(), getMissedOps(), getFailedClients());
+    }
+
+    @Override
+    public void close() {
+        for (SimulatedClient client : clients) {
+            client.stop();
+        }
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            // Workers are already told to stop; leave the interrupt for the caller.
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package org.concurrent.all.client;
 
 
+import org.concurrent.all.model.Ticket;
 import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.util.Pacer;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class Consumer implements Runnable {
     private final TicketPool pool;
     private volatile boolean running = true;
-    private int rate;
+    private final Pacer pacer;
+    private final int batchSize;
+
+    public Consumer(TicketPool pool, double rate) {
+        this(pool, rate, 1);
+    }
 
-    public Consumer(TicketPool pool, int rate) {
+    public Consumer(TicketPool pool, double rate, int batchSize) {
         this.pool = pool;
-        this.rate = rate;
+        this.pacer = new Pacer(rate);
+        this.batchSize = Math.max(1, batchSize);
     }
 
-    public void setRate(int rate) {
-        this.rate = rate;
+    public void setRate(double rate) {
+        pacer.setRate(rate);
     }
 
     public void stop() {
@@ -24,9 +35,15 @@ public class Consumer implements Runnable {
     @Override
     public void run() {
         try {
+            List<Ticket> batch = new ArrayList<>(batchSize);
             while (running) {
-                pool.purchaseTicket();
-                Thread.sleep(1000 / rate);
+                if (batchSize == 1) {
+                    pool.purchaseTicket();
+                } else {
+                    pool.purchaseTickets(batchSize, batch);
+                    batch.clear();
+                }
+                pacer.pace();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -1,22 +1,40 @@
 package org.concurrent.all.client;
 
 
+import org.concurrent.all.model.EventRegistry;
 import org.concurrent.all.model.Ticket;
+import org.concurrent.all.model.TicketId;
 import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.util.Pacer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Producer implements Runnable {
-    private static final double TICKET_PRICE = 100.0;
+    private static final long TICKET_PRICE_CENTS = 100_00;
+    private static final int EVENT_ID = EventRegistry.idOf("Tomorrowland");
+    private static final int NODE = Integer.getInteger("ticket.node", 0);
+    // Shared with ClientRuntime's simulated producers, so every source mints distinct ids.
+    private static final AtomicInteger SOURCES = new AtomicInteger();
     private final TicketPool pool;
     private volatile boolean running = true;
-    private int rate;
+    private final Pacer pacer;
+    private final int batchSize;
+    private final int source = nextSource();
+
+    public Producer(TicketPool pool, double rate) {
+        this(pool, rate, 1);
+    }
 
-    public Producer(TicketPool pool, int rate) {
+    public Producer(TicketPool pool, double rate, int batchSize) {
         this.pool = pool;
-        this.rate = rate;
+        this.pacer = new Pacer(rate);
+        this.batchSize = Math.max(1, batchSize);
     }
 
-    public void setRate(int rate) {
-        this.rate = rate;
+    public void setRate(double rate) {
+        pacer.setRate(rate);
     }
 
     public void stop() {
@@ -26,17 +44,34 @@ public class Producer implements Runnable {
     @Override
     public void run() {
         try {
-            int count = 0;
+            long count = 0;
+            List<Ticket> batch = new ArrayList<>(batchSize);
             while (running) {
-                pool.addTicket(new Ticket(
-                        "[" + Thread.currentThread().getName() + "]-" + (++count),
-                        "Tomorrowland",
-                        TICKET_PRICE
-                ));
-                Thread.sleep(1000 / rate);
+                if (batchSize == 1) {
+                    pool.addTicket(newTicket(++count));
+                } else {
+                    for (int i = 0; i < batchSize; i++) {
+                        batch.add(newTicket(++count));
+                    }
+                    pool.addTickets(batch);
+                    batch.clear();
+                }
+                pacer.pace();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
     }
+
+    private Ticket newTicket(long count) {
+        return newTicket(source, count);
+    }
+
+    static int nextSource() {
+        return SOURCES.incrementAndGet() & TicketId.MAX_SOURCE;
+    }
+
+    static Ticket newTicket(int source, long count) {
+        return Ticket.compact(TicketId.of(NODE, source, count & TicketId.MAX_SEQUENCE), EVENT_ID, TICKET_PRICE_CENTS);
+    }
 }
@@ -0,0 +1,99 @@
+package org.concurrent.all.client;
+
+import org.concurrent.all.util.Pacer;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongPredicate;
+
+/**
+ * A producer or consumer without a thread of its own. {@link ClientRuntime} runs one attempt per
+ * pacer slot on a shared worker; attempts never wait on the pool, so a full or empty pool counts
+ * as a miss and the client tries again at its next slot. A pool call that throws stops the
+ * client; the exception is kept for {@link #getFailure()}.
+ */
+public final class SimulatedClient implements Runnable {
+    private final String name;
+    private final Pacer pacer;
+    // Given the number of the next successful operation, e.g. for ticket ids.
+    private final LongPredicate attempt;
+    private final ScheduledExecutorService scheduler;
+    // Told once the client has stopped and will not run again.
+    private final Consumer<SimulatedClient> onStop;
+    private volatile boolean running = true;
+    private volatile RuntimeException failure;
+    // Only ever written by the worker currently running this client.
+    private volatile long completed;
+    private volatile long missed;
+
+    SimulatedClient(String name, double rate, LongPredicate attempt, ScheduledExecutorService scheduler,
+                    Consumer<SimulatedClient> onStop) {
+        this.name = name;
+        this.pacer = new Pacer(rate);
+        this.attempt = attempt;
+        this.scheduler = scheduler;
+        this.onStop = onStop;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setRate(double rate) {
+        pacer.setRate(rate);
+    }
+
+    public void stop() {
+        running = false;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getMissed() {
+        return missed;
+    }
+
+    /** The exception that stopped this client, or null. */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    void schedule() {
+        try {
+            scheduler.schedule(this, pacer.nextDeadline() - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            running = false;
+            onStop.accept(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (running) {
+            try {
+                if (attempt.test(completed + 1)) {
+                    completed++;
+                } else {
+                    missed++;
+                }
+            } catch (RuntimeException e) {
+                // Kept here: thrown out of run(), it would vanish into the scheduler's future.
+                failure = e;
+                running = false;
+            }
+        }
+        if (running) {
+            schedule();
+        } else {
+            onStop.accept(this);
+        }
+    }
+}
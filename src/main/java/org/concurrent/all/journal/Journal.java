@@ -0,0 +1,491 @@
+package org.concurrent.all.journal;
+
+import org.concurrent.all.model.Ticket;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of pool operations with group commit.
+ * <p>
+ * Appending only copies a record into an in-memory batch. A thread that needs its record on
+ * disk calls {@link #awaitDurable(long)}; the first such thread becomes the leader, writes the
+ * whole batch and issues a single {@code force()}, while records appended in the meantime
+ * accumulate for the next leader. Every record is framed as {@code [length][crc32][payload]},
+ * so a torn write at the tail is detected and truncated during {@link #recover()}.
+ * <p>
+ * {@link #checkpoint()} bounds recovery time: the active file is rotated out and folded into
+ * a {@link Snapshot} while appends continue into a fresh file.
+ */
+public class Journal implements Closeable {
+    static final byte ADD = 1;
+    static final byte PURCHASE = 2;
+    static final byte UPDATE = 3;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final Path snapshotFile;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    // Guarded by lock.
+    private FileChannel channel;
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private long appended;
+    private long durable;
+    private long segmentStart;
+    private boolean flushing;
+    private long commits;
+    private IOException failure;
+
+    // Guarded by checkpointLock.
+    private long generation;
+
+    public Journal(Path file) throws IOException {
+        this.file = file;
+        this.snapshotFile = file.resolveSibling(file.getFileName() + ".snapshot");
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Loads the latest snapshot, replays the journal written since, truncates a torn tail and
+     * positions the journal for appends. Must be called once, before the first append.
+     */
+    public Recovery recover() throws IOException {
+        checkpointLock.lock();
+        try {
+            Recovery recovery = new Recovery();
+            if (Files.exists(snapshotFile)) {
+                Snapshot snapshot = Snapshot.read(snapshotFile);
+                recovery.seed(snapshot);
+                generation = snapshot.generation;
+            }
+            // A crash during a checkpoint leaves the rotated file behind: already folded if the
+            // snapshot has its generation, still to be folded otherwise.
+            Files.deleteIfExists(checkpointFile(generation));
+            foldLeftover(recovery);
+
+            long position = replay(channel, recovery);
+            if (position < channel.size()) {
+                channel.truncate(position);
+            }
+            channel.position(position);
+            lock.lock();
+            try {
+                appended = position;
+                durable = position;
+                segmentStart = 0;
+            } finally {
+                lock.unlock();
+            }
+            return recovery;
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * Folds everything journaled so far into the snapshot file. Appends are held up only while
+     * the pending batch is forced and the file is swapped; reading the rotated file and writing
+     * the snapshot happen without the journal lock.
+     */
+    public void checkpoint() throws IOException {
+        checkpointLock.lock();
+        try {
+            Recovery fold = new Recovery();
+            if (Files.exists(snapshotFile)) {
+                fold.seed(Snapshot.read(snapshotFile));
+            }
+            // A checkpoint that failed after rotating left its file under the name about to be
+            // rotated to; fold it first rather than overwrite it.
+            foldLeftover(fold);
+            Path rotated = checkpointFile(generation + 1);
+            rotate(rotated);
+            try (FileChannel segment = FileChannel.open(rotated, StandardOpenOption.READ)) {
+                replay(segment, fold);
+            }
+            fold.snapshot(generation + 1).write(snapshotFile);
+            Files.delete(rotated);
+            generation++;
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    long append(byte type, Ticket ticket) {
+        lock.lock();
+        try {
+            return appendLocked(type, ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long appendAll(byte type, List<Ticket> tickets) {
+        lock.lock();
+        try {
+            long end = appended;
+            for (Ticket ticket : tickets) {
+                end = appendLocked(type, ticket);
+            }
+            return end;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Blocks until every record up to {@code position} has been written and forced to disk. */
+    public void awaitDurable(long position) {
+        lock.lock();
+        try {
+            while (durable < position) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Journal write failed", failure);
+                }
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                ByteBuffer batch = pending;
+                pending = spare;
+                long end = appended;
+                lock.unlock();
+                IOException error = null;
+                try {
+                    writeAndForce(batch);
+                } catch (IOException e) {
+                    error = e;
+                } finally {
+                    lock.lock();
+                }
+                batch.clear();
+                spare = batch;
+                if (error == null) {
+                    durable = end;
+                    commits++;
+                } else {
+                    failure = error;
+                }
+                flushing = false;
+                flushed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Bytes in the active journal file, i.e. what a restart would replay on top of the snapshot. */
+    public long size() {
+        lock.lock();
+        try {
+            return appended - segmentStart;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCommits() {
+        lock.lock();
+        try {
+            return commits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCheckpoints() {
+        checkpointLock.lock();
+        try {
+            return generation;
+        } finally {
+            checkpointLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        long end;
+        lock.lock();
+        try {
+            end = appended;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            awaitDurable(end);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            lock.lock();
+            try {
+                channel.close();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // ─── Files ──────────────────────────────────────────────────────────────────────
+
+    // Guarded by checkpointLock: folds a rotated file still waiting for its snapshot into fold
+    // and the snapshot file.
+    private void foldLeftover(Recovery fold) throws IOException {
+        Path unfolded = checkpointFile(generation + 1);
+        if (Files.exists(unfolded)) {
+            try (FileChannel rotated = FileChannel.open(unfolded, StandardOpenOption.READ)) {
+                replay(rotated, fold);
+            }
+            fold.snapshot(generation + 1).write(snapshotFile);
+            Files.delete(unfolded);
+            generation++;
+        }
+    }
+
+    private Path checkpointFile(long generation) {
+        return file.resolveSibling(file.getFileName() + ".checkpoint-" + generation);
+    }
+
+    // Forces whatever is pending and moves the active file aside. Appending threads wait on
+    // the journal lock for the duration of one write and force.
+    private void rotate(Path target) throws IOException {
+        lock.lock();
+        try {
+            while (flushing) {
+                flushed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new IOException("Journal write failed", failure);
+            }
+            try {
+                writeAndForce(pending);
+            } catch (IOException e) {
+                failure = e;
+                flushed.signalAll();
+                throw e;
+            }
+            pending.clear();
+            durable = appended;
+            commits++;
+            channel.close();
+            IOException moveFailure = null;
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                segmentStart = appended;
+            } catch (IOException e) {
+                // The active file is still in place, with everything forced: keep appending to it.
+                moveFailure = e;
+            }
+            try {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                channel.position(channel.size());
+            } catch (IOException e) {
+                // Nothing left to append to: fail the journal rather than write to a closed channel.
+                if (moveFailure != null) {
+                    e.addSuppressed(moveFailure);
+                }
+                failure = e;
+                flushed.signalAll();
+                throw e;
+            }
+            flushed.signalAll();
+            if (moveFailure != null) {
+                throw moveFailure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeAndForce(ByteBuffer batch) throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        channel.force(false);
+    }
+
+    // Applies every intact record and returns the position after the last one.
+    private long replay(FileChannel source, Recovery recovery) throws IOException {
+        source.position(0);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(source), INITIAL_BUFFER_BYTES));
+        CRC32 checksum = new CRC32();
+        byte[] payload = new byte[256];
+        long position = 0;
+        long size = source.size();
+        while (position + HEADER_BYTES <= size) {
+            int length = in.readInt();
+            int expected = in.readInt();
+            if (length <= 0 || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            if (payload.length < length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+            }
+            in.readFully(payload, 0, length);
+            checksum.reset();
+            checksum.update(payload, 0, length);
+            if ((int) checksum.getValue() != expected) {
+                break;
+            }
+            recovery.apply(ByteBuffer.wrap(payload, 0, length));
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    // ─── Encoding ───────────────────────────────────────────────────────────────────
+
+    private long appendLocked(byte type, Ticket ticket) {
+        int length = 1 + (ticket == null ? 0 : Snapshot.encodedSize(ticket));
+        ensureCapacity(HEADER_BYTES + length);
+
+        int start = pending.position();
+        pending.putInt(length).putInt(0).put(type);
+        if (ticket != null) {
+            Snapshot.putTicket(pending, ticket);
+        }
+        crc.reset();
+        crc.update(pending.array(), start + HEADER_BYTES, length);
+        pending.putInt(start + Integer.BYTES, (int) crc.getValue());
+        appended += HEADER_BYTES + length;
+        return appended;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            grown.put(pending.flip());
+            pending = grown;
+        }
+    }
+
+    /**
+     * Pool state rebuilt from a snapshot and the journal. Purchases are matched to adds by ticket
+     * id, event and price; a purchase can be journaled ahead of the add it consumed, since
+     * concurrent callers append after the pool operation returns.
+     */
+    public static final class Recovery {
+        private final List<Ticket> adds = new ArrayList<>();
+        private final BitSet sold = new BitSet();
+        private final Map<String, ArrayDeque<Integer>> unsold = new HashMap<>();
+        private final Map<String, ArrayDeque<Ticket>> purchasedAhead = new HashMap<>();
+        private int added;
+        private int purchased;
+        private int version;
+        private long revenueCents;
+
+        private void seed(Snapshot snapshot) {
+            added = snapshot.added;
+            purchased = snapshot.purchased;
+            version = snapshot.version;
+            revenueCents = snapshot.revenueCents;
+            for (Ticket ticket : snapshot.remaining) {
+                unsold.computeIfAbsent(key(ticket), k -> new ArrayDeque<>()).add(adds.size());
+                adds.add(ticket);
+            }
+            for (Ticket ticket : snapshot.purchasedAhead) {
+                purchasedAhead.computeIfAbsent(key(ticket), k -> new ArrayDeque<>()).add(ticket);
+            }
+        }
+
+        private void apply(ByteBuffer payload) {
+            byte type = payload.get();
+            if (type == UPDATE) {
+                version++;
+                return;
+            }
+            Ticket ticket = Snapshot.getTicket(payload);
+            String key = key(ticket);
+            if (type == ADD) {
+                int index = adds.size();
+                adds.add(ticket);
+                added++;
+                ArrayDeque<Ticket> ahead = purchasedAhead.get(key);
+                if (ahead != null && ahead.poll() != null) {
+                    sold.set(index);
+                } else {
+                    unsold.computeIfAbsent(key, k -> new ArrayDeque<>()).add(index);
+                }
+            } else if (type == PURCHASE) {
+                purchased++;
+                revenueCents += ticket.getPriceCents();
+                ArrayDeque<Integer> candidates = unsold.get(key);
+                if (candidates != null && !candidates.isEmpty()) {
+                    sold.set(candidates.poll());
+                } else {
+                    purchasedAhead.computeIfAbsent(key, k -> new ArrayDeque<>()).add(ticket);
+                }
+            }
+        }
+
+        private Snapshot snapshot(long generation) {
+            List<Ticket> ahead = new ArrayList<>();
+            for (ArrayDeque<Ticket> tickets : purchasedAhead.values()) {
+                ahead.addAll(tickets);
+            }
+            return new Snapshot(generation, added, purchased, version, revenueCents, getRemainingTickets(), ahead);
+        }
+
+        private static String key(Ticket ticket) {
+            return ticket.getId() + '\u0000' + ticket.getEventName() + '\u0000' + ticket.getPriceCents();
+        }
+
+        public List<Ticket> getRemainingTickets() {
+            List<Ticket> remaining = new ArrayList<>();
+            for (int i = 0; i < adds.size(); i++) {
+                if (!sold.get(i)) {
+                    remaining.add(adds.get(i));
+                }
+            }
+            return remaining;
+        }
+
+        // A purchase whose add never reached the disk still sold a ticket.
+        public int getAddedTickets() {
+            int total = added;
+            for (ArrayDeque<Ticket> tickets : purchasedAhead.values()) {
+                total += tickets.size();
+            }
+            return total;
+        }
+
+        public int getPurchasedTickets() {
+            return purchased;
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public long getTotalRevenueCents() {
+            return revenueCents;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package org.concurrent.all.journal;
+
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.Subscription;
+import org.concurrent.all.pool.TicketPool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Makes any {@link TicketPool} durable. Every add, purchase and version update is appended to a
+ * {@link Journal} and forced to disk before the call returns, so an acknowledged sale survives a
+ * crash. Concurrent callers share one {@code force()} per group commit.
+ * <p>
+ * On construction the journal is replayed: unsold tickets are put back into the delegate, which
+ * must therefore be at least as large as the pool that wrote the journal, and the counters of
+ * the previous runs are carried over. {@link #checkpoint()} folds the journal into a snapshot so
+ * that restart time depends on the live tickets rather than on the length of the history.
+ */
+public class JournaledTicketPool implements TicketPool, Closeable {
+    private final TicketPool delegate;
+    private final PoolSubscriptions subscriptions;
+    private final Journal journal;
+
+    private final int recoveredAdded;
+    private final int recoveredPurchased;
+    private final int recoveredVersion;
+    private final long recoveredRevenueCents;
+    private ScheduledExecutorService checkpointer;
+    // Awaits durability for async calls one at a time: the first wait commits everything
+    // appended so far, so the ones behind it usually return at once.
+    private final ExecutorService committer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-async-commit");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public JournaledTicketPool(TicketPool delegate, Path file) throws IOException {
+        this.delegate = delegate;
+        this.subscriptions = new PoolSubscriptions(this::snapshot, delegate, delegate::logReaderMessage);
+        this.journal = new Journal(file);
+        Journal.Recovery recovery = journal.recover();
+        List<Ticket> remaining = recovery.getRemainingTickets();
+        try {
+            delegate.addTickets(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            journal.close();
+            throw new InterruptedIOException("Interrupted while restoring journaled tickets");
+        }
+        // The delegate counts the restored tickets as added again.
+        this.recoveredAdded = recovery.getAddedTickets() - remaining.size();
+        this.recoveredPurchased = recovery.getPurchasedTickets();
+        this.recoveredVersion = recovery.getVersion();
+        this.recoveredRevenueCents = recovery.getTotalRevenueCents();
+    }
+
+    /** Snapshots the pool while producers and consumers keep running. */
+    public void checkpoint() throws IOException {
+        journal.checkpoint();
+    }
+
+    public synchronized void scheduleCheckpoints(long period, TimeUnit unit) {
+        if (checkpointer != null) {
+            checkpointer.shutdownNow();
+        }
+        checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-checkpointer");
+            t.setDaemon(true);
+            return t;
+        });
+        checkpointer.scheduleWithFixedDelay(() -> {
+            try {
+                journal.checkpoint();
+            } catch (IOException e) {
+                delegate.logReaderMessage("Checkpoint failed: " + e.getMessage());
+            }
+        }, period, period, unit);
+    }
+
+    @Override
+    public boolean addTicket(Ticket ticket) throws InterruptedException {
+        if (!delegate.addTicket(ticket)) {
+            return false;
+        }
+        journal.awaitDurable(journal.append(Journal.ADD, ticket));
+        return true;
+    }
+
+    @Override
+    public Ticket purchaseTicket() throws InterruptedException {
+        Ticket t = delegate.purchaseTicket();
+        if (t != null) {
+            journal.awaitDurable(journal.append(Journal.PURCHASE, t));
+        }
+        return t;
+    }
+
+    // Never waits for room or stock, but a successful call still waits for its group commit.
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        if (!delegate.tryAddTicket(ticket)) {
+            return false;
+        }
+        journal.awaitDurable(journal.append(Journal.ADD, ticket));
+        return true;
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        Ticket t = delegate.tryPurchaseTicket();
+        if (t != null) {
+            journal.awaitDurable(journal.append(Journal.PURCHASE, t));
+        }
+        return t;
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!delegate.tryAddTicket(ticket, timeout, unit)) {
+            return false;
+        }
+        journal.awaitDurable(journal.append(Journal.ADD, ticket));
+        return true;
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) throws InterruptedException {
+        Ticket t = delegate.tryPurchaseTicket(timeout, unit);
+        if (t != null) {
+            journal.awaitDurable(journal.append(Journal.PURCHASE, t));
+        }
+        return t;
+    }
+
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return journaled(delegate.purchaseTicketAsync(), Journal.PURCHASE, t -> t);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return journaled(delegate.addTicketAsync(ticket), Journal.ADD, added -> added ? ticket : null);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> tickets) throws InterruptedException {
+        int count = delegate.addTickets(tickets);
+        if (count > 0) {
+            // Pools add a batch in iteration order, so the first count tickets went in.
+            List<Ticket> added = new ArrayList<>(tickets).subList(0, count);
+            journal.awaitDurable(journal.appendAll(Journal.ADD, added));
+        }
+        return count;
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) throws InterruptedException {
+        List<Ticket> taken = new ArrayList<>();
+        int count = delegate.purchaseTickets(max, taken);
+        if (count > 0) {
+            journal.awaitDurable(journal.appendAll(Journal.PURCHASE, taken));
+            sink.addAll(taken);
+        }
+        return count;
+    }
+
+    @Override
+    public void performExclusiveUpdate() throws InterruptedException {
+        delegate.performExclusiveUpdate();
+        journal.awaitDurable(journal.append(Journal.UPDATE, null));
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        return delegate.getAvailableTickets();
+    }
+
+    @Override
+    public int getAddedTickets() {
+        return recoveredAdded + delegate.getAddedTickets();
+    }
+
+    @Override
+    public int getPurchasedTickets() {
+        return recoveredPurchased + delegate.getPurchasedTickets();
+    }
+
+    @Override
+    public int getVersion() {
+        return recoveredVersion + delegate.getVersion();
+    }
+
+    // Timeouts are not journaled, so they only cover this run.
+    @Override
+    public int getTimeouts() {
+        return delegate.getTimeouts();
+    }
+
+    @Override
+    public long getTotalRevenueCents() {
+        return recoveredRevenueCents + delegate.getTotalRevenueCents();
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return delegate.getTotalUnsoldValueCents();
+    }
+
+    @Override
+    public PoolSnapshot snapshot() {
+        PoolSnapshot s = delegate.snapshot();
+        return new PoolSnapshot(s.available(), s.capacity(), recoveredAdded + s.added(),
+                recoveredPurchased + s.purchased(), recoveredVersion + s.version(), s.timeouts(),
+                recoveredRevenueCents + s.revenueCents(), s.unsoldValueCents());
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
+    }
+
+    // Appended on whichever thread completes the delegate's future, which can run after later
+    // operations were journaled: recovery matches a purchase that lands ahead of its add. The
+    // group commit is then awaited on the committer thread.
+    private <T> CompletableFuture<T> journaled(CompletableFuture<T> pending, byte type, Function<T, Ticket> record) {
+        JournaledFuture<T> result = new JournaledFuture<>(pending);
+        pending.whenComplete((value, e) -> {
+            if (pending.isCancelled()) {
+                // Withdrawn by one of the overrides below, which completes the result itself.
+                return;
+            }
+            if (e != null) {
+                result.fail(e);
+                return;
+            }
+            Ticket ticket = record.apply(value);
+            if (ticket == null) {
+                result.deliver(value);
+                return;
+            }
+            long position = journal.append(type, ticket);
+            try {
+                committer.execute(() -> {
+                    try {
+                        journal.awaitDurable(position);
+                        result.deliver(value);
+                    } catch (RuntimeException failure) {
+                        result.fail(failure);
+                    }
+                });
+            } catch (RejectedExecutionException closed) {
+                result.fail(closed);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Cancelling or completing it from outside only works by withdrawing the delegate's waiter.
+     * Once that has been served, the ticket is sold or added and journaled, so the call is
+     * refused and the result is still delivered.
+     */
+    private static final class JournaledFuture<T> extends CompletableFuture<T> {
+        private final CompletableFuture<T> pending;
+
+        JournaledFuture(CompletableFuture<T> pending) {
+            this.pending = pending;
+        }
+
+        void deliver(T value) {
+            super.complete(value);
+        }
+
+        void fail(Throwable e) {
+            super.completeExceptionally(e);
+        }
+
+        @Override
+        public boolean complete(T value) {
+            return pending.cancel(false) && super.complete(value);
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            return pending.cancel(false) && super.completeExceptionally(ex);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return pending.cancel(false) && super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    @Override
+    public String getPoolInfo() {
+        return String.format("%s, Journal: %d bytes, %d commits, %d checkpoints",
+                delegate.getPoolInfo(), journal.size(), journal.getCommits(), journal.getCheckpoints());
+    }
+
+    @Override
+    public String getLogs() {
+        return delegate.getLogs();
+    }
+
+    @Override
+    public LogBatch getLogsSince(long sequence, int max) {
+        return delegate.getLogsSince(sequence, max);
+    }
+
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        delegate.setAuditLog(auditLog);
+    }
+
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        delegate.setLogPolicy(category, policy);
+    }
+
+    @Override
+    public void logReaderMessage(String msg) {
+        delegate.logReaderMessage(msg);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (checkpointer != null) {
+                checkpointer.shutdown();
+                try {
+                    checkpointer.awaitTermination(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        // Let queued async calls reach the disk before the journal goes away.
+        committer.shutdown();
+        try {
+            committer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+}
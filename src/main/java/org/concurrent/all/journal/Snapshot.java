@@ -0,0 +1,164 @@
+package org.concurrent.all.journal;
+
+import org.concurrent.all.model.EventRegistry;
+import org.concurrent.all.model.Ticket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Pool contents and counters as of a journal checkpoint, stored in a memory-mapped file:
+ * <pre>
+ * magic, generation, added, purchased, version, revenue in cents,
+ * ticket count, tickets, purchased-ahead count, purchased-ahead tickets, crc32
+ * </pre>
+ * where a ticket is {@code [price in cents][id length][id][event length][event]}, or for a
+ * compact ticket {@code [price in cents][-1][number][event length][event]}. The event is stored
+ * by name because {@link EventRegistry} ids are only stable within one process. The journal
+ * encodes its tickets the same way.
+ */
+final class Snapshot {
+    private static final int MAGIC = 0x54505333; // "TPS3"
+    // In place of the id length: the ticket is compact and its number follows.
+    private static final int COMPACT_ID = -1;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + 3 * Integer.BYTES + Long.BYTES;
+
+    final long generation;
+    final int added;
+    final int purchased;
+    final int version;
+    final long revenueCents;
+    final List<Ticket> remaining;
+    // Purchases journaled before the add they consumed; see Journal.Recovery.
+    final List<Ticket> purchasedAhead;
+
+    Snapshot(long generation, int added, int purchased, int version, long revenueCents,
+             List<Ticket> remaining, List<Ticket> purchasedAhead) {
+        this.generation = generation;
+        this.added = added;
+        this.purchased = purchased;
+        this.version = version;
+        this.revenueCents = revenueCents;
+        this.remaining = remaining;
+        this.purchasedAhead = purchasedAhead;
+    }
+
+    // Written to a temporary file first and moved into place, so a crash leaves the old snapshot.
+    void write(Path file) throws IOException {
+        long size = HEADER_BYTES + 2 * Integer.BYTES + encodedSize(remaining) + encodedSize(purchasedAhead) + Integer.BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + remaining.size() + " tickets is too large to map");
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putLong(generation)
+                    .putInt(added).putInt(purchased).putInt(version).putLong(revenueCents);
+            putTickets(buffer, remaining);
+            putTickets(buffer, purchasedAhead);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().flip());
+            buffer.putInt((int) crc.getValue());
+            buffer.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Snapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + 3 * Integer.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt snapshot " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit((int) size - Integer.BYTES));
+            if (buffer.getInt(0) != MAGIC || buffer.getInt((int) size - Integer.BYTES) != (int) crc.getValue()) {
+                throw new IOException("Corrupt snapshot " + file);
+            }
+            buffer.position(Integer.BYTES);
+            long generation = buffer.getLong();
+            int added = buffer.getInt();
+            int purchased = buffer.getInt();
+            int version = buffer.getInt();
+            long revenueCents = buffer.getLong();
+            List<Ticket> remaining = getTickets(buffer);
+            List<Ticket> purchasedAhead = getTickets(buffer);
+            return new Snapshot(generation, added, purchased, version, revenueCents, remaining, purchasedAhead);
+        }
+    }
+
+    private static long encodedSize(List<Ticket> tickets) {
+        long size = 0;
+        for (Ticket ticket : tickets) {
+            size += encodedSize(ticket);
+        }
+        return size;
+    }
+
+    private static void putTickets(ByteBuffer buffer, List<Ticket> tickets) {
+        buffer.putInt(tickets.size());
+        for (Ticket ticket : tickets) {
+            putTicket(buffer, ticket);
+        }
+    }
+
+    private static List<Ticket> getTickets(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(getTicket(buffer));
+        }
+        return tickets;
+    }
+
+    static int encodedSize(Ticket ticket) {
+        int id = ticket.isCompact() ? Long.BYTES : ticket.getId().getBytes(StandardCharsets.UTF_8).length;
+        return Long.BYTES + 2 * Integer.BYTES + id
+                + ticket.getEventName().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    static void putTicket(ByteBuffer buffer, Ticket ticket) {
+        byte[] event = ticket.getEventName().getBytes(StandardCharsets.UTF_8);
+        buffer.putLong(ticket.getPriceCents());
+        if (ticket.isCompact()) {
+            buffer.putInt(COMPACT_ID).putLong(ticket.getNumber());
+        } else {
+            byte[] id = ticket.getId().getBytes(StandardCharsets.UTF_8);
+            buffer.putInt(id.length).put(id);
+        }
+        buffer.putInt(event.length).put(event);
+    }
+
+    static Ticket getTicket(ByteBuffer buffer) {
+        long priceCents = buffer.getLong();
+        int idLength = buffer.getInt();
+        if (idLength == COMPACT_ID) {
+            long number = buffer.getLong();
+            return Ticket.compact(number, EventRegistry.idOf(getString(buffer)), priceCents);
+        }
+        String id = getString(buffer, idLength);
+        return Ticket.ofCents(id, getString(buffer), priceCents);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        return getString(buffer, buffer.getInt());
+    }
+
+    private static String getString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
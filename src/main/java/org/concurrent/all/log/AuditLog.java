@@ -0,0 +1,242 @@
+package org.concurrent.all.log;
+
+import org.concurrent.all.model.Ticket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary audit trail of pool events, written into memory-mapped segment files.
+ * <p>
+ * Each segment starts with a {@value #HEADER_BYTES}-byte header and holds fixed-width
+ * {@value #RECORD_BYTES}-byte little-endian records:
+ * <pre>
+ *   0  long  timestamp, epoch nanos (0 marks the end of a segment)
+ *   8  long  thread id
+ *  16  long  compact ticket id, minus the length of a string id, or the version for UPDATE records
+ *  24  long  price in cents
+ *  32  int   event id
+ *  36  byte  {@link LogAction} ordinal
+ * </pre>
+ * A string id is written as UTF-8 into the record slots right after its record, and is cut to
+ * what one segment can hold. Segments are preallocated and filled in place; when one is full the
+ * next is mapped. Every segment is kept unless retention is asked for with a positive
+ * {@code maxSegments}, in which case the oldest are deleted beyond it. Records are appended by the
+ * {@link EventLog} drainer, or by a pool thread whose record found the log's ring full, so a
+ * record is never lost to the display log's limits. If a new segment cannot be
+ * created, auditing stops and later records are only counted, so a full disk never fails a
+ * pool operation. {@link AuditLogDecoder} reads segments back.
+ */
+public class AuditLog implements Closeable {
+    static final int MAGIC = 0x54504132; // "TPA2"
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 40;
+    static final String SUFFIX = ".audit";
+
+    public static final int DEFAULT_RECORDS_PER_SEGMENT = 1 << 20;
+    // Never delete segments; an audit trail is only trimmed when the caller asks for it.
+    public static final int KEEP_ALL_SEGMENTS = 0;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int maxSegments;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Guarded by lock.
+    private final ArrayDeque<Path> segments = new ArrayDeque<>();
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSegment;
+    private long written;
+    private long dropped;
+    private IOException failure;
+    private boolean closed;
+
+    public AuditLog(Path directory) throws IOException {
+        this(directory, DEFAULT_RECORDS_PER_SEGMENT, KEEP_ALL_SEGMENTS);
+    }
+
+    public AuditLog(Path directory, int recordsPerSegment, int maxSegments) throws IOException {
+        if (recordsPerSegment <= 0 || maxSegments < 0) {
+            throw new IllegalArgumentException("Records per segment must be positive and max segments not negative");
+        }
+        if ((long) recordsPerSegment * RECORD_BYTES + HEADER_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment too large: " + recordsPerSegment + " records");
+        }
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        // Continue numbering after segments left by an earlier run instead of overwriting them.
+        for (Path existing : segments(directory)) {
+            segments.add(existing);
+            nextSegment = Math.max(nextSegment, segmentNumber(existing) + 1);
+        }
+        rotate();
+    }
+
+    /** Segment files in {@code directory}, oldest first. */
+    public static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        }
+    }
+
+    void append(long epochNanos, long threadId, LogAction action, Object subject, long value) {
+        long ticketId = 0;
+        long priceCents = 0;
+        int eventId = 0;
+        byte[] name = null;
+        if (subject instanceof Ticket ticket) {
+            priceCents = ticket.getPriceCents();
+            eventId = ticket.getEventId();
+            if (ticket.isCompact()) {
+                ticketId = ticket.getNumber();
+            } else {
+                name = ticket.getId().getBytes(StandardCharsets.UTF_8);
+            }
+        } else if (action == LogAction.UPDATE) {
+            ticketId = value;
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (failure != null) {
+                dropped++;
+                return;
+            }
+            int slots = name == null ? 1 : 1 + Math.min(recordsPerSegment - 1, nameSlots(name.length));
+            if (position + slots * RECORD_BYTES > segment.capacity()) {
+                try {
+                    rotate();
+                } catch (IOException e) {
+                    failure = e;
+                    dropped++;
+                    return;
+                }
+            }
+            if (name != null) {
+                int length = Math.min(name.length, (slots - 1) * RECORD_BYTES);
+                segment.put(position + RECORD_BYTES, name, 0, length);
+                ticketId = -length;
+            }
+            segment.putLong(position + 8, threadId);
+            segment.putLong(position + 16, ticketId);
+            segment.putLong(position + 24, priceCents);
+            segment.putInt(position + 32, eventId);
+            segment.put(position + 36, (byte) action.ordinal());
+            // Timestamp last: a non-zero timestamp is what makes the record visible to readers.
+            segment.putLong(position, epochNanos);
+            position += slots * RECORD_BYTES;
+            written++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getWrittenRecords() {
+        lock.lock();
+        try {
+            return written;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Records not written because auditing stopped after getFailure().
+    public long getDroppedRecords() {
+        lock.lock();
+        try {
+            return dropped;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Why auditing stopped, or null while it is running.
+    public IOException getFailure() {
+        lock.lock();
+        try {
+            return failure;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Flushes the active segment to disk.
+    public void force() {
+        lock.lock();
+        try {
+            if (!closed) {
+                segment.force();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (!closed) {
+                segment.force();
+                closed = true;
+                segment = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        Path file = directory.resolve(String.format("%016d%s", nextSegment++, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed.
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_BYTES + (long) recordsPerSegment * RECORD_BYTES);
+        }
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, RECORD_BYTES);
+        segment.putInt(8, recordsPerSegment);
+        position = HEADER_BYTES;
+        segments.add(file);
+        while (maxSegments != KEEP_ALL_SEGMENTS && segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.poll());
+        }
+    }
+
+    // Record slots following a record that hold a string id of this many bytes.
+    static int nameSlots(int bytes) {
+        return (bytes + RECORD_BYTES - 1) / RECORD_BYTES;
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.concurrent.all.log;
+
+import org.concurrent.all.model.TicketId;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Offline reader for {@link AuditLog} segments.
+ * <pre>
+ * java -cp target/classes org.concurrent.all.log.AuditLogDecoder &lt;segment or directory&gt;...
+ *      [--from 2026-01-01T10:00:00Z] [--to 2026-01-01T11:00:00Z] [--action ADDED,CONSUMED]
+ * </pre>
+ */
+public final class AuditLogDecoder {
+
+    private AuditLogDecoder() {
+    }
+
+    // ticketName is the string id of a non-compact ticket, in which case ticketId is 0.
+    public record Entry(long epochNanos, long threadId, LogAction action, long ticketId,
+                        String ticketName, long priceCents, int eventId) {
+
+        public Instant timestamp() {
+            return Instant.ofEpochSecond(0, epochNanos);
+        }
+
+        // Event ids are only meaningful within the process that wrote them, so they print as ids.
+        public String render() {
+            String prefix = timestamp() + " [thread " + threadId + "] " + action;
+            return switch (action) {
+                case ADDED, PURCHASED, CONSUMED -> String.format(Locale.ROOT, "%s ticket=%s event=#%d price=%d.%02d",
+                        prefix, ticketName != null ? ticketName : TicketId.toString(ticketId), eventId,
+                        priceCents / 100, Math.abs(priceCents % 100));
+                case UPDATE -> prefix + " version=" + ticketId;
+                default -> prefix;
+            };
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> inputs = new ArrayList<>();
+        Instant from = Instant.MIN;
+        Instant to = Instant.MAX;
+        Set<LogAction> actions = EnumSet.allOf(LogAction.class);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--from" -> from = Instant.parse(args[++i]);
+                    case "--to" -> to = Instant.parse(args[++i]);
+                    case "--action" -> {
+                        actions = EnumSet.noneOf(LogAction.class);
+                        for (String name : args[++i].split(",")) {
+                            actions.add(LogAction.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                        }
+                    }
+                    default -> inputs.add(Path.of(args[i]));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | DateTimeParseException | IllegalArgumentException e) {
+            inputs.clear();
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: AuditLogDecoder <segment or directory>... "
+                    + "[--from <instant>] [--to <instant>] [--action ADDED,CONSUMED,...]");
+            System.exit(2);
+        }
+        decode(inputs, filter(from, to, actions), System.out);
+    }
+
+    // Entries with from <= timestamp < to whose action is in actions.
+    public static Predicate<Entry> filter(Instant from, Instant to, Set<LogAction> actions) {
+        return entry -> actions.contains(entry.action())
+                && !entry.timestamp().isBefore(from) && entry.timestamp().isBefore(to);
+    }
+
+    public static void decode(List<Path> inputs, Predicate<Entry> filter, PrintStream out) throws IOException {
+        for (Path input : inputs) {
+            List<Path> segments = Files.isDirectory(input) ? AuditLog.segments(input) : List.of(input);
+            for (Path segment : segments) {
+                read(segment, entry -> {
+                    if (filter.test(entry)) {
+                        out.println(entry.render());
+                    }
+                });
+            }
+        }
+    }
+
+    // Calls sink for every record in segment, in write order.
+    public static void read(Path segment, Consumer<Entry> sink) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < AuditLog.HEADER_BYTES || buffer.getInt(0) != AuditLog.MAGIC) {
+            throw new IOException(segment + " is not an audit log segment");
+        }
+        int recordBytes = buffer.getInt(4);
+        if (recordBytes < AuditLog.RECORD_BYTES) {
+            throw new IOException(segment + " has unsupported record size " + recordBytes);
+        }
+        LogAction[] values = LogAction.values();
+        for (int position = AuditLog.HEADER_BYTES; position + recordBytes <= buffer.capacity(); position += recordBytes) {
+            long epochNanos = buffer.getLong(position);
+            if (epochNanos == 0) {
+                break;
+            }
+            int ordinal = buffer.get(position + 36);
+            if (ordinal < 0 || ordinal >= values.length) {
+                throw new IOException(segment + " has an unknown action " + ordinal + " at offset " + position);
+            }
+            long ticketId = buffer.getLong(position + 16);
+            String ticketName = null;
+            int skip = 0;
+            if (ticketId < 0 && values[ordinal] != LogAction.UPDATE) {
+                // A string id, in the slots after this record.
+                byte[] name = new byte[(int) -ticketId];
+                buffer.get(position + recordBytes, name);
+                ticketName = new String(name, StandardCharsets.UTF_8);
+                ticketId = 0;
+                skip = (name.length + recordBytes - 1) / recordBytes * recordBytes;
+            }
+            sink.accept(new Entry(epochNanos, buffer.getLong(position + 8), values[ordinal],
+                    ticketId, ticketName, buffer.getLong(position + 24), buffer.getInt(position + 32)));
+            position += skip;
+        }
+    }
+}
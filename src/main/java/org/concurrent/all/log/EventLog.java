@@ -0,0 +1,318 @@
+package org.concurrent.all.log;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool event log. Callers only claim a preallocated slot in a bounded lock-free ring and
+ * copy a few fields into it; turning records into text happens later on the shared
+ * renderer thread, or on demand when the logs are read. Rendered lines are numbered from 0
+ * and kept in a second bounded ring, the history, which tails read through a cursor.
+ * <p>
+ * Each {@link LogCategory} has a {@link LogPolicy}, taken from system properties at
+ * construction and changeable at any time. Policies only decide what is rendered: events a
+ * policy rejects cost one counter increment and are reported as a "suppressed" summary line at
+ * most once a second, but still reach an attached {@link AuditLog}.
+ */
+public class EventLog {
+    public static final int DEFAULT_BUFFER_CAPACITY = 8192;
+    public static final int DEFAULT_HISTORY_CAPACITY = 65_536;
+    private static final long SUMMARY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int PUBLISH_RETRIES = 16;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final LogRecord[] records;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong renderFailures = new AtomicLong();
+    private final long epochMillis = System.currentTimeMillis();
+    private final long epochNanos = System.nanoTime();
+
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private long head;
+
+    // Written only by the drainer; a slot holds the line whose number it was written for, so a
+    // reader can tell when the drainer has lapped it.
+    private final AtomicReferenceArray<Line> history;
+    private final int historyMask;
+    private volatile long rendered;
+
+    private volatile AuditLog auditLog;
+    // Why the audit log was detached, until the drainer reports it.
+    private volatile RuntimeException auditDetached;
+
+    private final AtomicReferenceArray<LogPolicy> policies = new AtomicReferenceArray<>(LogCategory.values().length);
+    private final LongAdder[] suppressed = new LongAdder[LogAction.values().length];
+    // Guarded by drainLock: suppressed counts already reported in a summary line.
+    private final long[] reported = new long[LogAction.values().length];
+    private long lastSummaryNanos = System.nanoTime();
+
+    public EventLog() {
+        this(DEFAULT_BUFFER_CAPACITY);
+    }
+
+    public EventLog(int bufferCapacity) {
+        this(bufferCapacity, DEFAULT_HISTORY_CAPACITY);
+    }
+
+    public EventLog(int bufferCapacity, int historyCapacity) {
+        if (bufferCapacity <= 0 || historyCapacity <= 0) {
+            throw new IllegalArgumentException("Buffer and history capacity must be positive");
+        }
+        int size = powerOfTwo(bufferCapacity);
+        int historySize = powerOfTwo(historyCapacity);
+        this.history = new AtomicReferenceArray<>(historySize);
+        this.historyMask = historySize - 1;
+        this.mask = size - 1;
+        this.records = new LogRecord[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            records[i] = new LogRecord();
+            sequences.set(i, i);
+        }
+        for (LogCategory category : LogCategory.values()) {
+            policies.set(category.ordinal(), LogPolicy.parse(System.getProperty(category.property(), "all")));
+        }
+        for (int i = 0; i < suppressed.length; i++) {
+            suppressed[i] = new LongAdder();
+        }
+        LogRenderer.register(this);
+    }
+
+    public void log(LogAction action, Object subject) {
+        publish(action, subject, 0L);
+    }
+
+    public void log(LogAction action, long value) {
+        publish(action, null, value);
+    }
+
+    // Every line still in the history, oldest first.
+    public String getLogs() {
+        drain(true);
+        return String.join("\n", getLogsSince(0, Integer.MAX_VALUE).lines());
+    }
+
+    /**
+     * Up to {@code max} lines starting at line number {@code sequence}, and the cursor to pass
+     * next time. Lines that already left the history are skipped, so the cursor can jump by
+     * more than the number of lines returned. Never waits for the drainer.
+     */
+    public LogBatch getLogsSince(long sequence, int max) {
+        if (sequence < 0 || max < 0) {
+            throw new IllegalArgumentException("Sequence and max must not be negative");
+        }
+        drain(false);
+        long end = rendered;
+        long next = Math.max(sequence, end - history.length());
+        List<String> lines = new ArrayList<>((int) Math.min(max, end - next));
+        while (next < end && lines.size() < max) {
+            Line line = history.get((int) (next & historyMask));
+            if (line == null || line.sequence != next) {
+                // Lapped while reading: restart from the oldest line still retained.
+                next = Math.max(next + 1, rendered - history.length());
+                continue;
+            }
+            lines.add(line.text);
+            next++;
+        }
+        return new LogBatch(lines, next);
+    }
+
+    // Also copy every record except free-text messages into auditLog, including those the ring
+    // had no room for; null stops it.
+    public void setAuditLog(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    public long getRenderedLines() {
+        return rendered;
+    }
+
+    public void setPolicy(LogCategory category, LogPolicy policy) {
+        policies.set(category.ordinal(), policy);
+    }
+
+    public LogPolicy getPolicy(LogCategory category) {
+        return policies.get(category.ordinal());
+    }
+
+    // Events of this action rejected by its category's policy so far.
+    public long getSuppressed(LogAction action) {
+        return suppressed[action.ordinal()].sum();
+    }
+
+    public long getDroppedRecords() {
+        return dropped.get();
+    }
+
+    // Background drains that threw; the renderer thread counts them here and carries on.
+    public long getRenderFailures() {
+        return renderFailures.get();
+    }
+
+    void renderFailed(RuntimeException e) {
+        renderFailures.incrementAndGet();
+    }
+
+    private void publish(LogAction action, Object subject, long value) {
+        long now = System.nanoTime();
+        boolean shown = policies.get(action.getCategory().ordinal()).admit(now);
+        if (!shown) {
+            suppressed[action.ordinal()].increment();
+            // Only worth a ring slot if the audit log still wants it.
+            if (action == LogAction.MESSAGE || auditLog == null) {
+                return;
+            }
+        }
+        int attempt = 0;
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    records[index].set(now, Thread.currentThread(), action, subject, value, shown);
+                    sequences.setRelease(index, pos + 1);
+                    return;
+                }
+            } else if (diff < 0) {
+                // Ring is full: help render rather than wait for the background thread, and
+                // give up on the record if someone else keeps the renderer busy for too long.
+                if (++attempt > PUBLISH_RETRIES) {
+                    if (shown) {
+                        dropped.incrementAndGet();
+                    }
+                    // Lost to the display log only: the audit trail gets it straight away, ahead
+                    // of records still waiting in the ring.
+                    AuditLog audit = auditLog;
+                    if (audit != null && action != LogAction.MESSAGE) {
+                        audit(audit, now, Thread.currentThread().getId(), action, subject, value);
+                    }
+                    return;
+                }
+                if (!drain(false)) {
+                    Thread.yield();
+                }
+            }
+            pos = tail.get();
+        }
+    }
+
+    boolean drain(boolean waitForLock) {
+        if (waitForLock) {
+            drainLock.lock();
+        } else if (!drainLock.tryLock()) {
+            return false;
+        }
+        try {
+            AuditLog audit = auditLog;
+            long pos = head;
+            while (true) {
+                int index = (int) (pos & mask);
+                if (sequences.getAcquire(index) != pos + 1) {
+                    break;
+                }
+                LogRecord record = records[index];
+                if (audit != null && record.action != LogAction.MESSAGE) {
+                    audit(audit, record.timestampNanos, record.threadId, record.action, record.subject, record.value);
+                    audit = auditLog;
+                }
+                if (record.shown) {
+                    append(render(record));
+                }
+                record.clear();
+                sequences.setRelease(index, pos + mask + 1);
+                pos++;
+            }
+            head = pos;
+            RuntimeException detached = auditDetached;
+            if (detached != null) {
+                auditDetached = null;
+                append("audit log detached: " + detached);
+            }
+            long now = System.nanoTime();
+            if (now - lastSummaryNanos >= SUMMARY_INTERVAL_NANOS) {
+                lastSummaryNanos = now;
+                summarizeSuppressed();
+            }
+            return true;
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    // Runs on the drainer or on a publisher the ring turned away, either of which may be a pool
+    // caller: a failing audit log is detached rather than allowed to fail it.
+    private void audit(AuditLog audit, long timestampNanos, long threadId, LogAction action, Object subject, long value) {
+        try {
+            audit.append(epochMillis * 1_000_000L + (timestampNanos - epochNanos), threadId, action, subject, value);
+        } catch (RuntimeException e) {
+            if (auditLog == audit) {
+                auditLog = null;
+            }
+            auditDetached = e;
+        }
+    }
+
+    // Guarded by drainLock.
+    private void append(String text) {
+        long number = rendered;
+        history.set((int) (number & historyMask), new Line(number, text));
+        rendered = number + 1;
+    }
+
+    // Guarded by drainLock: one line counting the events each policy rejected since the last one.
+    private void summarizeSuppressed() {
+        StringBuilder summary = null;
+        for (LogAction action : LogAction.values()) {
+            long total = suppressed[action.ordinal()].sum();
+            long count = total - reported[action.ordinal()];
+            if (count > 0) {
+                reported[action.ordinal()] = total;
+                summary = summary == null ? new StringBuilder("suppressed") : summary.append(',');
+                summary.append(' ').append(action).append('=').append(count);
+            }
+        }
+        if (summary != null) {
+            append(TIME_FORMAT.format(Instant.now()) + " [" + Thread.currentThread().getName() + "] " + summary);
+        }
+    }
+
+    private static int powerOfTwo(int capacity) {
+        int size = Integer.highestOneBit(capacity);
+        return size < capacity ? size << 1 : size;
+    }
+
+    private String render(LogRecord record) {
+        long millis = epochMillis + (record.timestampNanos - epochNanos) / 1_000_000L;
+        String prefix = TIME_FORMAT.format(Instant.ofEpochMilli(millis)) + " [" + record.threadName + "] ";
+        return switch (record.action) {
+            case MESSAGE -> prefix + record.subject;
+            case UPDATE -> prefix + record.action.getLabel() + " " + record.value;
+            default -> prefix + record.action.getLabel() + " " + record.subject;
+        };
+    }
+
+    private static final class Line {
+        final long sequence;
+        final String text;
+
+        Line(long sequence, String text) {
+            this.sequence = sequence;
+            this.text = text;
+        }
+    }
+}
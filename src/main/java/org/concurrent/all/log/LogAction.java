@@ -0,0 +1,28 @@
+package org.concurrent.all.log;
+
+public enum LogAction {
+    ADDED("Added", LogCategory.ACTIONS),
+    PURCHASED("Purchased", LogCategory.ACTIONS),
+    CONSUMED("Consumed", LogCategory.ACTIONS),
+    WAIT("WAIT -", LogCategory.WAITS),
+    INTERRUPTED("INTERRUPTED", LogCategory.WAITS),
+    TIMEOUT("TIMEOUT -", LogCategory.WAITS),
+    UPDATE("updated version to", LogCategory.UPDATES),
+    MESSAGE("", LogCategory.MESSAGES);
+
+    private final String label;
+    private final LogCategory category;
+
+    LogAction(String label, LogCategory category) {
+        this.label = label;
+        this.category = category;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public LogCategory getCategory() {
+        return category;
+    }
+}
@@ -0,0 +1,7 @@
+package org.concurrent.all.log;
+
+import java.util.List;
+
+// Lines read from an EventLog's history and the cursor to continue from.
+public record LogBatch(List<String> lines, long next) {
+}
@@ -0,0 +1,16 @@
+package org.concurrent.all.log;
+
+import java.util.Locale;
+
+// Groups of LogActions that share one LogPolicy.
+public enum LogCategory {
+    ACTIONS,
+    WAITS,
+    UPDATES,
+    MESSAGES;
+
+    // System property holding this category's policy for new EventLogs, e.g. ticketpool.log.waits=1/s.
+    public String property() {
+        return "ticketpool.log." + name().toLowerCase(Locale.ROOT);
+    }
+}
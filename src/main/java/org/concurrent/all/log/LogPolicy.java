@@ -0,0 +1,109 @@
+package org.concurrent.all.log;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which events of a {@link LogCategory} an {@link EventLog} keeps. Events it rejects
+ * are only counted, and show up in the log as a periodic summary line.
+ * <p>
+ * Written as {@code all}, {@code off}, {@code 1/N} (about one in N, chosen at random so the
+ * check never contends) or {@code K/s} (at most K per second; each instance has its own
+ * budget).
+ */
+public abstract class LogPolicy {
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static final LogPolicy ALL = new LogPolicy("all") {
+        @Override
+        boolean admit(long nowNanos) {
+            return true;
+        }
+    };
+
+    public static final LogPolicy OFF = new LogPolicy("off") {
+        @Override
+        boolean admit(long nowNanos) {
+            return false;
+        }
+    };
+
+    private final String text;
+
+    private LogPolicy(String text) {
+        this.text = text;
+    }
+
+    public static LogPolicy oneIn(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + n);
+        }
+        if (n == 1) {
+            return ALL;
+        }
+        return new LogPolicy("1/" + n) {
+            @Override
+            boolean admit(long nowNanos) {
+                return ThreadLocalRandom.current().nextInt(n) == 0;
+            }
+        };
+    }
+
+    public static LogPolicy perSecond(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Rate must not be negative: " + k);
+        }
+        if (k == 0) {
+            return OFF;
+        }
+        return new LogPolicy(k + "/s") {
+            private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+            private final AtomicInteger admitted = new AtomicInteger();
+
+            @Override
+            boolean admit(long nowNanos) {
+                long start = windowStart.get();
+                if (nowNanos - start >= SECOND_NANOS) {
+                    if (windowStart.compareAndSet(start, nowNanos)) {
+                        admitted.set(0);
+                    }
+                } else if (admitted.get() >= k) {
+                    // Plain read first, so an exhausted budget costs no shared writes.
+                    return false;
+                }
+                return admitted.incrementAndGet() <= k;
+            }
+        };
+    }
+
+    public static LogPolicy parse(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (value.equals("all")) {
+                return ALL;
+            }
+            if (value.equals("off")) {
+                return OFF;
+            }
+            if (value.startsWith("1/")) {
+                return oneIn(Integer.parseInt(value.substring(2)));
+            }
+            if (value.endsWith("/s")) {
+                return perSecond(Integer.parseInt(value.substring(0, value.length() - 2)));
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below.
+        }
+        throw new IllegalArgumentException("Unknown log policy '" + text + "', expected all, off, 1/N or K/s");
+    }
+
+    abstract boolean admit(long nowNanos);
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
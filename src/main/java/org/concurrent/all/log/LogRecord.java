@@ -0,0 +1,29 @@
+package org.concurrent.all.log;
+
+// Preallocated, reused slot of the EventLog ring; fields are published by the slot sequence.
+final class LogRecord {
+    long timestampNanos;
+    long threadId;
+    String threadName;
+    LogAction action;
+    Object subject;
+    long value;
+    // False for a record its category's policy rejected, kept only for the audit log.
+    boolean shown;
+
+    void set(long timestampNanos, Thread thread, LogAction action, Object subject, long value, boolean shown) {
+        this.timestampNanos = timestampNanos;
+        this.threadId = thread.getId();
+        this.threadName = thread.getName();
+        this.action = action;
+        this.subject = subject;
+        this.value = value;
+        this.shown = shown;
+    }
+
+    void clear() {
+        threadName = null;
+        action = null;
+        subject = null;
+    }
+}
@@ -0,0 +1,51 @@
+package org.concurrent.all.log;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+// Single daemon thread shared by every EventLog; renders pending records in the background.
+final class LogRenderer implements Runnable {
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final List<WeakReference<EventLog>> LOGS = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    private LogRenderer() {
+    }
+
+    static void register(EventLog log) {
+        LOGS.add(new WeakReference<>(log));
+        if (STARTED.compareAndSet(false, true)) {
+            Thread renderer = new Thread(new LogRenderer(), "event-log-renderer");
+            renderer.setDaemon(true);
+            renderer.start();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            boolean collected = false;
+            for (WeakReference<EventLog> ref : LOGS) {
+                EventLog log = ref.get();
+                if (log == null) {
+                    collected = true;
+                } else {
+                    try {
+                        log.drain(false);
+                    } catch (RuntimeException e) {
+                        // Rendering must go on for every other log, and for this one next time.
+                        log.renderFailed(e);
+                    }
+                }
+            }
+            if (collected) {
+                LOGS.removeIf(ref -> ref.get() == null);
+            }
+            LockSupport.parkNanos(INTERVAL_NANOS);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.concurrent.all.metrics;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Concurrent latency recorder. Every recording thread writes into its own
+ * {@link LatencyHistogram}, so {@link #record(long)} is contention- and allocation-free after
+ * the first call on a thread. Histograms are merged by {@link #snapshot()}, which should be
+ * called once the recording threads have finished (e.g. after the executor terminated).
+ */
+public class LatencyRecorder {
+    private final Queue<LatencyHistogram> histograms = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<LatencyHistogram> local = ThreadLocal.withInitial(() -> {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histograms.add(histogram);
+        return histogram;
+    });
+
+    public void record(long nanos) {
+        local.get().record(nanos);
+    }
+
+    public LatencyHistogram snapshot() {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (LatencyHistogram histogram : histograms) {
+            merged.add(histogram);
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,47 @@
+package org.concurrent.all.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns event names as small ints, so a ticket carries a 4-byte event id instead of a
+ * reference to its own copy of the name. Ids are assigned from 0 in registration order and
+ * are never reused; the registry is meant for a bounded set of events, not arbitrary strings.
+ */
+public final class EventRegistry {
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[16];
+    private static int count;
+
+    private EventRegistry() {
+    }
+
+    public static int idOf(String eventName) {
+        Integer id = IDS.get(eventName);
+        return id != null ? id : register(eventName);
+    }
+
+    public static String nameOf(int eventId) {
+        String[] current = names;
+        if (eventId < 0 || eventId >= current.length || current[eventId] == null) {
+            throw new IllegalArgumentException("Unknown event id: " + eventId);
+        }
+        return current[eventId];
+    }
+
+    private static synchronized int register(String eventName) {
+        Integer id = IDS.get(eventName);
+        if (id != null) {
+            return id;
+        }
+        String[] current = names;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, count * 2);
+        }
+        current[count] = eventName;
+        // Publish the name before the id, so anyone holding the id can resolve it.
+        names = current;
+        IDS.put(eventName, count);
+        return count++;
+    }
+}
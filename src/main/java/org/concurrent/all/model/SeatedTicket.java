@@ -0,0 +1,32 @@
+package org.concurrent.all.model;
+
+public class SeatedTicket extends Ticket {
+    private final String section;
+    private final int row;
+    private final int seat;
+
+    public SeatedTicket(String eventName, double price, String section, int row, int seat) {
+        super(section + "-R" + row + "-S" + seat, eventName, price);
+        this.section = section;
+        this.row = row;
+        this.seat = seat;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SeatedTicket{id='%s', event='%s', price=%.2f, section='%s', row=%d, seat=%d}",
+                getId(), getEventName(), getPrice(), section, row, seat);
+    }
+}
@@ -1,23 +1,69 @@
 package org.concurrent.all.model;
 
 public class Ticket {
+    // Null for compact tickets, whose id is rendered from number when asked for.
     private final String id;
-    private final String eventName;
-    private final double price;
+    private final long number;
+    private final int eventId;
+    // Minor units (cents), so revenue and unsold totals add up exactly.
+    private final long priceCents;
 
     public Ticket(String id, String eventName, double price) {
+        this(id, 0, EventRegistry.idOf(eventName), Math.round(price * 100));
+    }
+
+    // Private so that new Ticket(id, event, 100) keeps meaning $100.00, not 100 cents.
+    private Ticket(String id, long number, int eventId, long priceCents) {
         this.id = id;
-        this.eventName = eventName;
-        this.price = price;
+        this.number = number;
+        this.eventId = eventId;
+        this.priceCents = priceCents;
+    }
+
+    public static Ticket ofCents(String id, String eventName, long priceCents) {
+        return new Ticket(id, 0, EventRegistry.idOf(eventName), priceCents);
+    }
+
+    /**
+     * A ticket that holds no strings at all: its id is a {@link TicketId} and its event an
+     * {@link EventRegistry} id.
+     */
+    public static Ticket compact(long ticketId, int eventId, long priceCents) {
+        return new Ticket(null, ticketId, eventId, priceCents);
+    }
+
+    public String getId() {
+        return id != null ? id : TicketId.toString(number);
+    }
+
+    public String getEventName() {
+        return EventRegistry.nameOf(eventId);
+    }
+
+    // Only meaningful for compact tickets.
+    public long getNumber() {
+        return number;
+    }
+
+    public boolean isCompact() {
+        return id == null;
+    }
+
+    public int getEventId() {
+        return eventId;
     }
 
     public double getPrice() {
-        return price;
+        return priceCents / 100.0;
+    }
+
+    public long getPriceCents() {
+        return priceCents;
     }
 
     @Override
     public String toString() {
         return String.format("Ticket{id='%s', event='%s', price=%.2f}",
-                id, eventName, price);
+                getId(), getEventName(), getPrice());
     }
-}
\ No newline at end of file
+}
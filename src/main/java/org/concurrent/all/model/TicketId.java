@@ -0,0 +1,44 @@
+package org.concurrent.all.model;
+
+/**
+ * Packs a ticket's identity into one long: 12 bits of node, 20 bits of source (the producer
+ * that minted it) and 32 bits of per-source sequence. The readable form is only built when a
+ * ticket is rendered.
+ */
+public final class TicketId {
+    static final int NODE_BITS = 12;
+    static final int SOURCE_BITS = 20;
+    static final int SEQUENCE_BITS = 32;
+
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    public static final int MAX_SOURCE = (1 << SOURCE_BITS) - 1;
+    public static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private TicketId() {
+    }
+
+    public static long of(int node, int source, long sequence) {
+        if (node < 0 || node > MAX_NODE || source < 0 || source > MAX_SOURCE
+                || sequence < 0 || sequence > MAX_SEQUENCE) {
+            throw new IllegalArgumentException("Ticket id out of range: node=" + node
+                    + ", source=" + source + ", sequence=" + sequence);
+        }
+        return ((long) node << (SOURCE_BITS + SEQUENCE_BITS)) | ((long) source << SEQUENCE_BITS) | sequence;
+    }
+
+    public static int node(long id) {
+        return (int) (id >>> (SOURCE_BITS + SEQUENCE_BITS));
+    }
+
+    public static int source(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_SOURCE;
+    }
+
+    public static long sequence(long id) {
+        return id & MAX_SEQUENCE;
+    }
+
+    public static String toString(long id) {
+        return "[" + node(id) + "." + source(id) + "]-" + sequence(id);
+    }
+}
@@ -0,0 +1,28 @@
+package org.concurrent.all.pool;
+
+/**
+ * What changed in a pool between two deliveries to a {@link PoolObserver}. Any number of
+ * operations may have been coalesced into one delta.
+ */
+public record PoolDelta(PoolSnapshot previous, PoolSnapshot current) {
+
+    public int added() {
+        return current.added() - previous.added();
+    }
+
+    public int purchased() {
+        return current.purchased() - previous.purchased();
+    }
+
+    public int versions() {
+        return current.version() - previous.version();
+    }
+
+    public int timeouts() {
+        return current.timeouts() - previous.timeouts();
+    }
+
+    public long revenueCents() {
+        return current.revenueCents() - previous.revenueCents();
+    }
+}
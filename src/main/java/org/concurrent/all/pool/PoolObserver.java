@@ -0,0 +1,7 @@
+package org.concurrent.all.pool;
+
+// Called on the shared subscription thread, so it should hand off anything slow.
+@FunctionalInterface
+public interface PoolObserver {
+    void onChange(PoolDelta delta);
+}
@@ -0,0 +1,17 @@
+package org.concurrent.all.pool;
+
+/**
+ * Counters of a pool captured in one atomic read, so they all describe the same moment instead
+ * of drifting apart between separate getter calls.
+ */
+public record PoolSnapshot(int available, int capacity, int added, int purchased, int version,
+                           int timeouts, long revenueCents, long unsoldValueCents) {
+
+    public double revenue() {
+        return revenueCents / 100.0;
+    }
+
+    public double unsoldValue() {
+        return unsoldValueCents / 100.0;
+    }
+}
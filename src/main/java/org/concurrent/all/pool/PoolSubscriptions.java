@@ -0,0 +1,152 @@
+package org.concurrent.all.pool;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Push side of {@link TicketPool#subscribe}. A pool calls {@link #changed()} after every state
+ * change; each subscriber then gets at most one {@link PoolDelta} per interval, read from the
+ * pool's snapshot. One shared daemon thread only keeps time; deliveries run on a shared pool
+ * of daemon threads, one at a time per subscriber, so a slow observer only delays itself.
+ * An observer that throws is reported to the pool's event log.
+ * <p>
+ * {@code changed()} only reads flags once a delivery is already pending, so a busy pool pays
+ * one scheduling per subscriber per interval, and an idle pool pays nothing at all.
+ * <p>
+ * A decorator passes its delegate as {@code upstream}: while it has subscribers of its own, it
+ * relays the delegate's changes instead of having every operation call {@code changed()}.
+ */
+public final class PoolSubscriptions {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "pool-subscriptions-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicInteger DELIVERY_THREADS = new AtomicInteger();
+    private static final ExecutorService DELIVERIES = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "pool-subscriptions-" + DELIVERY_THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<PoolSnapshot> source;
+    private final TicketPool upstream;
+    private final Consumer<String> log;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Guarded by this.
+    private Subscription relay;
+
+    public PoolSubscriptions(Supplier<PoolSnapshot> source, Consumer<String> log) {
+        this(source, null, log);
+    }
+
+    public PoolSubscriptions(Supplier<PoolSnapshot> source, TicketPool upstream, Consumer<String> log) {
+        this.source = source;
+        this.upstream = upstream;
+        this.log = log;
+    }
+
+    public void changed() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.changed();
+        }
+    }
+
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        if (minInterval < 0) {
+            throw new IllegalArgumentException("Interval must not be negative");
+        }
+        Subscriber subscriber = new Subscriber(observer, unit.toNanos(minInterval), source.get());
+        synchronized (this) {
+            subscribers.add(subscriber);
+            if (upstream != null && relay == null) {
+                relay = upstream.subscribe(delta -> changed(), 0, TimeUnit.NANOSECONDS);
+            }
+        }
+        return subscriber;
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (relay != null && subscribers.isEmpty()) {
+            relay.close();
+            relay = null;
+        }
+    }
+
+    private final class Subscriber implements Subscription {
+        private final PoolObserver observer;
+        private final long intervalNanos;
+        // Set while a delivery is scheduled or running.
+        private final AtomicBoolean pending = new AtomicBoolean();
+        // A change since the running delivery read the snapshot.
+        private volatile boolean dirty;
+        private volatile long nextDueNanos = System.nanoTime();
+        private volatile boolean closed;
+        // Only touched by deliveries, which never overlap for one subscriber.
+        private PoolSnapshot last;
+
+        Subscriber(PoolObserver observer, long intervalNanos, PoolSnapshot initial) {
+            this.observer = observer;
+            this.intervalNanos = intervalNanos;
+            this.last = initial;
+        }
+
+        void changed() {
+            // Marked before the check, so a delivery finishing meanwhile sees it and goes again.
+            if (!dirty) {
+                dirty = true;
+            }
+            if (!pending.get() && pending.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            long delay = Math.max(0, nextDueNanos - System.nanoTime());
+            TIMER.schedule(() -> DELIVERIES.execute(this::deliver), delay, TimeUnit.NANOSECONDS);
+        }
+
+        private void deliver() {
+            try {
+                if (closed) {
+                    return;
+                }
+                nextDueNanos = System.nanoTime() + intervalNanos;
+                // Cleared before the snapshot read, so a change made during it is delivered next.
+                dirty = false;
+                PoolSnapshot current = source.get();
+                if (current.equals(last)) {
+                    return;
+                }
+                PoolDelta delta = new PoolDelta(last, current);
+                last = current;
+                try {
+                    observer.onChange(delta);
+                } catch (RuntimeException e) {
+                    // A failing observer must not stop its own later deliveries either.
+                    log.accept("Pool observer failed: " + e);
+                }
+            } finally {
+                pending.set(false);
+                if (dirty && !closed && pending.compareAndSet(false, true)) {
+                    schedule();
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            unsubscribe(this);
+        }
+    }
+}
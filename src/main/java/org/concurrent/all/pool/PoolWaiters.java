@@ -0,0 +1,186 @@
+package org.concurrent.all.pool;
+
+import org.concurrent.all.model.Ticket;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Async side of {@link TicketPool#purchaseTicketAsync()} and {@link TicketPool#addTicketAsync}.
+ * Each call is queued as a future instead of blocking a thread, and a pool calls
+ * {@link #changed()} after every add or purchase: the calling producer or consumer then serves
+ * the queued futures, oldest first, through the pool's own non-blocking {@code poll} and
+ * {@code offer}, which must not count a miss as a timeout.
+ * <p>
+ * Only one thread serves at a time; any other that calls {@code changed()} meanwhile just
+ * leaves it another round, so it never waits here. With nothing queued, {@code changed()} is
+ * two reads. A pool may call it while holding its own lock, so the serving thread only takes
+ * the ticket or slot for a future; the future completes on its default async executor, and
+ * dependent stages never run inside the pool.
+ * <p>
+ * The queues are FIFO among async callers only: a blocking or {@code try} caller that arrives
+ * at the right moment can still take the ticket or slot first.
+ */
+public final class PoolWaiters {
+    private final Supplier<Ticket> poll;
+    private final Predicate<Ticket> offer;
+    private final Queue<Waiter<Ticket>> purchases = new ConcurrentLinkedQueue<>();
+    private final Queue<Waiter<Boolean>> adds = new ConcurrentLinkedQueue<>();
+    // Requests to serve; whoever raises it from zero serves until it is back to zero.
+    private final AtomicInteger work = new AtomicInteger();
+
+    public PoolWaiters(Supplier<Ticket> poll, Predicate<Ticket> offer) {
+        this.poll = poll;
+        this.offer = offer;
+    }
+
+    public CompletableFuture<Ticket> purchase() {
+        Waiter<Ticket> waiter = new Waiter<>(purchases, null);
+        purchases.add(waiter);
+        serve();
+        return waiter;
+    }
+
+    public CompletableFuture<Boolean> add(Ticket ticket) {
+        Waiter<Boolean> waiter = new Waiter<>(adds, ticket);
+        adds.add(waiter);
+        serve();
+        return waiter;
+    }
+
+    public void changed() {
+        if (!purchases.isEmpty() || !adds.isEmpty()) {
+            serve();
+        }
+    }
+
+    private void serve() {
+        if (work.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            // A served add may unblock a purchase and vice versa, so go round until neither moves.
+            boolean served;
+            do {
+                served = servePurchases();
+                served |= serveAdds();
+            } while (served);
+            missed = work.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private boolean servePurchases() {
+        boolean served = false;
+        Waiter<Ticket> waiter;
+        while ((waiter = purchases.peek()) != null) {
+            if (!waiter.claim()) {
+                purchases.remove(waiter);
+                continue;
+            }
+            Ticket t = poll.get();
+            if (t == null) {
+                waiter.release();
+                break;
+            }
+            purchases.remove(waiter);
+            waiter.fulfil(t);
+            served = true;
+        }
+        return served;
+    }
+
+    private boolean serveAdds() {
+        boolean served = false;
+        Waiter<Boolean> waiter;
+        while ((waiter = adds.peek()) != null) {
+            if (!waiter.claim()) {
+                adds.remove(waiter);
+                continue;
+            }
+            if (!offer.test(waiter.ticket)) {
+                waiter.release();
+                break;
+            }
+            adds.remove(waiter);
+            waiter.fulfil(Boolean.TRUE);
+            served = true;
+        }
+        return served;
+    }
+
+    /**
+     * Completing the future from outside (cancel, a timeout, the caller) withdraws it from its
+     * queue. While the pool is serving it, that waits for the outcome: an attempt that got a
+     * ticket or slot wins, so nothing is ever taken for a caller that has gone. The wait spins
+     * briefly and then parks, since the attempt may be queued on a contended pool lock.
+     */
+    private static final class Waiter<T> extends CompletableFuture<T> {
+        private static final int WAITING = 0;
+        private static final int SERVING = 1;
+        private static final int DONE = 2;
+        private static final int SPINS = 100;
+        private static final long PARK_NANOS = 10_000;
+
+        private final Queue<Waiter<T>> queue;
+        private final Ticket ticket;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(Queue<Waiter<T>> queue, Ticket ticket) {
+            this.queue = queue;
+            this.ticket = ticket;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(WAITING, SERVING);
+        }
+
+        void release() {
+            state.set(WAITING);
+        }
+
+        // DONE first, so a cancel that races the async completion sees it as completed.
+        void fulfil(T value) {
+            state.set(DONE);
+            completeAsync(() -> value);
+        }
+
+        private boolean withdraw() {
+            for (int spins = 0; ; spins++) {
+                int s = state.get();
+                if (s == DONE) {
+                    return false;
+                }
+                if (s == WAITING && state.compareAndSet(WAITING, DONE)) {
+                    queue.remove(this);
+                    return true;
+                }
+                if (spins < SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+        @Override
+        public boolean complete(T value) {
+            return withdraw() && super.complete(value);
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            return withdraw() && super.completeExceptionally(ex);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return withdraw() && super.cancel(mayInterruptIfRunning);
+        }
+    }
+}
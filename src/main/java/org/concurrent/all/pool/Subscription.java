@@ -0,0 +1,7 @@
+package org.concurrent.all.pool;
+
+public interface Subscription extends AutoCloseable {
+    // Stops deliveries; one already running may still complete.
+    @Override
+    void close();
+}
@@ -1,13 +1,53 @@
 package org.concurrent.all.pool;
 
 
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
 import org.concurrent.all.model.Ticket;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 public interface TicketPool {
     boolean addTicket(Ticket ticket) throws InterruptedException;
 
     Ticket purchaseTicket() throws InterruptedException;
 
+    // Non-blocking: the zero-timeout form of the timed variants below, so a miss is not a timeout.
+    boolean tryAddTicket(Ticket ticket);
+
+    Ticket tryPurchaseTicket();
+
+    // Wait at most the timeout for room / stock; each expiry of a positive timeout is counted in
+    // getTimeouts().
+    boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) throws InterruptedException;
+
+    Ticket tryPurchaseTicket(long timeout, TimeUnit unit) throws InterruptedException;
+
+    // Queued FIFO behind earlier async calls instead of holding a thread; the future completes
+    // once a ticket / room is free. Cancelling it, or completing it any other way, withdraws it
+    // while it is still queued; once it has been served, the call returns false.
+    CompletableFuture<Ticket> purchaseTicketAsync();
+
+    CompletableFuture<Boolean> addTicketAsync(Ticket ticket);
+
+    // As above, but completes with null / false if still queued after the timeout. Unlike the
+    // blocking variants, these expiries are not counted in getTimeouts().
+    default CompletableFuture<Ticket> purchaseTicketAsync(long timeout, TimeUnit unit) {
+        return purchaseTicketAsync().completeOnTimeout(null, timeout, unit);
+    }
+
+    default CompletableFuture<Boolean> addTicketAsync(Ticket ticket, long timeout, TimeUnit unit) {
+        return addTicketAsync(ticket).completeOnTimeout(Boolean.FALSE, timeout, unit);
+    }
+
+    int addTickets(Collection<Ticket> tickets) throws InterruptedException;
+
+    int purchaseTickets(int max, Collection<? super Ticket> sink) throws InterruptedException;
+
     void performExclusiveUpdate() throws InterruptedException;
 
     int getAvailableTickets();
@@ -18,13 +58,39 @@ public interface TicketPool {
 
     int getVersion();
 
-    double getTotalRevenue();
+    int getTimeouts();
+
+    // Exact totals in cents; both are maintained incrementally, so reading them is O(1).
+    long getTotalRevenueCents();
+
+    long getTotalUnsoldValueCents();
+
+    default double getTotalRevenue() {
+        return getTotalRevenueCents() / 100.0;
+    }
+
+    default double getTotalUnsoldValue() {
+        return getTotalUnsoldValueCents() / 100.0;
+    }
 
-    double getTotalUnsoldValue();
+    // All counters above, read in one atomic operation.
+    PoolSnapshot snapshot();
+
+    // Pushes coalesced changes to observer at most once per minInterval, and nothing while idle.
+    Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit);
 
     String getPoolInfo();
 
     String getLogs();
 
+    // New log lines from line number sequence on, and the cursor to pass next time.
+    LogBatch getLogsSince(long sequence, int max);
+
+    // Copies pool events into a binary audit log as they are drained; null detaches it.
+    void setAuditLog(AuditLog auditLog);
+
+    // Which events of a category are logged from now on; the rest are only counted.
+    void setLogPolicy(LogCategory category, LogPolicy policy);
+
     void logReaderMessage(String msg);
 }
\ No newline at end of file
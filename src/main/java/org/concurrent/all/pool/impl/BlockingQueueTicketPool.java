@@ -1,16 +1,36 @@
 package org.concurrent.all.pool.impl;
 
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.EventLog;
+import org.concurrent.all.log.LogAction;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
 import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.PoolWaiters;
+import org.concurrent.all.pool.Subscription;
 import org.concurrent.all.pool.TicketPool;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Tickets live in a {@link LinkedBlockingQueue}. Buyers block in the queue itself; adds are
+ * non-blocking offers counted in the same seqlock write that makes the ticket visible, so a
+ * snapshot never shows a ticket bought before it was added. A full queue parks adders on
+ * {@code notFull}, which purchases signal.
+ */
 public class BlockingQueueTicketPool implements TicketPool {
 
     private final int capacity;
@@ -19,10 +39,17 @@ public class BlockingQueueTicketPool implements TicketPool {
     private final AtomicInteger added = new AtomicInteger();
     private final AtomicInteger purchased = new AtomicInteger();
     private final AtomicInteger version = new AtomicInteger();
-    private final DoubleAdder totalRevenue = new DoubleAdder();
-    private final DoubleAdder totalAdded = new DoubleAdder();
+    private final AtomicInteger timeouts = new AtomicInteger();
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder unsoldCents = new LongAdder();
 
-    private final List<String> logs = new ArrayList<>();
+    private final StatsSeqLock stats = new StatsSeqLock();
+    private final ReentrantLock spaceLock = new ReentrantLock();
+    private final Condition notFull = spaceLock.newCondition();
+    private final AtomicInteger spaceWaiters = new AtomicInteger();
+    private final EventLog eventLog = new EventLog();
+    private final PoolSubscriptions subscriptions = new PoolSubscriptions(this::snapshot, this::logReaderMessage);
+    private final PoolWaiters waiters = new PoolWaiters(this::pollNow, this::offerNow);
 
     public BlockingQueueTicketPool(int capacity) {
         this.capacity = capacity;
@@ -32,17 +59,14 @@ public class BlockingQueueTicketPool implements TicketPool {
     @Override
     public boolean addTicket(Ticket ticket) {
         try {
-            if (queue.remainingCapacity() == 0) {
-                logWait("FULL");
+            if (!offerCounted(ticket)) {
+                awaitSpace(ticket, -1);
             }
-            queue.put(ticket);
-            added.incrementAndGet();
-            totalAdded.add(ticket.getPrice());
-            logAction("Added", ticket);
+            eventLog.log(LogAction.ADDED, ticket);
             return true;
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
-            logs.add(logTime() + " [" + Thread.currentThread().getName() + "] INTERRUPTED while adding");
+            eventLog.log(LogAction.INTERRUPTED, "while adding");
             return false;
         }
     }
@@ -51,24 +75,132 @@ public class BlockingQueueTicketPool implements TicketPool {
     public Ticket purchaseTicket() {
         try {
             if (queue.isEmpty()) {
-                logWait("EMPTY");
+                eventLog.log(LogAction.WAIT, "Queue EMPTY");
             }
             Ticket t = queue.take();
-            purchased.incrementAndGet();
-            totalRevenue.add(t.getPrice());
-            logAction("Purchased", t);
+            eventLog.log(LogAction.PURCHASED, t);
+            recordPurchased(1, t.getPriceCents());
+            return t;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            eventLog.log(LogAction.INTERRUPTED, "while purchasing");
+            return null;
+        }
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return tryAddTicket(ticket, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return tryPurchaseTicket(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) {
+        try {
+            if (!offerCounted(ticket) && (timeout <= 0 || !awaitSpace(ticket, unit.toNanos(timeout)))) {
+                if (timeout > 0) {
+                    recordTimeout();
+                    eventLog.log(LogAction.TIMEOUT, "while adding");
+                }
+                return false;
+            }
+            eventLog.log(LogAction.ADDED, ticket);
+            return true;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            eventLog.log(LogAction.INTERRUPTED, "while adding");
+            return false;
+        }
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) {
+        try {
+            if (timeout > 0 && queue.isEmpty()) {
+                eventLog.log(LogAction.WAIT, "Queue EMPTY");
+            }
+            Ticket t = queue.poll(timeout, unit);
+            if (t == null) {
+                if (timeout > 0) {
+                    recordTimeout();
+                    eventLog.log(LogAction.TIMEOUT, "while purchasing");
+                }
+                return null;
+            }
+            eventLog.log(LogAction.PURCHASED, t);
+            recordPurchased(1, t.getPriceCents());
             return t;
         } catch (InterruptedException ie) {
             Thread.currentThread().interrupt();
-            logs.add(logTime() + " [" + Thread.currentThread().getName() + "] INTERRUPTED while purchasing");
+            eventLog.log(LogAction.INTERRUPTED, "while purchasing");
             return null;
         }
     }
 
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return waiters.purchase();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return waiters.add(ticket);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> batch) {
+        // LinkedBlockingQueue has no bulk insert, and each ticket is counted as it becomes visible.
+        int count = 0;
+        try {
+            for (Ticket ticket : batch) {
+                if (!offerCounted(ticket)) {
+                    awaitSpace(ticket, -1);
+                }
+                count++;
+                eventLog.log(LogAction.ADDED, ticket);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            eventLog.log(LogAction.INTERRUPTED, "while adding");
+        }
+        return count;
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        List<Ticket> taken = new ArrayList<>(Math.min(max, capacity));
+        try {
+            if (queue.isEmpty()) {
+                eventLog.log(LogAction.WAIT, "Queue EMPTY");
+            }
+            taken.add(queue.take());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            eventLog.log(LogAction.INTERRUPTED, "while purchasing");
+            return 0;
+        }
+        queue.drainTo(taken, max - 1);
+        long valueCents = 0;
+        for (Ticket t : taken) {
+            valueCents += t.getPriceCents();
+            eventLog.log(LogAction.PURCHASED, t);
+        }
+        sink.addAll(taken);
+        recordPurchased(taken.size(), valueCents);
+        return taken.size();
+    }
+
     @Override
     public void performExclusiveUpdate() {
-        version.incrementAndGet();
-        logUpdate();
+        int v = recordUpdate();
+        eventLog.log(LogAction.UPDATE, v);
     }
 
     @Override
@@ -92,51 +224,163 @@ public class BlockingQueueTicketPool implements TicketPool {
     }
 
     @Override
-    public double getTotalRevenue() {
-        return totalRevenue.sum();
+    public int getTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public long getTotalRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return unsoldCents.sum();
     }
 
     @Override
-    public double getTotalUnsoldValue() {
-        return queue.stream().mapToDouble(Ticket::getPrice).sum();
+    public PoolSnapshot snapshot() {
+        return stats.read(() -> {
+            int a = added.get();
+            int p = purchased.get();
+            return new PoolSnapshot(a - p, capacity, a, p, version.get(), timeouts.get(),
+                    revenueCents.sum(), unsoldCents.sum());
+        });
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
     }
 
     @Override
     public String getPoolInfo() {
         return String.format(
-                "[BlockingQueue] Tickets left : %d/%d, Added: %d, Purchased: %d, Version: %d",
+                "[BlockingQueue] Tickets left : %d/%d, Added: %d, Purchased: %d, Version: %d, Timeouts: %d",
                 queue.size(), capacity,
-                added.get(), purchased.get(), version.get()
+                added.get(), purchased.get(), version.get(), timeouts.get()
         );
     }
 
     @Override
     public String getLogs() {
-        return String.join("\n", logs);
+        return eventLog.getLogs();
+    }
+
+    @Override
+    public LogBatch getLogsSince(long sequence, int max) {
+        return eventLog.getLogsSince(sequence, max);
+    }
+
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        eventLog.setAuditLog(auditLog);
+    }
+
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        eventLog.setPolicy(category, policy);
     }
 
     @Override
     public void logReaderMessage(String msg) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] " + msg);
+        eventLog.log(LogAction.MESSAGE, msg);
+    }
+
+    // For queued async callers: one attempt, logged like a purchase / add, and a miss is not a timeout.
+    private Ticket pollNow() {
+        Ticket t = queue.poll();
+        if (t != null) {
+            eventLog.log(LogAction.PURCHASED, t);
+            recordPurchased(1, t.getPriceCents());
+        }
+        return t;
+    }
+
+    private boolean offerNow(Ticket ticket) {
+        if (!offerCounted(ticket)) {
+            return false;
+        }
+        eventLog.log(LogAction.ADDED, ticket);
+        return true;
+    }
+
+    // Waits until the ticket is in, or nanos have elapsed (never, if negative); false on timeout.
+    // Registers as a waiter before retrying, so a purchase either sees it or the retry sees the space.
+    private boolean awaitSpace(Ticket ticket, long nanos) throws InterruptedException {
+        eventLog.log(LogAction.WAIT, "Queue FULL");
+        spaceLock.lock();
+        try {
+            spaceWaiters.incrementAndGet();
+            try {
+                while (!offerCounted(ticket)) {
+                    if (nanos < 0) {
+                        notFull.await();
+                    } else if (nanos == 0) {
+                        return false;
+                    } else {
+                        nanos = Math.max(0, notFull.awaitNanos(nanos));
+                    }
+                }
+                return true;
+            } finally {
+                spaceWaiters.decrementAndGet();
+            }
+        } finally {
+            spaceLock.unlock();
+        }
     }
 
-    // ─── Logging helpers ────────────────────────────────────────────────────────────
+    // ─── Statistics ─────────────────────────────────────────────────────────────────
+    // Every counter update goes through here, between the seqlock's begin and end.
 
-    private void logAction(String action, Ticket t) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] " + action + " " + t);
+    // The offer happens inside the write, so no buyer can take the ticket and record its
+    // purchase in a state a reader sees without this add.
+    private boolean offerCounted(Ticket ticket) {
+        stats.beginWrite();
+        boolean offered = queue.offer(ticket);
+        if (offered) {
+            added.incrementAndGet();
+            unsoldCents.add(ticket.getPriceCents());
+        }
+        stats.endWrite();
+        if (offered) {
+            subscriptions.changed();
+            waiters.changed();
+        }
+        return offered;
     }
 
-    private void logWait(String state) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] WAIT - Queue " + state);
+    private void recordPurchased(int count, long valueCents) {
+        stats.beginWrite();
+        purchased.addAndGet(count);
+        revenueCents.add(valueCents);
+        unsoldCents.add(-valueCents);
+        stats.endWrite();
+        if (spaceWaiters.get() > 0) {
+            spaceLock.lock();
+            try {
+                notFull.signalAll();
+            } finally {
+                spaceLock.unlock();
+            }
+        }
+        subscriptions.changed();
+        waiters.changed();
     }
 
-    private void logUpdate() {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() +
-                "] updated version to " + version.get());
+    private void recordTimeout() {
+        stats.beginWrite();
+        timeouts.incrementAndGet();
+        stats.endWrite();
+        subscriptions.changed();
     }
 
-    private String logTime() {
-        return LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+    private int recordUpdate() {
+        stats.beginWrite();
+        int v = version.incrementAndGet();
+        stats.endWrite();
+        subscriptions.changed();
+        return v;
     }
 }
@@ -0,0 +1,555 @@
+package org.concurrent.all.pool.impl;
+
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.EventLog;
+import org.concurrent.all.log.LogAction;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.PoolWaiters;
+import org.concurrent.all.pool.Subscription;
+import org.concurrent.all.pool.TicketPool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Inventory is partitioned by event name: each event has its own lock-free queue and counters,
+// so buyers of one event never contend with buyers of another. Blocked threads share a fixed
+// set of wait stripes rather than a lock per event.
+public class MultiEventTicketPool implements TicketPool {
+    private static final int WAIT_STRIPES = 64;
+
+    private final int capacity;
+    private final ConcurrentHashMap<String, EventInventory> events = new ConcurrentHashMap<>();
+    // Events that may have stock, in the order purchaseTicket() visits them. An event goes to
+    // the back after each sale and drops out once it is found empty.
+    private final Queue<EventInventory> stocked = new ConcurrentLinkedQueue<>();
+    // Slots reserved by producers; a slot is released when its ticket is purchased.
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger added = new AtomicInteger();
+    private final AtomicInteger purchased = new AtomicInteger();
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicInteger timeouts = new AtomicInteger();
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder unsoldCents = new LongAdder();
+    private final StatsSeqLock stats = new StatsSeqLock();
+    private final EventLog eventLog = new EventLog();
+    private final PoolSubscriptions subscriptions = new PoolSubscriptions(this::snapshot, this::logReaderMessage);
+    // Async purchases take from any event, like purchaseTicket().
+    private final PoolWaiters waiters = new PoolWaiters(this::takeAny, this::offerNow);
+
+    private final WaitStripe[] eventStripes = new WaitStripe[WAIT_STRIPES];
+    private final WaitStripe anyEvent = new WaitStripe();
+    private final WaitStripe notFull = new WaitStripe();
+
+    public MultiEventTicketPool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        for (int i = 0; i < WAIT_STRIPES; i++) {
+            eventStripes[i] = new WaitStripe();
+        }
+    }
+
+    @Override
+    public boolean addTicket(Ticket ticket) {
+        if (reserveSlots(1) == 0) {
+            try {
+                await(notFull, () -> reserveSlots(1) > 0 ? Boolean.TRUE : null, "Pool FULL");
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            }
+        }
+        enqueue(ticket);
+        return true;
+    }
+
+    @Override
+    public Ticket purchaseTicket() {
+        Ticket t = takeAny();
+        if (t == null) {
+            try {
+                t = await(anyEvent, this::takeAny, "Pool EMPTY");
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            }
+        }
+        return t;
+    }
+
+    public Ticket purchaseTicket(String event) {
+        Ticket t = take(event);
+        if (t == null) {
+            try {
+                t = await(stripeFor(event), () -> take(event), "Event " + event + " EMPTY");
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            }
+        }
+        return t;
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return tryAddTicket(ticket, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return tryPurchaseTicket(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) {
+        if (reserveSlots(1) == 0) {
+            try {
+                Boolean reserved = awaitNanos(notFull, () -> reserveSlots(1) > 0 ? Boolean.TRUE : null,
+                        "Pool FULL", unit.toNanos(timeout));
+                if (reserved == null) {
+                    timedOut(timeout, "while waiting to add");
+                    return false;
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            }
+        }
+        enqueue(ticket);
+        return true;
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) {
+        Ticket t = takeAny();
+        if (t == null) {
+            try {
+                t = awaitNanos(anyEvent, this::takeAny, "Pool EMPTY", unit.toNanos(timeout));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            }
+            if (t == null) {
+                timedOut(timeout, "while waiting to purchase");
+            }
+        }
+        return t;
+    }
+
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return waiters.purchase();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return waiters.add(ticket);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> batch) {
+        Iterator<Ticket> pending = batch.iterator();
+        int remaining = batch.size();
+        int count = 0;
+        while (remaining > 0 && pending.hasNext()) {
+            int wanted = remaining;
+            int slots = reserveSlots(wanted);
+            if (slots == 0) {
+                try {
+                    slots = await(notFull, () -> {
+                        int reserved = reserveSlots(wanted);
+                        return reserved > 0 ? reserved : null;
+                    }, "Pool FULL");
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                    return count;
+                }
+            }
+            for (int i = 0; i < slots; i++) {
+                enqueue(pending.next());
+            }
+            count += slots;
+            remaining -= slots;
+        }
+        return count;
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) {
+        return purchaseTickets(max, sink, anyEvent, this::takeAny);
+    }
+
+    public int purchaseTickets(String event, int max, Collection<? super Ticket> sink) {
+        return purchaseTickets(max, sink, stripeFor(event), () -> take(event));
+    }
+
+    @Override
+    public void performExclusiveUpdate() {
+        stats.beginWrite();
+        int v = version.incrementAndGet();
+        stats.endWrite();
+        subscriptions.changed();
+        eventLog.log(LogAction.UPDATE, v);
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        return size.get();
+    }
+
+    public int getAvailableTickets(String event) {
+        EventInventory inventory = events.get(event);
+        return inventory == null ? 0 : Math.max(0, inventory.available.get());
+    }
+
+    @Override
+    public int getAddedTickets() {
+        return added.get();
+    }
+
+    public int getAddedTickets(String event) {
+        EventInventory inventory = events.get(event);
+        return inventory == null ? 0 : inventory.added.get();
+    }
+
+    @Override
+    public int getPurchasedTickets() {
+        return purchased.get();
+    }
+
+    public int getPurchasedTickets(String event) {
+        EventInventory inventory = events.get(event);
+        return inventory == null ? 0 : inventory.purchased.get();
+    }
+
+    @Override
+    public int getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public int getTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public long getTotalRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    public long getTotalRevenueCents(String event) {
+        EventInventory inventory = events.get(event);
+        return inventory == null ? 0 : inventory.revenueCents.sum();
+    }
+
+    public double getTotalRevenue(String event) {
+        return getTotalRevenueCents(event) / 100.0;
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return unsoldCents.sum();
+    }
+
+    public Set<String> getEventNames() {
+        return events.keySet();
+    }
+
+    // Tickets reserved by an add in progress are not counted as available until it is queued.
+    @Override
+    public PoolSnapshot snapshot() {
+        return stats.read(() -> {
+            int a = added.get();
+            int p = purchased.get();
+            return new PoolSnapshot(a - p, capacity, a, p, version.get(), timeouts.get(),
+                    revenueCents.sum(), unsoldCents.sum());
+        });
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
+    }
+
+    @Override
+    public String getPoolInfo() {
+        return String.format(
+                "[MultiEvent] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d, Events: %d, Timeouts: %d",
+                size.get(), capacity, added.get(), purchased.get(), version.get(), events.size(), timeouts.get()
+        );
+    }
+
+    @Override
+    public String getLogs() {
+        return eventLog.getLogs();
+    }
+
+    @Override
+    public LogBatch getLogsSince(long sequence, int max) {
+        return eventLog.getLogsSince(sequence, max);
+    }
+
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        eventLog.setAuditLog(auditLog);
+    }
+
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        eventLog.setPolicy(category, policy);
+    }
+
+    @Override
+    public void logReaderMessage(String msg) {
+        eventLog.log(LogAction.MESSAGE, msg);
+    }
+
+    // ─── Inventory ──────────────────────────────────────────────────────────────────
+
+    private int reserveSlots(int wanted) {
+        while (true) {
+            int current = size.get();
+            int free = capacity - current;
+            if (free <= 0) {
+                return 0;
+            }
+            int slots = Math.min(wanted, free);
+            if (size.compareAndSet(current, current + slots)) {
+                return slots;
+            }
+        }
+    }
+
+    private void enqueue(Ticket ticket) {
+        EventInventory inventory = events.computeIfAbsent(ticket.getEventName(), name -> new EventInventory());
+        // Published inside the write, so no buyer can take the ticket and record its purchase
+        // in a state a reader sees without this add.
+        stats.beginWrite();
+        inventory.tickets.add(ticket);
+        added.incrementAndGet();
+        unsoldCents.add(ticket.getPriceCents());
+        stats.endWrite();
+        inventory.available.incrementAndGet();
+        inventory.added.incrementAndGet();
+        if (inventory.listed.compareAndSet(false, true)) {
+            stocked.add(inventory);
+        }
+        subscriptions.changed();
+        eventLog.log(LogAction.ADDED, ticket);
+        stripeFor(ticket.getEventName()).signalAll();
+        anyEvent.signal();
+        waiters.changed();
+    }
+
+    // A queued async add: one attempt, and a full pool is not a timeout.
+    private boolean offerNow(Ticket ticket) {
+        if (reserveSlots(1) == 0) {
+            return false;
+        }
+        enqueue(ticket);
+        return true;
+    }
+
+    private Ticket take(String event) {
+        EventInventory inventory = events.get(event);
+        return inventory == null ? null : take(inventory);
+    }
+
+    // Round robin over the stocked events, so no event starves the ones behind it. While one
+    // caller has an event out of the queue another can miss its stock; the event is signalled
+    // when it goes back, so a waiting buyer retries.
+    private Ticket takeAny() {
+        EventInventory inventory;
+        while ((inventory = stocked.poll()) != null) {
+            Ticket t = take(inventory);
+            if (t != null) {
+                stocked.add(inventory);
+                if (!inventory.tickets.isEmpty()) {
+                    anyEvent.signal();
+                }
+                return t;
+            }
+            inventory.listed.set(false);
+            // An add that saw the flag still set did not list the event again, and the waiter
+            // its signal woke may already have found the queue empty: wake one again.
+            if (!inventory.tickets.isEmpty() && inventory.listed.compareAndSet(false, true)) {
+                stocked.add(inventory);
+                anyEvent.signal();
+            }
+        }
+        return null;
+    }
+
+    private Ticket take(EventInventory inventory) {
+        Ticket t = inventory.tickets.poll();
+        if (t == null) {
+            return null;
+        }
+        inventory.available.decrementAndGet();
+        inventory.purchased.incrementAndGet();
+        inventory.revenueCents.add(t.getPriceCents());
+        stats.beginWrite();
+        purchased.incrementAndGet();
+        revenueCents.add(t.getPriceCents());
+        unsoldCents.add(-t.getPriceCents());
+        stats.endWrite();
+        subscriptions.changed();
+        size.decrementAndGet();
+        eventLog.log(LogAction.PURCHASED, t);
+        notFull.signal();
+        waiters.changed();
+        return t;
+    }
+
+    private int purchaseTickets(int max, Collection<? super Ticket> sink, WaitStripe stripe, Supplier<Ticket> taker) {
+        if (max <= 0) {
+            return 0;
+        }
+        List<Ticket> taken = new ArrayList<>(Math.min(max, capacity));
+        Ticket t = taker.get();
+        if (t == null) {
+            try {
+                t = await(stripe, taker, "Pool EMPTY");
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return 0;
+            }
+        }
+        taken.add(t);
+        while (taken.size() < max && (t = taker.get()) != null) {
+            taken.add(t);
+        }
+        sink.addAll(taken);
+        return taken.size();
+    }
+
+    private WaitStripe stripeFor(String event) {
+        return eventStripes[(event.hashCode() & 0x7fffffff) % WAIT_STRIPES];
+    }
+
+    // Registers as a waiter before re-trying, so a producer or consumer that changes the
+    // state concurrently either sees the waiter or the retry sees its change.
+    private <T> T await(WaitStripe stripe, Supplier<T> attempt, String state) throws InterruptedException {
+        stripe.lock.lock();
+        try {
+            stripe.waiting.incrementAndGet();
+            try {
+                T result;
+                while ((result = attempt.get()) == null) {
+                    eventLog.log(LogAction.WAIT, state);
+                    stripe.condition.await();
+                }
+                return result;
+            } finally {
+                stripe.waiting.decrementAndGet();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // As await, but gives up and returns null once nanos have elapsed.
+    private <T> T awaitNanos(WaitStripe stripe, Supplier<T> attempt, String state, long nanos)
+            throws InterruptedException {
+        if (nanos <= 0) {
+            return attempt.get();
+        }
+        stripe.lock.lock();
+        try {
+            stripe.waiting.incrementAndGet();
+            try {
+                T result;
+                while ((result = attempt.get()) == null) {
+                    if (nanos <= 0) {
+                        return null;
+                    }
+                    eventLog.log(LogAction.WAIT, state);
+                    nanos = stripe.condition.awaitNanos(nanos);
+                }
+                return result;
+            } finally {
+                stripe.waiting.decrementAndGet();
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void timedOut(long timeout, String what) {
+        // A zero-timeout try is a poll, not a wait that ran out.
+        if (timeout <= 0) {
+            return;
+        }
+        stats.beginWrite();
+        timeouts.incrementAndGet();
+        stats.endWrite();
+        subscriptions.changed();
+        eventLog.log(LogAction.TIMEOUT, what);
+    }
+
+    private static final class EventInventory {
+        private final Queue<Ticket> tickets = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean listed = new AtomicBoolean();
+        private final AtomicInteger available = new AtomicInteger();
+        private final AtomicInteger added = new AtomicInteger();
+        private final AtomicInteger purchased = new AtomicInteger();
+        private final LongAdder revenueCents = new LongAdder();
+    }
+
+    private static final class WaitStripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition condition = lock.newCondition();
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        void signal() {
+            if (waiting.get() > 0) {
+                lock.lock();
+                try {
+                    condition.signal();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        void signalAll() {
+            if (waiting.get() > 0) {
+                lock.lock();
+                try {
+                    condition.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
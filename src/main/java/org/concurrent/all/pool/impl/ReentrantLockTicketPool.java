@@ -1,12 +1,24 @@
 package org.concurrent.all.pool.impl;
 
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.EventLog;
+import org.concurrent.all.log.LogAction;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
 import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.PoolWaiters;
+import org.concurrent.all.pool.Subscription;
 import org.concurrent.all.pool.TicketPool;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -20,12 +32,16 @@ public class ReentrantLockTicketPool implements TicketPool {
     private final Condition notFull = writeLock.newCondition();
     private final Condition notEmpty = writeLock.newCondition();
 
-    private final List<String> logs = new ArrayList<>();
+    private final EventLog eventLog = new EventLog();
+    private final PoolSubscriptions subscriptions = new PoolSubscriptions(this::snapshot, this::logReaderMessage);
+    private final PoolWaiters waiters = new PoolWaiters(this::pollNow, this::offerNow);
     private int added = 0;
     private int purchased = 0;
     private int version = 0;
-    private double totalRevenue = 0.0;
-    private double totalAdded = 0.0;
+    private int timeouts = 0;
+    // Written under the write lock, read without any lock.
+    private volatile long revenueCents = 0;
+    private volatile long unsoldCents = 0;
 
     public ReentrantLockTicketPool(int capacity) {
         this.capacity = capacity;
@@ -36,21 +52,28 @@ public class ReentrantLockTicketPool implements TicketPool {
     public boolean addTicket(Ticket ticket) {
         writeLock.lock();
         try {
+            // Logged once per wait, not on every wakeup: signalAll() wakes every waiter.
+            boolean waitLogged = false;
             while (tickets.size() >= capacity) {
-                logWait("FULL");
+                if (!waitLogged) {
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    waitLogged = true;
+                }
                 try {
                     notFull.await();
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    logs.add(logTime() + " [" + Thread.currentThread().getName() + "] INTERRUPTED while waiting to add");
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
                     return false;
                 }
             }
             tickets.add(ticket);
             added++;
-            totalAdded += ticket.getPrice();
-            logAction("Added", ticket);
+            unsoldCents += ticket.getPriceCents();
+            eventLog.log(LogAction.ADDED, ticket);
             notEmpty.signal();
+            subscriptions.changed();
+            waiters.changed();
             return true;
         } finally {
             writeLock.unlock();
@@ -61,33 +84,227 @@ public class ReentrantLockTicketPool implements TicketPool {
     public Ticket purchaseTicket() {
         writeLock.lock();
         try {
+            boolean waitLogged = false;
             while (tickets.isEmpty()) {
-                logWait("EMPTY");
+                if (!waitLogged) {
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    waitLogged = true;
+                }
                 try {
                     notEmpty.await();
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    logs.add(logTime() + " [" + Thread.currentThread().getName() + "] INTERRUPTED while waiting to purchase");
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                    return null;
+                }
+            }
+            Ticket t = tickets.remove(0);
+            purchased++;
+            revenueCents += t.getPriceCents();
+            unsoldCents -= t.getPriceCents();
+            eventLog.log(LogAction.PURCHASED, t);
+            notFull.signal();
+            subscriptions.changed();
+            waiters.changed();
+            return t;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return tryAddTicket(ticket, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return tryPurchaseTicket(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        writeLock.lock();
+        try {
+            boolean waitLogged = false;
+            while (tickets.size() >= capacity) {
+                if (nanos <= 0) {
+                    if (timeout > 0) {
+                        timeouts++;
+                        subscriptions.changed();
+                        eventLog.log(LogAction.TIMEOUT, "while waiting to add");
+                    }
+                    return false;
+                }
+                if (!waitLogged) {
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    waitLogged = true;
+                }
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                    return false;
+                }
+            }
+            tickets.add(ticket);
+            added++;
+            unsoldCents += ticket.getPriceCents();
+            eventLog.log(LogAction.ADDED, ticket);
+            notEmpty.signal();
+            subscriptions.changed();
+            waiters.changed();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        writeLock.lock();
+        try {
+            boolean waitLogged = false;
+            while (tickets.isEmpty()) {
+                if (nanos <= 0) {
+                    if (timeout > 0) {
+                        timeouts++;
+                        subscriptions.changed();
+                        eventLog.log(LogAction.TIMEOUT, "while waiting to purchase");
+                    }
+                    return null;
+                }
+                if (!waitLogged) {
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    waitLogged = true;
+                }
+                try {
+                    nanos = notEmpty.awaitNanos(nanos);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
                     return null;
                 }
             }
             Ticket t = tickets.remove(0);
             purchased++;
-            totalRevenue += t.getPrice();
-            logAction("Purchased", t);
+            revenueCents += t.getPriceCents();
+            unsoldCents -= t.getPriceCents();
+            eventLog.log(LogAction.PURCHASED, t);
             notFull.signal();
+            subscriptions.changed();
+            waiters.changed();
             return t;
         } finally {
             writeLock.unlock();
         }
     }
 
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return waiters.purchase();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return waiters.add(ticket);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> batch) {
+        writeLock.lock();
+        try {
+            int count = 0;
+            int signalled = 0;
+            for (Ticket ticket : batch) {
+                boolean waitLogged = false;
+                while (tickets.size() >= capacity) {
+                    // Let consumers drain what this batch has added so far before waiting.
+                    if (count > signalled) {
+                        notEmpty.signalAll();
+                        subscriptions.changed();
+                        waiters.changed();
+                        signalled = count;
+                    }
+                    if (!waitLogged) {
+                        eventLog.log(LogAction.WAIT, "Pool FULL");
+                        waitLogged = true;
+                    }
+                    try {
+                        notFull.await();
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                        return count;
+                    }
+                }
+                tickets.add(ticket);
+                added++;
+                unsoldCents += ticket.getPriceCents();
+                eventLog.log(LogAction.ADDED, ticket);
+                count++;
+            }
+            if (count > signalled) {
+                notEmpty.signalAll();
+                subscriptions.changed();
+                waiters.changed();
+            }
+            return count;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        writeLock.lock();
+        try {
+            boolean waitLogged = false;
+            while (tickets.isEmpty()) {
+                if (!waitLogged) {
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    waitLogged = true;
+                }
+                try {
+                    notEmpty.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                    return 0;
+                }
+            }
+            List<Ticket> taken = tickets.subList(0, Math.min(max, tickets.size()));
+            int count = taken.size();
+            for (Ticket t : taken) {
+                sink.add(t);
+                purchased++;
+                revenueCents += t.getPriceCents();
+                unsoldCents -= t.getPriceCents();
+                eventLog.log(LogAction.PURCHASED, t);
+            }
+            taken.clear();
+            notFull.signalAll();
+            subscriptions.changed();
+            waiters.changed();
+            return count;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public void performExclusiveUpdate() {
         writeLock.lock();
         try {
             version++;
-            logUpdate();
+            subscriptions.changed();
+            eventLog.log(LogAction.UPDATE, version);
         } finally {
             writeLock.unlock();
         }
@@ -134,32 +351,48 @@ public class ReentrantLockTicketPool implements TicketPool {
     }
 
     @Override
-    public double getTotalRevenue() {
+    public int getTimeouts() {
         readLock.lock();
         try {
-            return totalRevenue;
+            return timeouts;
         } finally {
             readLock.unlock();
         }
     }
 
     @Override
-    public double getTotalUnsoldValue() {
+    public long getTotalRevenueCents() {
+        return revenueCents;
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return unsoldCents;
+    }
+
+    @Override
+    public PoolSnapshot snapshot() {
         readLock.lock();
         try {
-            return tickets.stream().mapToDouble(Ticket::getPrice).sum();
+            return new PoolSnapshot(tickets.size(), capacity, added, purchased, version, timeouts,
+                    revenueCents, unsoldCents);
         } finally {
             readLock.unlock();
         }
     }
 
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
+    }
+
     @Override
     public String getPoolInfo() {
         readLock.lock();
         try {
             return String.format(
-                    "[ReentrantLock] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d",
-                    tickets.size(), capacity, added, purchased, version
+                    "[ReentrantLock] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d, Timeouts: %d",
+                    tickets.size(), capacity, added, purchased, version, timeouts
             );
         } finally {
             readLock.unlock();
@@ -168,39 +401,64 @@ public class ReentrantLockTicketPool implements TicketPool {
 
     @Override
     public String getLogs() {
-        readLock.lock();
-        try {
-            return String.join("\n", logs);
-        } finally {
-            readLock.unlock();
-        }
+        return eventLog.getLogs();
     }
 
     @Override
-    public void logReaderMessage(String msg) {
-        writeLock.lock();
-        try {
-            logs.add(logTime() + " [" + Thread.currentThread().getName() + "] " + msg);
-        } finally {
-            writeLock.unlock();
-        }
+    public LogBatch getLogsSince(long sequence, int max) {
+        return eventLog.getLogsSince(sequence, max);
     }
 
-    // ─── Logging helpers ────────────────────────────────────────────────────────────
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        eventLog.setAuditLog(auditLog);
+    }
 
-    private void logWait(String state) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] WAIT - Pool " + state);
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        eventLog.setPolicy(category, policy);
     }
 
-    private void logAction(String action, Ticket t) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] " + action + " " + t);
+    @Override
+    public void logReaderMessage(String msg) {
+        eventLog.log(LogAction.MESSAGE, msg);
     }
 
-    private void logUpdate() {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] updated version to " + version);
+    // One attempt for a queued async caller, which just waits on if it misses.
+    private Ticket pollNow() {
+        writeLock.lock();
+        try {
+            if (tickets.isEmpty()) {
+                return null;
+            }
+            Ticket t = tickets.remove(0);
+            purchased++;
+            revenueCents += t.getPriceCents();
+            unsoldCents -= t.getPriceCents();
+            eventLog.log(LogAction.PURCHASED, t);
+            notFull.signal();
+            subscriptions.changed();
+            return t;
+        } finally {
+            writeLock.unlock();
+        }
     }
 
-    private String logTime() {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+    private boolean offerNow(Ticket ticket) {
+        writeLock.lock();
+        try {
+            if (tickets.size() >= capacity) {
+                return false;
+            }
+            tickets.add(ticket);
+            added++;
+            unsoldCents += ticket.getPriceCents();
+            eventLog.log(LogAction.ADDED, ticket);
+            notEmpty.signal();
+            subscriptions.changed();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
     }
 }
@@ -0,0 +1,520 @@
+package org.concurrent.all.pool.impl;
+
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.EventLog;
+import org.concurrent.all.log.LogAction;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.PoolWaiters;
+import org.concurrent.all.pool.Subscription;
+import org.concurrent.all.pool.TicketPool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class RingBufferTicketPool implements TicketPool {
+    private static final int SPIN_TRIES = 64;
+    private static final int YIELD_TRIES = 128;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private final int capacity;
+    private final int mask;
+    private final Ticket[] slots;
+    // Per-slot sequence: equals the cursor value when the slot is free for that producer,
+    // cursor + 1 once the ticket is published and ready for the matching consumer.
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicInteger added = new AtomicInteger();
+    private final AtomicInteger purchased = new AtomicInteger();
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicInteger timeouts = new AtomicInteger();
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder unsoldCents = new LongAdder();
+
+    private final StatsSeqLock stats = new StatsSeqLock();
+    private final EventLog eventLog = new EventLog();
+    private final PoolSubscriptions subscriptions = new PoolSubscriptions(this::snapshot, this::logReaderMessage);
+    private final PoolWaiters waiters = new PoolWaiters(this::pollNow, this::offerNow);
+
+    public RingBufferTicketPool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = capacity;
+        this.mask = size - 1;
+        this.slots = new Ticket[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public boolean addTicket(Ticket ticket) {
+        int attempt = 0;
+        while (!offerCounted(ticket)) {
+            if (attempt == 0) {
+                eventLog.log(LogAction.WAIT, "Pool FULL");
+            }
+            if (!backoff(attempt++)) {
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            }
+        }
+        eventLog.log(LogAction.ADDED, ticket);
+        return true;
+    }
+
+    @Override
+    public Ticket purchaseTicket() {
+        int attempt = 0;
+        Ticket t;
+        while ((t = poll()) == null) {
+            if (attempt == 0) {
+                eventLog.log(LogAction.WAIT, "Pool EMPTY");
+            }
+            if (!backoff(attempt++)) {
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            }
+        }
+        eventLog.log(LogAction.PURCHASED, t);
+        recordPurchased(1, t.getPriceCents());
+        return t;
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return tryAddTicket(ticket, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return tryPurchaseTicket(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        while (!offerCounted(ticket)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                if (timeout > 0) {
+                    recordTimeout();
+                    eventLog.log(LogAction.TIMEOUT, "while waiting to add");
+                }
+                return false;
+            }
+            if (attempt == 0) {
+                eventLog.log(LogAction.WAIT, "Pool FULL");
+            }
+            if (!backoff(attempt++, remaining)) {
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            }
+        }
+        eventLog.log(LogAction.ADDED, ticket);
+        return true;
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int attempt = 0;
+        Ticket t;
+        while ((t = poll()) == null) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                if (timeout > 0) {
+                    recordTimeout();
+                    eventLog.log(LogAction.TIMEOUT, "while waiting to purchase");
+                }
+                return null;
+            }
+            if (attempt == 0) {
+                eventLog.log(LogAction.WAIT, "Pool EMPTY");
+            }
+            if (!backoff(attempt++, remaining)) {
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            }
+        }
+        eventLog.log(LogAction.PURCHASED, t);
+        recordPurchased(1, t.getPriceCents());
+        return t;
+    }
+
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return waiters.purchase();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return waiters.add(ticket);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> batch) {
+        Ticket[] pending = batch.toArray(new Ticket[0]);
+        int count = 0;
+        int attempt = 0;
+        while (count < pending.length) {
+            int claimed = offerBatchCounted(pending, count);
+            if (claimed == 0) {
+                if (attempt == 0) {
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                }
+                if (!backoff(attempt++)) {
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                    break;
+                }
+                continue;
+            }
+            for (int i = count; i < count + claimed; i++) {
+                eventLog.log(LogAction.ADDED, pending[i]);
+            }
+            count += claimed;
+            attempt = 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        List<Ticket> taken = new ArrayList<>(Math.min(max, capacity));
+        int attempt = 0;
+        while (pollBatch(max, taken) == 0) {
+            if (attempt == 0) {
+                eventLog.log(LogAction.WAIT, "Pool EMPTY");
+            }
+            if (!backoff(attempt++)) {
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return 0;
+            }
+        }
+        long valueCents = 0;
+        for (Ticket t : taken) {
+            valueCents += t.getPriceCents();
+            eventLog.log(LogAction.PURCHASED, t);
+        }
+        sink.addAll(taken);
+        recordPurchased(taken.size(), valueCents);
+        return taken.size();
+    }
+
+    @Override
+    public void performExclusiveUpdate() {
+        int v = recordUpdate();
+        eventLog.log(LogAction.UPDATE, v);
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public int getAddedTickets() {
+        return added.get();
+    }
+
+    @Override
+    public int getPurchasedTickets() {
+        return purchased.get();
+    }
+
+    @Override
+    public int getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public int getTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public long getTotalRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return unsoldCents.sum();
+    }
+
+    @Override
+    public PoolSnapshot snapshot() {
+        return stats.read(() -> {
+            int a = added.get();
+            int p = purchased.get();
+            return new PoolSnapshot(a - p, capacity, a, p, version.get(), timeouts.get(),
+                    revenueCents.sum(), unsoldCents.sum());
+        });
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
+    }
+
+    @Override
+    public String getPoolInfo() {
+        return String.format(
+                "[RingBuffer] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d, Timeouts: %d",
+                getAvailableTickets(), capacity,
+                added.get(), purchased.get(), version.get(), timeouts.get()
+        );
+    }
+
+    @Override
+    public String getLogs() {
+        return eventLog.getLogs();
+    }
+
+    @Override
+    public LogBatch getLogsSince(long sequence, int max) {
+        return eventLog.getLogsSince(sequence, max);
+    }
+
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        eventLog.setAuditLog(auditLog);
+    }
+
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        eventLog.setPolicy(category, policy);
+    }
+
+    @Override
+    public void logReaderMessage(String msg) {
+        eventLog.log(LogAction.MESSAGE, msg);
+    }
+
+    // For queued async callers: one attempt, logged like a purchase / add, and a miss is not a timeout.
+    private Ticket pollNow() {
+        Ticket t = poll();
+        if (t != null) {
+            eventLog.log(LogAction.PURCHASED, t);
+            recordPurchased(1, t.getPriceCents());
+        }
+        return t;
+    }
+
+    private boolean offerNow(Ticket ticket) {
+        if (!offerCounted(ticket)) {
+            return false;
+        }
+        eventLog.log(LogAction.ADDED, ticket);
+        return true;
+    }
+
+    // ─── Statistics ─────────────────────────────────────────────────────────────────
+    // Every counter update goes through here, between the seqlock's begin and end.
+
+    // The tickets are published inside the write, so no buyer can take one and record its
+    // purchase in a state a reader sees without the add.
+    private boolean offerCounted(Ticket ticket) {
+        stats.beginWrite();
+        boolean offered = offer(ticket);
+        if (offered) {
+            added.incrementAndGet();
+            unsoldCents.add(ticket.getPriceCents());
+        }
+        stats.endWrite();
+        if (offered) {
+            subscriptions.changed();
+            waiters.changed();
+        }
+        return offered;
+    }
+
+    private int offerBatchCounted(Ticket[] pending, int from) {
+        stats.beginWrite();
+        int claimed = offerBatch(pending, from);
+        long valueCents = 0;
+        for (int i = from; i < from + claimed; i++) {
+            valueCents += pending[i].getPriceCents();
+        }
+        added.addAndGet(claimed);
+        unsoldCents.add(valueCents);
+        stats.endWrite();
+        if (claimed > 0) {
+            subscriptions.changed();
+            waiters.changed();
+        }
+        return claimed;
+    }
+
+    private void recordPurchased(int count, long valueCents) {
+        stats.beginWrite();
+        purchased.addAndGet(count);
+        revenueCents.add(valueCents);
+        unsoldCents.add(-valueCents);
+        stats.endWrite();
+        subscriptions.changed();
+        waiters.changed();
+    }
+
+    private void recordTimeout() {
+        stats.beginWrite();
+        timeouts.incrementAndGet();
+        stats.endWrite();
+        subscriptions.changed();
+    }
+
+    private int recordUpdate() {
+        stats.beginWrite();
+        int v = version.incrementAndGet();
+        stats.endWrite();
+        subscriptions.changed();
+        return v;
+    }
+
+    // ─── Ring buffer ────────────────────────────────────────────────────────────────
+
+    private boolean offer(Ticket ticket) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - pos;
+            if (diff == 0) {
+                // The array is rounded up to a power of two, so the logical capacity is
+                // enforced against the consumer cursor rather than by slot availability.
+                if (pos - head.get() >= capacity) {
+                    return false;
+                }
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = ticket;
+                    sequences.setRelease(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    private Ticket poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.getAcquire(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Ticket t = slots[index];
+                    slots[index] = null;
+                    sequences.setRelease(index, pos + mask + 1);
+                    return t;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    // Claims a run of consecutive free slots with a single CAS on the tail cursor.
+    private int offerBatch(Ticket[] pending, int from) {
+        while (true) {
+            long pos = tail.get();
+            long free = capacity - (pos - head.get());
+            int wanted = (int) Math.min(pending.length - from, free);
+            if (wanted <= 0) {
+                return 0;
+            }
+            long diff = sequences.getAcquire((int) (pos & mask)) - pos;
+            if (diff < 0) {
+                return 0;
+            } else if (diff > 0) {
+                continue;
+            }
+            int run = 1;
+            while (run < wanted && sequences.getAcquire((int) ((pos + run) & mask)) == pos + run) {
+                run++;
+            }
+            if (tail.compareAndSet(pos, pos + run)) {
+                for (int i = 0; i < run; i++) {
+                    int index = (int) ((pos + i) & mask);
+                    slots[index] = pending[from + i];
+                    sequences.setRelease(index, pos + i + 1);
+                }
+                return run;
+            }
+        }
+    }
+
+    // Claims a run of consecutive published slots with a single CAS on the head cursor.
+    private int pollBatch(int max, List<Ticket> taken) {
+        while (true) {
+            long pos = head.get();
+            long diff = sequences.getAcquire((int) (pos & mask)) - (pos + 1);
+            if (diff < 0) {
+                return 0;
+            } else if (diff > 0) {
+                continue;
+            }
+            int run = 1;
+            while (run < max && sequences.getAcquire((int) ((pos + run) & mask)) == pos + run + 1) {
+                run++;
+            }
+            if (head.compareAndSet(pos, pos + run)) {
+                for (int i = 0; i < run; i++) {
+                    int index = (int) ((pos + i) & mask);
+                    taken.add(slots[index]);
+                    slots[index] = null;
+                    sequences.setRelease(index, pos + i + mask + 1);
+                }
+                return run;
+            }
+        }
+    }
+
+    private boolean backoff(int attempt) {
+        return backoff(attempt, MAX_PARK_NANOS);
+    }
+
+    // Spin, then yield, then park with exponential backoff; returns false if interrupted.
+    private boolean backoff(int attempt, long maxParkNanos) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(attempt - SPIN_TRIES - YIELD_TRIES, 10);
+            LockSupport.parkNanos(Math.min(1_000L << shift, Math.min(maxParkNanos, MAX_PARK_NANOS)));
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+}
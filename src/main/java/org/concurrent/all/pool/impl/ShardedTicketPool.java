@@ -0,0 +1,612 @@
+package org.concurrent.all.pool.impl;
+
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.EventLog;
+import org.concurrent.all.log.LogAction;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.PoolWaiters;
+import org.concurrent.all.pool.Subscription;
+import org.concurrent.all.pool.TicketPool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ShardedTicketPool implements TicketPool {
+    private final Shard[] shards;
+    private final int capacity;
+    private final AtomicInteger version = new AtomicInteger();
+    private final AtomicInteger timeouts = new AtomicInteger();
+    private final EventLog eventLog = new EventLog();
+    private final PoolSubscriptions subscriptions = new PoolSubscriptions(this::snapshot, this::logReaderMessage);
+    private final PoolWaiters waiters = new PoolWaiters(this::pollNow, this::offerNow);
+    // Pool-wide so the value getters never have to lock every shard.
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder unsoldCents = new LongAdder();
+
+    // Only threads that found every shard full/empty touch this lock.
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition notFull = waitLock.newCondition();
+    private final Condition notEmpty = waitLock.newCondition();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+    public ShardedTicketPool(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedTicketPool(int capacity, int shardCount) {
+        if (capacity <= 0 || shardCount <= 0) {
+            throw new IllegalArgumentException("Capacity and shard count must be positive");
+        }
+        int count = Math.min(capacity, shardCount);
+        this.capacity = capacity;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+    }
+
+    @Override
+    public boolean addTicket(Ticket ticket) {
+        while (!offer(ticket)) {
+            waitLock.lock();
+            try {
+                waitingProducers.incrementAndGet();
+                try {
+                    // Re-check after announcing ourselves so a concurrent purchase cannot be missed.
+                    if (offer(ticket)) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    notFull.await();
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalConsumers(1);
+        return true;
+    }
+
+    @Override
+    public Ticket purchaseTicket() {
+        Ticket t;
+        while ((t = poll()) == null) {
+            waitLock.lock();
+            try {
+                waitingConsumers.incrementAndGet();
+                try {
+                    if ((t = poll()) != null) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    notEmpty.await();
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalProducers(1);
+        return t;
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return tryAddTicket(ticket, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return tryPurchaseTicket(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        while (!offer(ticket)) {
+            if (nanos <= 0) {
+                if (timeout > 0) {
+                    timeouts.incrementAndGet();
+                    subscriptions.changed();
+                    eventLog.log(LogAction.TIMEOUT, "while waiting to add");
+                }
+                return false;
+            }
+            waitLock.lock();
+            try {
+                waitingProducers.incrementAndGet();
+                try {
+                    if (offer(ticket)) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    nanos = notFull.awaitNanos(nanos);
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalConsumers(1);
+        return true;
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        Ticket t;
+        while ((t = poll()) == null) {
+            if (nanos <= 0) {
+                if (timeout > 0) {
+                    timeouts.incrementAndGet();
+                    subscriptions.changed();
+                    eventLog.log(LogAction.TIMEOUT, "while waiting to purchase");
+                }
+                return null;
+            }
+            waitLock.lock();
+            try {
+                waitingConsumers.incrementAndGet();
+                try {
+                    if ((t = poll()) != null) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    nanos = notEmpty.awaitNanos(nanos);
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalProducers(1);
+        return t;
+    }
+
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return waiters.purchase();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return waiters.add(ticket);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> batch) {
+        Iterator<Ticket> pending = batch.iterator();
+        int count = 0;
+        while (pending.hasNext()) {
+            int added = offerAll(pending);
+            if (added > 0) {
+                count += added;
+                signalConsumers(added);
+                continue;
+            }
+            waitLock.lock();
+            try {
+                waitingProducers.incrementAndGet();
+                try {
+                    added = offerAll(pending);
+                    if (added > 0) {
+                        count += added;
+                        signalConsumers(added);
+                        continue;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    notFull.await();
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return count;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        List<Ticket> taken = new ArrayList<>(Math.min(max, capacity));
+        while (pollAll(max, taken) == 0) {
+            waitLock.lock();
+            try {
+                waitingConsumers.incrementAndGet();
+                try {
+                    if (pollAll(max, taken) > 0) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    notEmpty.await();
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return 0;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        sink.addAll(taken);
+        signalProducers(taken.size());
+        return taken.size();
+    }
+
+    @Override
+    public void performExclusiveUpdate() {
+        int v = version.incrementAndGet();
+        eventLog.log(LogAction.UPDATE, v);
+        subscriptions.changed();
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        int total = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                total += shard.tickets.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getAddedTickets() {
+        int total = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                total += shard.added;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getPurchasedTickets() {
+        int total = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                total += shard.purchased;
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public int getTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public long getTotalRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return unsoldCents.sum();
+    }
+
+    @Override
+    public PoolSnapshot snapshot() {
+        int available = 0;
+        int added = 0;
+        int purchased = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+        }
+        try {
+            for (Shard shard : shards) {
+                available += shard.tickets.size();
+                added += shard.added;
+                purchased += shard.purchased;
+            }
+            // The value adders only change under a shard lock, so they are stable here too.
+            return new PoolSnapshot(available, capacity, added, purchased, version.get(), timeouts.get(),
+                    revenueCents.sum(), unsoldCents.sum());
+        } finally {
+            for (Shard shard : shards) {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
+    }
+
+    @Override
+    public String getPoolInfo() {
+        // Hold every shard lock (always in index order) so the totals are mutually consistent.
+        int available = 0;
+        int added = 0;
+        int purchased = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+        }
+        try {
+            for (Shard shard : shards) {
+                available += shard.tickets.size();
+                added += shard.added;
+                purchased += shard.purchased;
+            }
+        } finally {
+            for (Shard shard : shards) {
+                shard.lock.unlock();
+            }
+        }
+        return String.format(
+                "[Sharded] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d, Shards: %d, Timeouts: %d",
+                available, capacity, added, purchased, version.get(), shards.length, timeouts.get()
+        );
+    }
+
+    @Override
+    public String getLogs() {
+        return eventLog.getLogs();
+    }
+
+    @Override
+    public LogBatch getLogsSince(long sequence, int max) {
+        return eventLog.getLogsSince(sequence, max);
+    }
+
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        eventLog.setAuditLog(auditLog);
+    }
+
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        eventLog.setPolicy(category, policy);
+    }
+
+    @Override
+    public void logReaderMessage(String msg) {
+        eventLog.log(LogAction.MESSAGE, msg);
+    }
+
+    // ─── Shards ─────────────────────────────────────────────────────────────────────
+
+    private int homeShard() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(id ^ (id >>> 32), (long) shards.length);
+    }
+
+    // Home shard first, then the others in order.
+    private boolean offer(Ticket ticket) {
+        int home = homeShard();
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[(home + i) % shards.length].offer(ticket)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Ticket poll() {
+        int home = homeShard();
+        for (int i = 0; i < shards.length; i++) {
+            Ticket t = shards[(home + i) % shards.length].poll();
+            if (t != null) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    private int offerAll(Iterator<Ticket> pending) {
+        int home = homeShard();
+        int added = 0;
+        for (int i = 0; i < shards.length && pending.hasNext(); i++) {
+            added += shards[(home + i) % shards.length].offerAll(pending);
+        }
+        return added;
+    }
+
+    private int pollAll(int max, List<Ticket> taken) {
+        int home = homeShard();
+        int count = 0;
+        for (int i = 0; i < shards.length && count < max; i++) {
+            count += shards[(home + i) % shards.length].pollAll(max - count, taken);
+        }
+        return count;
+    }
+
+    // Non-blocking, and a miss is not a timeout: async waiters simply stay queued.
+    private Ticket pollNow() {
+        Ticket t = poll();
+        if (t != null) {
+            signalProducers(1);
+        }
+        return t;
+    }
+
+    private boolean offerNow(Ticket ticket) {
+        if (!offer(ticket)) {
+            return false;
+        }
+        signalConsumers(1);
+        return true;
+    }
+
+    // Every successful add or purchase ends in one of these, so they also tell subscribers
+    // and serve queued async callers.
+    private void signalConsumers(int tickets) {
+        subscriptions.changed();
+        waiters.changed();
+        if (waitingConsumers.get() > 0) {
+            waitLock.lock();
+            try {
+                if (tickets == 1) {
+                    notEmpty.signal();
+                } else {
+                    notEmpty.signalAll();
+                }
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private void signalProducers(int tickets) {
+        subscriptions.changed();
+        waiters.changed();
+        if (waitingProducers.get() > 0) {
+            waitLock.lock();
+            try {
+                if (tickets == 1) {
+                    notFull.signal();
+                } else {
+                    notFull.signalAll();
+                }
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Ticket> tickets;
+        private final int capacity;
+        private int added;
+        private int purchased;
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.tickets = new ArrayDeque<>(capacity);
+        }
+
+        boolean offer(Ticket ticket) {
+            lock.lock();
+            try {
+                if (tickets.size() >= capacity) {
+                    return false;
+                }
+                tickets.addLast(ticket);
+                added++;
+                unsoldCents.add(ticket.getPriceCents());
+                eventLog.log(LogAction.ADDED, ticket);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Ticket poll() {
+            lock.lock();
+            try {
+                Ticket t = tickets.pollFirst();
+                if (t != null) {
+                    purchased++;
+                    revenueCents.add(t.getPriceCents());
+                    unsoldCents.add(-t.getPriceCents());
+                    eventLog.log(LogAction.PURCHASED, t);
+                }
+                return t;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int offerAll(Iterator<Ticket> pending) {
+            lock.lock();
+            try {
+                int count = 0;
+                while (tickets.size() < capacity && pending.hasNext()) {
+                    Ticket ticket = pending.next();
+                    tickets.addLast(ticket);
+                    added++;
+                    unsoldCents.add(ticket.getPriceCents());
+                    eventLog.log(LogAction.ADDED, ticket);
+                    count++;
+                }
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int pollAll(int max, List<Ticket> taken) {
+            lock.lock();
+            try {
+                int count = 0;
+                Ticket t;
+                while (count < max && (t = tickets.pollFirst()) != null) {
+                    taken.add(t);
+                    purchased++;
+                    revenueCents.add(t.getPriceCents());
+                    unsoldCents.add(-t.getPriceCents());
+                    eventLog.log(LogAction.PURCHASED, t);
+                    count++;
+                }
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,562 @@
+package org.concurrent.all.pool.impl;
+
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.EventLog;
+import org.concurrent.all.log.LogAction;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.PoolWaiters;
+import org.concurrent.all.pool.Subscription;
+import org.concurrent.all.pool.TicketPool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntSupplier;
+
+/**
+ * Pool for read-heavy dashboards: every getter is an optimistic {@link StampedLock} read that
+ * copies the fields and validates the stamp, retrying if a writer got in between, so readers
+ * never write to the lock. StampedLock has no conditions, so blocked producers and consumers
+ * wait on a separate lock that only they touch.
+ */
+public class StampedLockTicketPool implements TicketPool {
+    private final ArrayDeque<Ticket> tickets;
+    private final int capacity;
+    private final StampedLock lock = new StampedLock();
+    private final EventLog eventLog = new EventLog();
+    private final PoolSubscriptions subscriptions = new PoolSubscriptions(this::snapshot, this::logReaderMessage);
+    private final PoolWaiters waiters = new PoolWaiters(this::pollNow, this::offerNow);
+
+    // Written under the write lock, read optimistically.
+    private int available = 0;
+    private int added = 0;
+    private int purchased = 0;
+    private int version = 0;
+    private int timeouts = 0;
+    // Written under the write lock, read without any lock.
+    private volatile long revenueCents = 0;
+    private volatile long unsoldCents = 0;
+
+    // Only threads that found the pool full/empty touch this lock.
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition notFull = waitLock.newCondition();
+    private final Condition notEmpty = waitLock.newCondition();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+
+    public StampedLockTicketPool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.tickets = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public boolean addTicket(Ticket ticket) {
+        while (!offer(ticket)) {
+            waitLock.lock();
+            try {
+                waitingProducers.incrementAndGet();
+                try {
+                    // Re-check after announcing ourselves so a concurrent purchase cannot be missed.
+                    if (offer(ticket)) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    notFull.await();
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalConsumers(1);
+        return true;
+    }
+
+    @Override
+    public Ticket purchaseTicket() {
+        Ticket t;
+        while ((t = poll()) == null) {
+            waitLock.lock();
+            try {
+                waitingConsumers.incrementAndGet();
+                try {
+                    if ((t = poll()) != null) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    notEmpty.await();
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalProducers(1);
+        return t;
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return tryAddTicket(ticket, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return tryPurchaseTicket(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        while (!offer(ticket)) {
+            if (nanos <= 0) {
+                timedOut(timeout, "while waiting to add");
+                return false;
+            }
+            waitLock.lock();
+            try {
+                waitingProducers.incrementAndGet();
+                try {
+                    if (offer(ticket)) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    nanos = notFull.awaitNanos(nanos);
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalConsumers(1);
+        return true;
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        Ticket t;
+        while ((t = poll()) == null) {
+            if (nanos <= 0) {
+                timedOut(timeout, "while waiting to purchase");
+                return null;
+            }
+            waitLock.lock();
+            try {
+                waitingConsumers.incrementAndGet();
+                try {
+                    if ((t = poll()) != null) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    nanos = notEmpty.awaitNanos(nanos);
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        signalProducers(1);
+        return t;
+    }
+
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return waiters.purchase();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return waiters.add(ticket);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> batch) {
+        Iterator<Ticket> pending = batch.iterator();
+        int count = 0;
+        while (pending.hasNext()) {
+            int offered = offerAll(pending);
+            if (offered > 0) {
+                count += offered;
+                signalConsumers(offered);
+                continue;
+            }
+            waitLock.lock();
+            try {
+                waitingProducers.incrementAndGet();
+                try {
+                    offered = offerAll(pending);
+                    if (offered > 0) {
+                        count += offered;
+                        signalConsumers(offered);
+                        continue;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    notFull.await();
+                } finally {
+                    waitingProducers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return count;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        List<Ticket> taken = new ArrayList<>(Math.min(max, capacity));
+        while (pollAll(max, taken) == 0) {
+            waitLock.lock();
+            try {
+                waitingConsumers.incrementAndGet();
+                try {
+                    if (pollAll(max, taken) > 0) {
+                        break;
+                    }
+                    eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                    notEmpty.await();
+                } finally {
+                    waitingConsumers.decrementAndGet();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return 0;
+            } finally {
+                waitLock.unlock();
+            }
+        }
+        sink.addAll(taken);
+        signalProducers(taken.size());
+        return taken.size();
+    }
+
+    @Override
+    public void performExclusiveUpdate() {
+        long stamp = lock.writeLock();
+        try {
+            version++;
+            eventLog.log(LogAction.UPDATE, version);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        subscriptions.changed();
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        return read(() -> available);
+    }
+
+    @Override
+    public int getAddedTickets() {
+        return read(() -> added);
+    }
+
+    @Override
+    public int getPurchasedTickets() {
+        return read(() -> purchased);
+    }
+
+    @Override
+    public int getVersion() {
+        return read(() -> version);
+    }
+
+    @Override
+    public int getTimeouts() {
+        return read(() -> timeouts);
+    }
+
+    @Override
+    public long getTotalRevenueCents() {
+        return revenueCents;
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return unsoldCents;
+    }
+
+    @Override
+    public PoolSnapshot snapshot() {
+        PoolSnapshot snapshot;
+        long stamp;
+        do {
+            stamp = lock.tryOptimisticRead();
+            snapshot = new PoolSnapshot(available, capacity, added, purchased, version, timeouts,
+                    revenueCents, unsoldCents);
+        } while (!validate(stamp));
+        return snapshot;
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
+    }
+
+    @Override
+    public String getPoolInfo() {
+        int available;
+        int added;
+        int purchased;
+        int version;
+        int timeouts;
+        long stamp;
+        do {
+            stamp = lock.tryOptimisticRead();
+            available = this.available;
+            added = this.added;
+            purchased = this.purchased;
+            version = this.version;
+            timeouts = this.timeouts;
+        } while (!validate(stamp));
+        return String.format(
+                "[StampedLock] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d, Timeouts: %d",
+                available, capacity, added, purchased, version, timeouts
+        );
+    }
+
+    @Override
+    public String getLogs() {
+        return eventLog.getLogs();
+    }
+
+    @Override
+    public LogBatch getLogsSince(long sequence, int max) {
+        return eventLog.getLogsSince(sequence, max);
+    }
+
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        eventLog.setAuditLog(auditLog);
+    }
+
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        eventLog.setPolicy(category, policy);
+    }
+
+    @Override
+    public void logReaderMessage(String msg) {
+        eventLog.log(LogAction.MESSAGE, msg);
+    }
+
+    // ─── Optimistic reads ───────────────────────────────────────────────────────────
+
+    private int read(IntSupplier field) {
+        long stamp;
+        int value;
+        do {
+            stamp = lock.tryOptimisticRead();
+            value = field.getAsInt();
+        } while (!validate(stamp));
+        return value;
+    }
+
+    // Writers never wait while holding the lock, so a failed read is retried straight away;
+    // a zero stamp means a writer holds it right now, which may need its CPU to finish.
+    private boolean validate(long stamp) {
+        if (lock.validate(stamp)) {
+            return true;
+        }
+        if (stamp == 0) {
+            Thread.yield();
+        } else {
+            Thread.onSpinWait();
+        }
+        return false;
+    }
+
+    // ─── Writes ─────────────────────────────────────────────────────────────────────
+
+    private boolean offer(Ticket ticket) {
+        long stamp = lock.writeLock();
+        try {
+            if (available >= capacity) {
+                return false;
+            }
+            tickets.addLast(ticket);
+            available++;
+            added++;
+            unsoldCents += ticket.getPriceCents();
+            eventLog.log(LogAction.ADDED, ticket);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Ticket poll() {
+        long stamp = lock.writeLock();
+        try {
+            Ticket t = tickets.pollFirst();
+            if (t != null) {
+                available--;
+                purchased++;
+                revenueCents += t.getPriceCents();
+                unsoldCents -= t.getPriceCents();
+                eventLog.log(LogAction.PURCHASED, t);
+            }
+            return t;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int offerAll(Iterator<Ticket> pending) {
+        long stamp = lock.writeLock();
+        try {
+            int count = 0;
+            long valueCents = 0;
+            while (available < capacity && pending.hasNext()) {
+                Ticket ticket = pending.next();
+                tickets.addLast(ticket);
+                available++;
+                valueCents += ticket.getPriceCents();
+                eventLog.log(LogAction.ADDED, ticket);
+                count++;
+            }
+            added += count;
+            unsoldCents += valueCents;
+            return count;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private int pollAll(int max, List<Ticket> taken) {
+        long stamp = lock.writeLock();
+        try {
+            int count = 0;
+            long valueCents = 0;
+            Ticket t;
+            while (count < max && (t = tickets.pollFirst()) != null) {
+                taken.add(t);
+                valueCents += t.getPriceCents();
+                eventLog.log(LogAction.PURCHASED, t);
+                count++;
+            }
+            available -= count;
+            purchased += count;
+            revenueCents += valueCents;
+            unsoldCents -= valueCents;
+            return count;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void timedOut(long timeout, String what) {
+        // A zero-timeout try is a poll, not a wait that ran out.
+        if (timeout <= 0) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            timeouts++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        subscriptions.changed();
+        eventLog.log(LogAction.TIMEOUT, what);
+    }
+
+    // Non-blocking, and a miss is not a timeout: async waiters simply stay queued.
+    private Ticket pollNow() {
+        Ticket t = poll();
+        if (t != null) {
+            signalProducers(1);
+        }
+        return t;
+    }
+
+    private boolean offerNow(Ticket ticket) {
+        if (!offer(ticket)) {
+            return false;
+        }
+        signalConsumers(1);
+        return true;
+    }
+
+    // Every successful add or purchase ends in one of these, so they also tell subscribers
+    // and serve queued async callers.
+    private void signalConsumers(int tickets) {
+        subscriptions.changed();
+        waiters.changed();
+        if (waitingConsumers.get() > 0) {
+            waitLock.lock();
+            try {
+                if (tickets == 1) {
+                    notEmpty.signal();
+                } else {
+                    notEmpty.signalAll();
+                }
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private void signalProducers(int tickets) {
+        subscriptions.changed();
+        waiters.changed();
+        if (waitingProducers.get() > 0) {
+            waitLock.lock();
+            try {
+                if (tickets == 1) {
+                    notFull.signal();
+                } else {
+                    notFull.signalAll();
+                }
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+}
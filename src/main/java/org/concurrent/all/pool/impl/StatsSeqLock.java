@@ -0,0 +1,77 @@
+package org.concurrent.all.pool.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Seqlock over the counters of the lock-free pools. Writers run concurrently, so instead of a
+ * single odd/even sequence it counts writes begun and ended: a reader that finds both equal
+ * before copying the counters, and the begun count unchanged after, read a state that no write
+ * was halfway through. Readers retry optimistically a bounded number of times; under a constant
+ * stream of writes they then close a gate that holds back new writes, wait for the ones in
+ * flight, and copy the counters while the gate is shut. Writers only wait at that gate.
+ */
+final class StatsSeqLock {
+    private static final int SPIN_TRIES = 64;
+    private static final int OPTIMISTIC_TRIES = 256;
+
+    private final AtomicLong begun = new AtomicLong();
+    private final AtomicLong ended = new AtomicLong();
+    // Readers that gave up retrying; new writes wait while it is non-zero.
+    private final AtomicInteger gate = new AtomicInteger();
+
+    void beginWrite() {
+        for (int attempt = 0; gate.get() != 0; attempt++) {
+            backOff(attempt);
+        }
+        begun.getAndIncrement();
+    }
+
+    void endWrite() {
+        ended.getAndIncrement();
+    }
+
+    <T> T read(Supplier<T> reader) {
+        for (int attempt = 0; attempt < OPTIMISTIC_TRIES; attempt++) {
+            T value = tryRead(reader);
+            if (value != null) {
+                return value;
+            }
+            backOff(attempt);
+        }
+        gate.getAndIncrement();
+        try {
+            // A writer that passed the gate just before it closed can still begin, but each
+            // thread only once, so this settles as soon as those writes end.
+            for (int attempt = 0; ; attempt++) {
+                T value = tryRead(reader);
+                if (value != null) {
+                    return value;
+                }
+                backOff(attempt);
+            }
+        } finally {
+            gate.getAndDecrement();
+        }
+    }
+
+    private <T> T tryRead(Supplier<T> reader) {
+        long stamp = ended.get();
+        if (begun.get() == stamp) {
+            T value = reader.get();
+            if (begun.get() == stamp) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static void backOff(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+}
@@ -1,22 +1,38 @@
 package org.concurrent.all.pool.impl;
 
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.EventLog;
+import org.concurrent.all.log.LogAction;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
 import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.PoolWaiters;
+import org.concurrent.all.pool.Subscription;
 import org.concurrent.all.pool.TicketPool;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class SynchronizedTicketPool implements TicketPool {
     private final List<Ticket> tickets;
     private final int capacity;
-    private final List<String> logs = new ArrayList<>();
+    private final EventLog eventLog = new EventLog();
+    private final PoolSubscriptions subscriptions = new PoolSubscriptions(this::snapshot, this::logReaderMessage);
+    private final PoolWaiters waiters = new PoolWaiters(this::pollNow, this::offerNow);
     private int added = 0;
     private int purchased = 0;
     private int version = 0;
-    private double totalRevenue = 0.0;
-    private double totalAddedValue = 0.0;
+    private int timeouts = 0;
+    // Written under the monitor, read without it.
+    private volatile long revenueCents = 0;
+    private volatile long unsoldCents = 0;
 
     public SynchronizedTicketPool(int capacity) {
         this.capacity = capacity;
@@ -25,48 +41,233 @@ public class SynchronizedTicketPool implements TicketPool {
 
     @Override
     public synchronized boolean addTicket(Ticket ticket) {
+        // Logged once per wait, not on every wakeup: notifyAll() wakes every waiter.
+        boolean waitLogged = false;
         while (tickets.size() == capacity) {
-            logWait("FULL");
+            if (!waitLogged) {
+                eventLog.log(LogAction.WAIT, "Pool FULL");
+                waitLogged = true;
+            }
             try {
                 wait();
             } catch (InterruptedException ie) {
                 Thread.currentThread().interrupt();
-                logs.add(logTime() + " [" + Thread.currentThread().getName() + "] INTERRUPTED while waiting to add");
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
                 return false;
             }
         }
         tickets.add(ticket);
         added++;
-        totalAddedValue += ticket.getPrice();
+        unsoldCents += ticket.getPriceCents();
         notifyAll();
-        logAction("Added", ticket);
+        subscriptions.changed();
+        eventLog.log(LogAction.ADDED, ticket);
+        waiters.changed();
         return true;
     }
 
     @Override
     public synchronized Ticket purchaseTicket() {
+        boolean waitLogged = false;
         while (tickets.isEmpty()) {
-            logWait("EMPTY");
+            if (!waitLogged) {
+                eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                waitLogged = true;
+            }
             try {
                 wait();
             } catch (InterruptedException ie) {
                 Thread.currentThread().interrupt();
-                logs.add(logTime() + " [" + Thread.currentThread().getName() + "] INTERRUPTED while waiting to purchase");
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            }
+        }
+        Ticket t = tickets.remove(0);
+        purchased++;
+        revenueCents += t.getPriceCents();
+        unsoldCents -= t.getPriceCents();
+        notifyAll();
+        subscriptions.changed();
+        eventLog.log(LogAction.CONSUMED, t);
+        waiters.changed();
+        return t;
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return tryAddTicket(ticket, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return tryPurchaseTicket(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + nanos;
+        boolean waitLogged = false;
+        while (tickets.size() == capacity) {
+            if (nanos <= 0) {
+                if (timeout > 0) {
+                    timeouts++;
+                    subscriptions.changed();
+                    eventLog.log(LogAction.TIMEOUT, "while waiting to add");
+                }
+                return false;
+            }
+            if (!waitLogged) {
+                eventLog.log(LogAction.WAIT, "Pool FULL");
+                waitLogged = true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, nanos);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                return false;
+            }
+            nanos = deadline - System.nanoTime();
+        }
+        tickets.add(ticket);
+        added++;
+        unsoldCents += ticket.getPriceCents();
+        notifyAll();
+        subscriptions.changed();
+        eventLog.log(LogAction.ADDED, ticket);
+        waiters.changed();
+        return true;
+    }
+
+    @Override
+    public synchronized Ticket tryPurchaseTicket(long timeout, TimeUnit unit) {
+        long nanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + nanos;
+        boolean waitLogged = false;
+        while (tickets.isEmpty()) {
+            if (nanos <= 0) {
+                if (timeout > 0) {
+                    timeouts++;
+                    subscriptions.changed();
+                    eventLog.log(LogAction.TIMEOUT, "while waiting to purchase");
+                }
                 return null;
             }
+            if (!waitLogged) {
+                eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                waitLogged = true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, nanos);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return null;
+            }
+            nanos = deadline - System.nanoTime();
         }
         Ticket t = tickets.remove(0);
         purchased++;
-        totalRevenue += t.getPrice();
+        revenueCents += t.getPriceCents();
+        unsoldCents -= t.getPriceCents();
         notifyAll();
-        logAction("Consumed", t);
+        subscriptions.changed();
+        eventLog.log(LogAction.CONSUMED, t);
+        waiters.changed();
         return t;
     }
 
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return waiters.purchase();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return waiters.add(ticket);
+    }
+
+    @Override
+    public synchronized int addTickets(Collection<Ticket> batch) {
+        int count = 0;
+        int signalled = 0;
+        for (Ticket ticket : batch) {
+            boolean waitLogged = false;
+            while (tickets.size() == capacity) {
+                // Let consumers drain what this batch has added so far before waiting.
+                if (count > signalled) {
+                    notifyAll();
+                    subscriptions.changed();
+                    waiters.changed();
+                    signalled = count;
+                }
+                if (!waitLogged) {
+                    eventLog.log(LogAction.WAIT, "Pool FULL");
+                    waitLogged = true;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    eventLog.log(LogAction.INTERRUPTED, "while waiting to add");
+                    return count;
+                }
+            }
+            tickets.add(ticket);
+            added++;
+            unsoldCents += ticket.getPriceCents();
+            eventLog.log(LogAction.ADDED, ticket);
+            count++;
+        }
+        if (count > signalled) {
+            notifyAll();
+            subscriptions.changed();
+            waiters.changed();
+        }
+        return count;
+    }
+
+    @Override
+    public synchronized int purchaseTickets(int max, Collection<? super Ticket> sink) {
+        if (max <= 0) {
+            return 0;
+        }
+        boolean waitLogged = false;
+        while (tickets.isEmpty()) {
+            if (!waitLogged) {
+                eventLog.log(LogAction.WAIT, "Pool EMPTY");
+                waitLogged = true;
+            }
+            try {
+                wait();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                eventLog.log(LogAction.INTERRUPTED, "while waiting to purchase");
+                return 0;
+            }
+        }
+        List<Ticket> taken = tickets.subList(0, Math.min(max, tickets.size()));
+        int count = taken.size();
+        for (Ticket t : taken) {
+            sink.add(t);
+            purchased++;
+            revenueCents += t.getPriceCents();
+            unsoldCents -= t.getPriceCents();
+            eventLog.log(LogAction.CONSUMED, t);
+        }
+        taken.clear();
+        notifyAll();
+        subscriptions.changed();
+        waiters.changed();
+        return count;
+    }
+
     @Override
     public synchronized void performExclusiveUpdate() {
         version++;
-        logUpdate();
+        subscriptions.changed();
+        eventLog.log(LogAction.UPDATE, version);
     }
 
     @Override
@@ -90,49 +291,89 @@ public class SynchronizedTicketPool implements TicketPool {
     }
 
     @Override
-    public synchronized double getTotalRevenue() {
-        return totalRevenue;
+    public synchronized int getTimeouts() {
+        return timeouts;
     }
 
     @Override
-    public synchronized double getTotalUnsoldValue() {
-        return tickets.stream().mapToDouble(Ticket::getPrice).sum();
+    public long getTotalRevenueCents() {
+        return revenueCents;
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return unsoldCents;
+    }
+
+    @Override
+    public synchronized PoolSnapshot snapshot() {
+        return new PoolSnapshot(tickets.size(), capacity, added, purchased, version, timeouts,
+                revenueCents, unsoldCents);
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
     }
 
     @Override
     public synchronized String getPoolInfo() {
         return String.format(
-                "[Synchronized] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d",
-                tickets.size(), capacity, added, purchased, version
+                "[Synchronized] Tickets left: %d/%d, Added: %d, Purchased: %d, Version: %d, Timeouts: %d",
+                tickets.size(), capacity, added, purchased, version, timeouts
         );
     }
 
     @Override
-    public synchronized String getLogs() {
-        return String.join("\n", logs);
+    public String getLogs() {
+        return eventLog.getLogs();
     }
 
     @Override
-    public synchronized void logReaderMessage(String msg) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] " + msg);
+    public LogBatch getLogsSince(long sequence, int max) {
+        return eventLog.getLogsSince(sequence, max);
     }
 
-    // ─── Logging helpers ────────────────────────────────────────────────────────────
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        eventLog.setAuditLog(auditLog);
+    }
 
-    private void logWait(String state) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] WAIT - Pool " + state);
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        eventLog.setPolicy(category, policy);
     }
 
-    private void logAction(String action, Ticket t) {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] " + action + " " + t);
+    @Override
+    public void logReaderMessage(String msg) {
+        eventLog.log(LogAction.MESSAGE, msg);
     }
 
-    private void logUpdate() {
-        logs.add(logTime() + " [" + Thread.currentThread().getName() + "] updated version to " + version);
+    // One attempt for a queued async caller; unlike tryPurchaseTicket(), a miss is not a timeout.
+    private synchronized Ticket pollNow() {
+        if (tickets.isEmpty()) {
+            return null;
+        }
+        Ticket t = tickets.remove(0);
+        purchased++;
+        revenueCents += t.getPriceCents();
+        unsoldCents -= t.getPriceCents();
+        notifyAll();
+        subscriptions.changed();
+        eventLog.log(LogAction.CONSUMED, t);
+        return t;
     }
 
-    private String logTime() {
-        return LocalDateTime.now()
-                .format(DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+    private synchronized boolean offerNow(Ticket ticket) {
+        if (tickets.size() == capacity) {
+            return false;
+        }
+        tickets.add(ticket);
+        added++;
+        unsoldCents += ticket.getPriceCents();
+        notifyAll();
+        subscriptions.changed();
+        eventLog.log(LogAction.ADDED, ticket);
+        return true;
     }
 }
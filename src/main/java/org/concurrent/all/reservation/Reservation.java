@@ -0,0 +1,67 @@
+package org.concurrent.all.reservation;
+
+import org.concurrent.all.model.Ticket;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A ticket held for one buyer until {@link #confirm()}, {@link #release()} or the hold expires,
+ * whichever happens first. Only the first of the three takes effect.
+ */
+public final class Reservation {
+    public enum State { HELD, CONFIRMED, RELEASED, EXPIRED }
+
+    private final Ticket ticket;
+    private final long expiresAtNanos;
+    private final ReservingTicketPool pool;
+    private final AtomicReference<State> state = new AtomicReference<>(State.HELD);
+
+    Reservation(Ticket ticket, long expiresAtNanos, ReservingTicketPool pool) {
+        this.ticket = ticket;
+        this.expiresAtNanos = expiresAtNanos;
+        this.pool = pool;
+    }
+
+    public Ticket getTicket() {
+        return ticket;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /** {@code System.nanoTime()} at which an unconfirmed hold lapses. */
+    public long getExpiresAtNanos() {
+        return expiresAtNanos;
+    }
+
+    /** Turns the hold into a sale; false if it was already released or had expired. */
+    public boolean confirm() {
+        if (!state.compareAndSet(State.HELD, State.CONFIRMED)) {
+            return false;
+        }
+        pool.confirmed(this);
+        return true;
+    }
+
+    /** Gives the ticket back to the pool; false if the hold had already ended. */
+    public boolean release() {
+        if (!state.compareAndSet(State.HELD, State.RELEASED)) {
+            return false;
+        }
+        pool.returnTicket(this);
+        return true;
+    }
+
+    // Run by the timing wheel when the hold lapses.
+    void expire() {
+        if (state.compareAndSet(State.HELD, State.EXPIRED)) {
+            pool.expired(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Reservation{" + ticket + ", " + state.get() + "}";
+    }
+}
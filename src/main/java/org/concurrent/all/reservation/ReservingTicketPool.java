@@ -0,0 +1,251 @@
+package org.concurrent.all.reservation;
+
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.log.LogBatch;
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolObserver;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.PoolSubscriptions;
+import org.concurrent.all.pool.Subscription;
+import org.concurrent.all.pool.TicketPool;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adds checkout holds to any {@link TicketPool}. {@link #reserveTicket(Duration)} takes a ticket
+ * out of the delegate and hands back a {@link Reservation}; confirming it completes the sale,
+ * while releasing it or letting it expire puts the ticket back. All holds share one
+ * {@link TimingWheel} thread, so millions of outstanding holds cost one queued node each.
+ * <p>
+ * The delegate sees a hold as a purchase and a returned hold as a fresh add; the counters here
+ * undo both, so held tickets are neither available nor sold and count as unsold value.
+ */
+public class ReservingTicketPool implements TicketPool, Closeable {
+    private static final long TICK_MILLIS = 10;
+
+    private final TicketPool delegate;
+    private final PoolSubscriptions subscriptions;
+    private final TimingWheel wheel;
+
+    private final AtomicInteger held = new AtomicInteger();
+    private final LongAdder heldCents = new LongAdder();
+    private final AtomicInteger returned = new AtomicInteger();
+    private final LongAdder returnedCents = new LongAdder();
+    private final AtomicInteger expired = new AtomicInteger();
+
+    public ReservingTicketPool(TicketPool delegate) {
+        this.delegate = delegate;
+        this.subscriptions = new PoolSubscriptions(this::snapshot, delegate, delegate::logReaderMessage);
+        this.wheel = new TimingWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, "reservation-expiry",
+                e -> delegate.logReaderMessage("Reservation timer failed: " + e));
+    }
+
+    /** Waits for a ticket like {@link #purchaseTicket()}; null if interrupted. */
+    public Reservation reserveTicket(Duration hold) throws InterruptedException {
+        return hold(delegate.purchaseTicket(), hold);
+    }
+
+    /** Waits at most the timeout for a ticket; null if none became available. */
+    public Reservation tryReserveTicket(Duration hold, long timeout, TimeUnit unit) throws InterruptedException {
+        return hold(delegate.tryPurchaseTicket(timeout, unit), hold);
+    }
+
+    private Reservation hold(Ticket ticket, Duration hold) {
+        if (ticket == null) {
+            return null;
+        }
+        long holdNanos = hold.toNanos();
+        Reservation reservation = new Reservation(ticket, System.nanoTime() + holdNanos, this);
+        held.incrementAndGet();
+        heldCents.add(ticket.getPriceCents());
+        subscriptions.changed();
+        wheel.schedule(reservation::expire, holdNanos, TimeUnit.NANOSECONDS);
+        return reservation;
+    }
+
+    void confirmed(Reservation reservation) {
+        held.decrementAndGet();
+        heldCents.add(-reservation.getTicket().getPriceCents());
+        subscriptions.changed();
+    }
+
+    void expired(Reservation reservation) {
+        expired.incrementAndGet();
+        returnTicket(reservation);
+    }
+
+    // The ticket stays counted as held until it is back in the delegate. If the pool has filled
+    // up meanwhile, the wheel retries every tick rather than blocking the caller or its thread;
+    // tryAddTicket(Ticket) is a single attempt, so those retries never count as delegate timeouts.
+    void returnTicket(Reservation reservation) {
+        Ticket ticket = reservation.getTicket();
+        if (!delegate.tryAddTicket(ticket)) {
+            wheel.schedule(() -> returnTicket(reservation), wheel.getTickNanos(), TimeUnit.NANOSECONDS);
+            return;
+        }
+        returned.incrementAndGet();
+        returnedCents.add(ticket.getPriceCents());
+        held.decrementAndGet();
+        heldCents.add(-ticket.getPriceCents());
+        subscriptions.changed();
+    }
+
+    public int getHeldTickets() {
+        return held.get();
+    }
+
+    public int getExpiredReservations() {
+        return expired.get();
+    }
+
+    @Override
+    public boolean addTicket(Ticket ticket) throws InterruptedException {
+        return delegate.addTicket(ticket);
+    }
+
+    @Override
+    public Ticket purchaseTicket() throws InterruptedException {
+        return delegate.purchaseTicket();
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket) {
+        return delegate.tryAddTicket(ticket);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket() {
+        return delegate.tryPurchaseTicket();
+    }
+
+    @Override
+    public boolean tryAddTicket(Ticket ticket, long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.tryAddTicket(ticket, timeout, unit);
+    }
+
+    @Override
+    public Ticket tryPurchaseTicket(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.tryPurchaseTicket(timeout, unit);
+    }
+
+    @Override
+    public CompletableFuture<Ticket> purchaseTicketAsync() {
+        return delegate.purchaseTicketAsync();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> addTicketAsync(Ticket ticket) {
+        return delegate.addTicketAsync(ticket);
+    }
+
+    @Override
+    public int addTickets(Collection<Ticket> tickets) throws InterruptedException {
+        return delegate.addTickets(tickets);
+    }
+
+    @Override
+    public int purchaseTickets(int max, Collection<? super Ticket> sink) throws InterruptedException {
+        return delegate.purchaseTickets(max, sink);
+    }
+
+    @Override
+    public void performExclusiveUpdate() throws InterruptedException {
+        delegate.performExclusiveUpdate();
+    }
+
+    @Override
+    public int getAvailableTickets() {
+        return delegate.getAvailableTickets();
+    }
+
+    @Override
+    public int getAddedTickets() {
+        return delegate.getAddedTickets() - returned.get();
+    }
+
+    @Override
+    public int getPurchasedTickets() {
+        return delegate.getPurchasedTickets() - held.get() - returned.get();
+    }
+
+    @Override
+    public int getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public int getTimeouts() {
+        return delegate.getTimeouts();
+    }
+
+    @Override
+    public long getTotalRevenueCents() {
+        return delegate.getTotalRevenueCents() - heldCents.sum() - returnedCents.sum();
+    }
+
+    @Override
+    public long getTotalUnsoldValueCents() {
+        return delegate.getTotalUnsoldValueCents() + heldCents.sum();
+    }
+
+    // Atomic for the delegate's counters; a hold being taken or returned at that moment may
+    // be counted on either side of the adjustment.
+    @Override
+    public PoolSnapshot snapshot() {
+        PoolSnapshot s = delegate.snapshot();
+        int held = this.held.get();
+        int returned = this.returned.get();
+        return new PoolSnapshot(s.available(), s.capacity(), s.added() - returned,
+                s.purchased() - held - returned, s.version(), s.timeouts(),
+                s.revenueCents() - heldCents.sum() - returnedCents.sum(), s.unsoldValueCents() + heldCents.sum());
+    }
+
+    @Override
+    public Subscription subscribe(PoolObserver observer, long minInterval, TimeUnit unit) {
+        return subscriptions.subscribe(observer, minInterval, unit);
+    }
+
+    @Override
+    public String getPoolInfo() {
+        return String.format("%s, Held: %d, Expired: %d",
+                delegate.getPoolInfo(), held.get(), expired.get());
+    }
+
+    @Override
+    public String getLogs() {
+        return delegate.getLogs();
+    }
+
+    @Override
+    public LogBatch getLogsSince(long sequence, int max) {
+        return delegate.getLogsSince(sequence, max);
+    }
+
+    @Override
+    public void setAuditLog(AuditLog auditLog) {
+        delegate.setAuditLog(auditLog);
+    }
+
+    @Override
+    public void setLogPolicy(LogCategory category, LogPolicy policy) {
+        delegate.setLogPolicy(category, policy);
+    }
+
+    @Override
+    public void logReaderMessage(String msg) {
+        delegate.logReaderMessage(msg);
+    }
+
+    @Override
+    public void close() {
+        wheel.close();
+    }
+}
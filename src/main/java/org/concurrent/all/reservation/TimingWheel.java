@@ -0,0 +1,157 @@
+package org.concurrent.all.reservation;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, each level
+ * {@value #SLOTS} times coarser than the one below. Scheduling is O(1) regardless of how many
+ * timers are outstanding: callers only append to a lock-free queue, and the single wheel thread
+ * places timers into slots, cascades them down as their level-n slot comes round, and runs them
+ * from the finest level. Timers fire at most one tick late and are never cancelled; tasks
+ * decide for themselves whether they are still relevant. A task that throws is counted and
+ * handed to the failure handler, and the wheel carries on with the rest.
+ */
+final class TimingWheel implements AutoCloseable {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 6;
+
+    private final long tickNanos;
+    private final long start = System.nanoTime();
+    private final Node[][] wheel = new Node[LEVELS][SLOTS];
+    private final Queue<Node> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Consumer<RuntimeException> onFailure;
+    private final Thread thread;
+    private volatile boolean running = true;
+    // Owned by the wheel thread.
+    private long currentTick;
+
+    TimingWheel(long tick, TimeUnit unit, String name) {
+        this(tick, unit, name, e -> { });
+    }
+
+    TimingWheel(long tick, TimeUnit unit, String name, Consumer<RuntimeException> onFailure) {
+        this.tickNanos = Math.max(1, unit.toNanos(tick));
+        this.onFailure = onFailure;
+        this.thread = new Thread(this::run, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void schedule(Runnable task, long delay, TimeUnit unit) {
+        long due = System.nanoTime() - start + Math.max(0, unit.toNanos(delay));
+        // Round up so a timer never fires before its delay has passed.
+        pending.add(new Node(task, (due + tickNanos - 1) / tickNanos));
+        scheduled.incrementAndGet();
+    }
+
+    long getTickNanos() {
+        return tickNanos;
+    }
+
+    int getScheduled() {
+        return scheduled.get();
+    }
+
+    int getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (running) {
+            long target = (System.nanoTime() - start) / tickNanos;
+            place();
+            while (currentTick < target) {
+                advance();
+            }
+            place();
+            LockSupport.parkNanos(start + (currentTick + 1) * tickNanos - System.nanoTime());
+        }
+    }
+
+    private void place() {
+        Node node;
+        while ((node = pending.poll()) != null) {
+            place(node);
+        }
+    }
+
+    private void place(Node node) {
+        if (node.deadline <= currentTick) {
+            fire(node);
+            return;
+        }
+        // The lowest level whose higher digits agree with the current tick: the timer's digit
+        // at that level is still ahead, so its slot comes round before the deadline.
+        int level = 0;
+        while (level < LEVELS - 1 && (node.deadline >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((node.deadline >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        node.next = wheel[level][slot];
+        wheel[level][slot] = node;
+    }
+
+    private void advance() {
+        currentTick++;
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+                Node node = wheel[level][slot];
+                wheel[level][slot] = null;
+                while (node != null) {
+                    Node next = node.next;
+                    place(node);
+                    node = next;
+                }
+            }
+        }
+        int slot = (int) (currentTick & (SLOTS - 1));
+        Node node = wheel[0][slot];
+        wheel[0][slot] = null;
+        while (node != null) {
+            Node next = node.next;
+            fire(node);
+            node = next;
+        }
+    }
+
+    private void fire(Node node) {
+        scheduled.decrementAndGet();
+        try {
+            node.task.run();
+        } catch (RuntimeException e) {
+            // One failing task must not stop expiry for every other timer.
+            failed.incrementAndGet();
+            try {
+                onFailure.accept(e);
+            } catch (RuntimeException ignored) {
+                // Nor may the handler.
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Runnable task;
+        private final long deadline;
+        private Node next;
+
+        Node(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.concurrent.all.seating;
+
+import org.concurrent.all.model.SeatedTicket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reserved-seating inventory for one event. A venue is a list of sections, each a grid of rows
+ * and seats backed by an atomic bitset, so buyers claim seats with a CAS instead of a lock.
+ * Rows and seats are numbered from 0; sections are searched in the order they were added.
+ */
+public class SeatMap {
+    private final String eventName;
+    private final List<Section> sections = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<String, Section> sectionsByName = new ConcurrentHashMap<>();
+    private final LongAdder revenueCents = new LongAdder();
+
+    public SeatMap(String eventName) {
+        this.eventName = eventName;
+    }
+
+    public void addSection(String name, int rows, int seatsPerRow, double price) {
+        Section section = new Section(eventName, name, rows, seatsPerRow, price);
+        if (sectionsByName.putIfAbsent(name, section) != null) {
+            throw new IllegalArgumentException("Section " + name + " already exists");
+        }
+        sections.add(section);
+    }
+
+    public SeatedTicket purchaseSeat(String section, int row, int seat) {
+        return sold(section(section).claim(row, seat));
+    }
+
+    public SeatedTicket purchaseBestAvailable() {
+        for (Section section : sections) {
+            SeatedTicket ticket = section.claimBestAvailable();
+            if (ticket != null) {
+                return sold(ticket);
+            }
+        }
+        return null;
+    }
+
+    public SeatedTicket purchaseBestAvailable(String section) {
+        return sold(section(section).claimBestAvailable());
+    }
+
+    public List<SeatedTicket> purchaseAdjacent(int count) {
+        for (Section section : sections) {
+            List<SeatedTicket> tickets = section.claimAdjacent(count);
+            if (!tickets.isEmpty()) {
+                return sold(tickets);
+            }
+        }
+        return List.of();
+    }
+
+    public List<SeatedTicket> purchaseAdjacent(String section, int count) {
+        return sold(section(section).claimAdjacent(count));
+    }
+
+    public boolean release(SeatedTicket ticket) {
+        if (!ticket.getEventName().equals(eventName)) {
+            return false;
+        }
+        if (section(ticket.getSection()).release(ticket.getRow(), ticket.getSeat())) {
+            revenueCents.add(-ticket.getPriceCents());
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isAvailable(String section, int row, int seat) {
+        return section(section).isAvailable(row, seat);
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public List<String> getSectionNames() {
+        List<String> names = new ArrayList<>(sections.size());
+        for (Section section : sections) {
+            names.add(section.getName());
+        }
+        return names;
+    }
+
+    public int getCapacity() {
+        int total = 0;
+        for (Section section : sections) {
+            total += section.getCapacity();
+        }
+        return total;
+    }
+
+    public int getAvailableSeats() {
+        int total = 0;
+        for (Section section : sections) {
+            total += section.getAvailable();
+        }
+        return total;
+    }
+
+    public int getAvailableSeats(String section) {
+        return section(section).getAvailable();
+    }
+
+    public int getSoldSeats() {
+        return getCapacity() - getAvailableSeats();
+    }
+
+    public long getTotalRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    public double getTotalRevenue() {
+        return getTotalRevenueCents() / 100.0;
+    }
+
+    private Section section(String name) {
+        Section section = sectionsByName.get(name);
+        if (section == null) {
+            throw new IllegalArgumentException("Unknown section: " + name);
+        }
+        return section;
+    }
+
+    private SeatedTicket sold(SeatedTicket ticket) {
+        if (ticket != null) {
+            revenueCents.add(ticket.getPriceCents());
+        }
+        return ticket;
+    }
+
+    private List<SeatedTicket> sold(List<SeatedTicket> tickets) {
+        for (SeatedTicket ticket : tickets) {
+            revenueCents.add(ticket.getPriceCents());
+        }
+        return tickets;
+    }
+}
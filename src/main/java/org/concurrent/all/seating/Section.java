@@ -0,0 +1,254 @@
+package org.concurrent.all.seating;
+
+import org.concurrent.all.model.SeatedTicket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Seats are claimed by CAS on 64-seat words; there is no lock anywhere in a section.
+final class Section {
+    private final String eventName;
+    private final String name;
+    private final int rows;
+    private final int seatsPerRow;
+    private final int wordsPerRow;
+    private final double price;
+    // One bit per seat, set once the seat is sold. Every row starts on a word boundary so a run
+    // of adjacent seats never straddles two rows; padding bits after the last seat are pre-set.
+    private final AtomicLongArray sold;
+    private final AtomicInteger available;
+    // Rows before this one were seen full. Lowered again when a seat is released.
+    private final AtomicInteger firstOpenRow = new AtomicInteger();
+
+    Section(String eventName, String name, int rows, int seatsPerRow, double price) {
+        if (rows <= 0 || seatsPerRow <= 0) {
+            throw new IllegalArgumentException("Rows and seats per row must be positive");
+        }
+        int words = (seatsPerRow + 63) >>> 6;
+        if ((long) rows * words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Section " + name + " is too large");
+        }
+        this.eventName = eventName;
+        this.name = name;
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.wordsPerRow = words;
+        this.price = price;
+        this.sold = new AtomicLongArray(rows * words);
+        this.available = new AtomicInteger(rows * seatsPerRow);
+        int tail = seatsPerRow & 63;
+        if (tail != 0) {
+            for (int row = 0; row < rows; row++) {
+                sold.set(row * words + words - 1, -1L << tail);
+            }
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getCapacity() {
+        return rows * seatsPerRow;
+    }
+
+    int getAvailable() {
+        return Math.max(0, available.get());
+    }
+
+    boolean isAvailable(int row, int seat) {
+        checkSeat(row, seat);
+        return (sold.get(row * wordsPerRow + (seat >>> 6)) & (1L << seat)) == 0;
+    }
+
+    SeatedTicket claim(int row, int seat) {
+        checkSeat(row, seat);
+        int index = row * wordsPerRow + (seat >>> 6);
+        long bit = 1L << seat;
+        long word;
+        do {
+            word = sold.get(index);
+            if ((word & bit) != 0) {
+                return null;
+            }
+        } while (!sold.compareAndSet(index, word, word | bit));
+        available.decrementAndGet();
+        return ticket(row, seat);
+    }
+
+    // Lowest row first, then lowest seat in that row.
+    SeatedTicket claimBestAvailable() {
+        for (int pass = 0; pass < 2; pass++) {
+            for (int row = pass == 0 ? firstOpenRow.get() : 0; row < rows; row++) {
+                int seat = claimFirstFree(row);
+                if (seat >= 0) {
+                    available.decrementAndGet();
+                    return ticket(row, seat);
+                }
+                firstOpenRow.compareAndSet(row, row + 1);
+            }
+            // The row hint can race with a release; only give up once the section is sold out.
+            if (available.get() <= 0) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    List<SeatedTicket> claimAdjacent(int count) {
+        if (count <= 0 || count > seatsPerRow) {
+            return List.of();
+        }
+        for (int pass = 0; pass < 2; pass++) {
+            for (int row = pass == 0 ? firstOpenRow.get() : 0; row < rows; row++) {
+                int start = claimRun(row, count);
+                if (start >= 0) {
+                    available.addAndGet(-count);
+                    List<SeatedTicket> tickets = new ArrayList<>(count);
+                    for (int seat = start; seat < start + count; seat++) {
+                        tickets.add(ticket(row, seat));
+                    }
+                    return tickets;
+                }
+            }
+            if (available.get() < count) {
+                break;
+            }
+        }
+        return List.of();
+    }
+
+    boolean release(int row, int seat) {
+        checkSeat(row, seat);
+        int index = row * wordsPerRow + (seat >>> 6);
+        long bit = 1L << seat;
+        long word;
+        do {
+            word = sold.get(index);
+            if ((word & bit) == 0) {
+                return false;
+            }
+        } while (!sold.compareAndSet(index, word, word & ~bit));
+        available.incrementAndGet();
+        firstOpenRow.accumulateAndGet(row, Math::min);
+        return true;
+    }
+
+    // ─── Bitset ─────────────────────────────────────────────────────────────────────
+
+    private int claimFirstFree(int row) {
+        int base = row * wordsPerRow;
+        for (int i = 0; i < wordsPerRow; i++) {
+            long word = sold.get(base + i);
+            while (word != -1L) {
+                long bit = Long.lowestOneBit(~word);
+                if (sold.compareAndSet(base + i, word, word | bit)) {
+                    return (i << 6) + Long.numberOfTrailingZeros(bit);
+                }
+                word = sold.get(base + i);
+            }
+        }
+        return -1;
+    }
+
+    private int claimRun(int row, int count) {
+        int from = 0;
+        while (from + count <= seatsPerRow) {
+            int start = nextFree(row, from);
+            if (start < 0 || start + count > seatsPerRow) {
+                return -1;
+            }
+            int end = nextSold(row, start, start + count);
+            if (end < start + count) {
+                from = end + 1;
+            } else if (setRange(row, start, count)) {
+                return start;
+            } else {
+                // Lost a race for one of the seats; rescan from the same position.
+                from = start;
+            }
+        }
+        return -1;
+    }
+
+    private int nextFree(int row, int from) {
+        int base = row * wordsPerRow;
+        int i = from >>> 6;
+        long free = ~sold.get(base + i) & (-1L << from);
+        while (free == 0) {
+            if (++i == wordsPerRow) {
+                return -1;
+            }
+            free = ~sold.get(base + i);
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(free);
+    }
+
+    private int nextSold(int row, int from, int limit) {
+        int base = row * wordsPerRow;
+        int i = from >>> 6;
+        long taken = sold.get(base + i) & (-1L << from);
+        while (taken == 0) {
+            if (++i == wordsPerRow || (i << 6) >= limit) {
+                return limit;
+            }
+            taken = sold.get(base + i);
+        }
+        return Math.min(limit, (i << 6) + Long.numberOfTrailingZeros(taken));
+    }
+
+    // Claims [start, start + count) word by word. If another buyer got one of the seats first,
+    // the words already claimed are rolled back.
+    private boolean setRange(int row, int start, int count) {
+        int base = row * wordsPerRow;
+        int end = start + count;
+        for (int seat = start; seat < end; ) {
+            int i = seat >>> 6;
+            int upto = Math.min(end, (i + 1) << 6);
+            long mask = mask(seat, upto - seat);
+            long word;
+            do {
+                word = sold.get(base + i);
+                if ((word & mask) != 0) {
+                    clearRange(row, start, seat - start);
+                    return false;
+                }
+            } while (!sold.compareAndSet(base + i, word, word | mask));
+            seat = upto;
+        }
+        return true;
+    }
+
+    private void clearRange(int row, int start, int count) {
+        int base = row * wordsPerRow;
+        int end = start + count;
+        for (int seat = start; seat < end; ) {
+            int i = seat >>> 6;
+            int upto = Math.min(end, (i + 1) << 6);
+            long mask = mask(seat, upto - seat);
+            long word;
+            do {
+                word = sold.get(base + i);
+            } while (!sold.compareAndSet(base + i, word, word & ~mask));
+            seat = upto;
+        }
+    }
+
+    private static long mask(int seat, int length) {
+        long bits = length == 64 ? -1L : (1L << length) - 1;
+        return bits << seat;
+    }
+
+    private void checkSeat(int row, int seat) {
+        if (row < 0 || row >= rows || seat < 0 || seat >= seatsPerRow) {
+            throw new IllegalArgumentException(
+                    String.format("No seat %d in row %d of section %s", seat, row, name));
+        }
+    }
+
+    private SeatedTicket ticket(int row, int seat) {
+        return new SeatedTicket(eventName, price, name, row, seat);
+    }
+}
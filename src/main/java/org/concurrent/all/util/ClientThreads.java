@@ -0,0 +1,58 @@
+package org.concurrent.all.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Starts simulated clients on platform or virtual threads. Virtual threads are looked up
+ * through {@code Thread.Builder} at runtime so the code still builds and runs on Java 17,
+ * where {@link #isVirtualSupported()} is false and clients fall back to platform threads.
+ */
+public final class ClientThreads {
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle START;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle start = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class));
+            start = lookup.findVirtual(builder, "start", MethodType.methodType(Thread.class, Runnable.class));
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        START = start;
+    }
+
+    private ClientThreads() {
+    }
+
+    public static boolean isVirtualSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    public static Thread start(Runnable task, String name, boolean virtual) {
+        if (!virtual || !isVirtualSupported()) {
+            Thread thread = new Thread(task, name);
+            thread.start();
+            return thread;
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            return (Thread) START.invoke(NAME.invoke(builder, name), task);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not start virtual thread " + name, t);
+        }
+    }
+}
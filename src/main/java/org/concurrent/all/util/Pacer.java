@@ -0,0 +1,70 @@
+package org.concurrent.all.util;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces a client loop at a fixed rate. Each {@link #pace()} waits for an absolute
+ * {@code nanoTime} deadline one interval after the previous one, so the time spent in the pool
+ * call is subtracted from the wait, and fractional rates (0.5/s) as well as rates far above
+ * 1000/s hold on average. One pacer per client thread; {@link #setRate(double)} may be called
+ * from any thread.
+ */
+public class Pacer {
+    // parkNanos overshoots by tens of microseconds, so the last stretch before a deadline is spun,
+    // but only at rates where that overshoot is a noticeable share of the interval.
+    private static final long SPIN_NANOS = 50_000L;
+    private static final long SPIN_BELOW_INTERVAL_NANOS = 1_000_000L;
+    // A client that stalled (e.g. blocked on an empty pool) makes up at most one second of backlog.
+    private static final long MAX_LAG_NANOS = 1_000_000_000L;
+
+    private volatile long intervalNanos;
+    private long deadline;
+    private boolean started;
+
+    public Pacer(double ratePerSecond) {
+        setRate(ratePerSecond);
+    }
+
+    public void setRate(double ratePerSecond) {
+        if (!(ratePerSecond > 0) || Double.isInfinite(ratePerSecond)) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        intervalNanos = Math.max(1L, Math.round(1_000_000_000.0 / ratePerSecond));
+    }
+
+    public double getRate() {
+        return 1_000_000_000.0 / intervalNanos;
+    }
+
+    public void pace() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long spin = intervalNanos < SPIN_BELOW_INTERVAL_NANOS ? SPIN_NANOS : 0;
+        long target = nextDeadline();
+        long remaining;
+        while ((remaining = target - System.nanoTime()) > spin) {
+            LockSupport.parkNanos(remaining - spin);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        while (target - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Advances to the next slot without waiting, for callers that schedule rather than block. */
+    public long nextDeadline() {
+        long now = System.nanoTime();
+        if (!started) {
+            deadline = now;
+            started = true;
+        }
+        deadline += intervalNanos;
+        if (now - deadline > MAX_LAG_NANOS) {
+            deadline = now - MAX_LAG_NANOS;
+        }
+        return deadline;
+    }
+}
@@ -1,37 +1,61 @@
 package org.concurrent.all.util;
 
-
+import org.concurrent.all.pool.PoolDelta;
+import org.concurrent.all.pool.Subscription;
 import org.concurrent.all.pool.TicketPool;
 
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reports pool changes at most {@code rate} times a second. Instead of polling, it subscribes
+ * to the pool and parks, so an idle pool costs it nothing. Each delivery reads the pool's
+ * snapshot on a subscription thread, which may briefly take the pool's lock.
+ */
 public class Reader implements Runnable {
     private final TicketPool pool;
     private volatile boolean running = true;
-    private int rate;
+    private volatile long intervalNanos;
+    private volatile Thread thread;
 
-    public Reader(TicketPool pool, int rate) {
+    public Reader(TicketPool pool, double rate) {
         this.pool = pool;
-        this.rate = rate;
+        setRate(rate);
     }
 
-    public void setRate(int rate) {
-        this.rate = rate;
+    public void setRate(double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("Rate must be positive: " + rate);
+        }
+        intervalNanos = Math.max(1L, Math.round(1_000_000_000.0 / rate));
+        LockSupport.unpark(thread);
     }
 
     public void stop() {
         running = false;
+        LockSupport.unpark(thread);
     }
 
     @Override
     public void run() {
-        try {
-            while (running) {
-                String info = pool.getPoolInfo();
-                pool.logReaderMessage("reads from " + info);
-
-                Thread.sleep(1000 / rate);
+        thread = Thread.currentThread();
+        while (running && !Thread.currentThread().isInterrupted()) {
+            long interval = intervalNanos;
+            Subscription subscription = pool.subscribe(this::report, interval, TimeUnit.NANOSECONDS);
+            try {
+                // Resubscribe when the rate changes.
+                while (running && interval == intervalNanos && !Thread.currentThread().isInterrupted()) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                subscription.close();
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
     }
-}
\ No newline at end of file
+
+    private void report(PoolDelta delta) {
+        pool.logReaderMessage(String.format(Locale.ROOT, "reads from %s (+%d added, +%d purchased, +$%.2f)",
+                delta.current(), delta.added(), delta.purchased(), delta.revenueCents() / 100.0));
+    }
+}
@@ -6,15 +6,15 @@ import org.concurrent.all.pool.TicketPool;
 public class Writer implements Runnable {
     private final TicketPool pool;
     private volatile boolean running = true;
-    private int rate;
+    private final Pacer pacer;
 
-    public Writer(TicketPool pool, int rate) {
+    public Writer(TicketPool pool, double rate) {
         this.pool = pool;
-        this.rate = rate;
+        this.pacer = new Pacer(rate);
     }
 
-    public void setRate(int rate) {
-        this.rate = rate;
+    public void setRate(double rate) {
+        pacer.setRate(rate);
     }
 
     public void stop() {
@@ -26,7 +26,7 @@ public class Writer implements Runnable {
         try {
             while (running) {
                 pool.performExclusiveUpdate();
-                Thread.sleep(1000 / rate);
+                pacer.pace();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -12,13 +12,17 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 class MainTest {
 
     private String runMainWithInput(String input) throws InterruptedException {
+        return runMainWithInput(input, new String[0]);
+    }
+
+    private String runMainWithInput(String input, String[] args) throws InterruptedException {
         InputStream originalIn = System.in;
         PrintStream originalOut = System.out;
         ByteArrayOutputStream outContent = new ByteArrayOutputStream();
         try {
             System.setIn(new ByteArrayInputStream(input.getBytes()));
             System.setOut(new PrintStream(outContent));
-            Main.main(new String[0]);
+            Main.main(args);
         } finally {
             System.setIn(originalIn);
             System.setOut(originalOut);
@@ -118,4 +122,79 @@ class MainTest {
         String output = runMainWithInput(input);
         assertTrue(output.contains("[BlockingQueue]"), "Output should indicate usage of BlockingQueue pool");
     }
+
+    @Test
+    void testSynchronizationMechanismRingBuffer() throws InterruptedException {
+        String input = "4\n10\nstatus\nexit\n";
+        String output = runMainWithInput(input);
+        assertTrue(output.contains("[RingBuffer]"), "Output should indicate usage of RingBuffer pool");
+    }
+
+    @Test
+    void testSynchronizationMechanismSharded() throws InterruptedException {
+        String input = "5\n10\nstatus\nexit\n";
+        String output = runMainWithInput(input);
+        assertTrue(output.contains("[Sharded]"), "Output should indicate usage of Sharded pool");
+    }
+
+    @Test
+    void testSynchronizationMechanismMultiEvent() throws InterruptedException {
+        String input = "6\n10\nstatus\nexit\n";
+        String output = runMainWithInput(input);
+        assertTrue(output.contains("[MultiEvent]"), "Output should indicate usage of MultiEvent pool");
+    }
+
+    @Test
+    void testSynchronizationMechanismOffHeap() throws InterruptedException {
+        String input = "7\n10\nstatus\nexit\n";
+        String output = runMainWithInput(input);
+        assertTrue(output.contains("[OffHeap]"), "Output should indicate usage of OffHeap pool");
+    }
+
+    @Test
+    void testSynchronizationMechanismStampedLock() throws InterruptedException {
+        String input = "8\n10\nstatus\nexit\n";
+        String output = runMainWithInput(input);
+        assertTrue(output.contains("[StampedLock]"), "Output should indicate usage of StampedLock pool");
+    }
+
+    @Test
+    void testBulkClientsOnVirtualThreads() throws InterruptedException {
+        String input = "2\n100\naddProducers 50 5\naddConsumers 50 5\nstatus\nexit\n";
+        String output = runMainWithInput(input, new String[]{"--virtual-threads"});
+        assertTrue(output.contains("Added 50 producers"), "Output should confirm the bulk producers");
+        assertTrue(output.contains("Added 50 consumers"), "Output should confirm the bulk consumers");
+        assertTrue(output.contains("Final Status:"), "All clients should stop on exit");
+    }
+
+    @Test
+    void testBulkClientsOnSharedScheduler() throws InterruptedException {
+        String input = "5\n1000\naddProducers 2000 20\naddConsumers 2000 20\nstatus\nexit\n";
+        String output = runMainWithInput(input, new String[]{"--shared-scheduler"});
+        assertTrue(output.contains("Added 2000 producers at rate 20 on"), "Output should confirm the simulated producers");
+        assertTrue(output.contains("Added 2000 consumers at rate 20 on"), "Output should confirm the simulated consumers");
+        assertTrue(output.contains("[ClientRuntime] Clients: 4000"), "Status should report the simulated clients");
+        assertTrue(output.contains("Final Status:"), "All clients should stop on exit");
+    }
+
+    @Test
+    void testReserveConfirmAndRelease() throws InterruptedException {
+        String input = "2\n10\nreserve\naddProducer 50\nstatus\nreserve 60\nreserve 60\nconfirm 1\nrelease 2\nconfirm 2\nstatus\nexit\n";
+        String output = runMainWithInput(input, new String[]{"--reservations"});
+        assertTrue(output.contains("No tickets became available to reserve"), "The pool starts empty");
+        assertTrue(output.contains("Reserved ") && output.contains("as reservation #2"), "Output should confirm the holds");
+        assertTrue(output.contains("Confirmed reservation #1"), "Output should confirm the sale");
+        assertTrue(output.contains("Released reservation #2"), "Output should confirm the release");
+        assertTrue(output.contains("Reservation #2 is already RELEASED"), "A released hold cannot be confirmed");
+        assertTrue(output.contains("Held: 0"), "Status should report held tickets");
+    }
+
+    @Test
+    void testLogLevelCommand() throws InterruptedException {
+        String input = "1\n10\nlogLevel waits 1/100\nlogLevel actions 50/s\nlogLevel waits often\nexit\n";
+        String output = runMainWithInput(input);
+        assertTrue(output.contains("Logging waits: 1/100"), "Output should confirm the wait sampling");
+        assertTrue(output.contains("Logging actions: 50/s"), "Output should confirm the action rate limit");
+        assertTrue(output.contains("Usage: logLevel"), "An unknown policy should print usage");
+    }
 }
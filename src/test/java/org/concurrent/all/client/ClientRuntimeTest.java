@@ -0,0 +1,112 @@
+package org.concurrent.all.client;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRuntimeTest {
+
+    @Test
+    void testThousandsOfClientsOnTwoWorkers() throws InterruptedException {
+        TicketPool pool = new ShardedTicketPool(10_000);
+        ClientRuntime runtime = new ClientRuntime(2);
+        for (int i = 0; i < 5_000; i++) {
+            runtime.addProducer(pool, 10);
+            runtime.addConsumer(pool, 10);
+        }
+        assertEquals(10_000, runtime.getClientCount());
+        assertEquals(2, runtime.getWorkerCount());
+        Thread.sleep(1000);
+        // Counters are only comparable once every worker has finished its last attempt.
+        runtime.close();
+        assertTrue(pool.getAddedTickets() > 10_000, "Added only " + pool.getAddedTickets());
+        assertTrue(pool.getPurchasedTickets() > 10_000, "Purchased only " + pool.getPurchasedTickets());
+        assertEquals(pool.getAddedTickets() + pool.getPurchasedTickets(), runtime.getCompletedOps());
+    }
+
+    @Test
+    void testEmptyPoolCountsMissesInsteadOfBlocking() throws InterruptedException {
+        TicketPool pool = new ReentrantLockTicketPool(10);
+        try (ClientRuntime runtime = new ClientRuntime(1)) {
+            List<SimulatedClient> consumers = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                consumers.add(runtime.addConsumer(pool, 100));
+            }
+            SimulatedClient producer = runtime.addProducer(pool, 20);
+            Thread.sleep(500);
+            assertTrue(producer.getCompleted() >= 8, "A single worker must not be parked by the consumers");
+            assertTrue(runtime.getMissedOps() > 100, "Consumers on an empty pool should miss, not wait");
+            assertEquals(producer.getCompleted(), pool.getAddedTickets());
+            assertTrue(consumers.stream().allMatch(SimulatedClient::isRunning));
+        }
+    }
+
+    @Test
+    void testStoppedClientDoesNoMoreWork() throws InterruptedException {
+        TicketPool pool = new ReentrantLockTicketPool(100);
+        try (ClientRuntime runtime = new ClientRuntime(1)) {
+            SimulatedClient producer = runtime.addProducer(pool, 200);
+            Thread.sleep(100);
+            producer.stop();
+            Thread.sleep(20);
+            int added = pool.getAddedTickets();
+            Thread.sleep(100);
+            assertEquals(added, pool.getAddedTickets());
+            assertFalse(producer.isRunning());
+            assertEquals(0, runtime.getClientCount());
+        }
+    }
+
+    @Test
+    void testCloseStopsEveryClient() throws InterruptedException {
+        TicketPool pool = new ReentrantLockTicketPool(100);
+        ClientRuntime runtime = new ClientRuntime(2);
+        SimulatedClient producer = runtime.addProducer(pool, 50);
+        runtime.close();
+        assertFalse(producer.isRunning());
+        assertEquals(0, runtime.getClientCount());
+        assertThrows(IllegalArgumentException.class, () -> new ClientRuntime(0));
+    }
+
+    @Test
+    void testFailingPoolCallStopsAndReportsTheClient() throws InterruptedException {
+        TicketPool pool = new ReentrantLockTicketPool(10) {
+            @Override
+            public Ticket tryPurchaseTicket() {
+                throw new IllegalStateException("pool broke");
+            }
+        };
+        try (ClientRuntime runtime = new ClientRuntime(1)) {
+            SimulatedClient consumer = runtime.addConsumer(pool, 100);
+            SimulatedClient producer = runtime.addProducer(pool, 100);
+            Thread.sleep(200);
+            assertFalse(consumer.isRunning(), "A failing pool call should stop the client");
+            assertInstanceOf(IllegalStateException.class, consumer.getFailure());
+            assertTrue(producer.isRunning(), "Other clients keep going");
+            assertEquals(1, runtime.getFailedClients());
+            assertEquals(1, runtime.getClientCount());
+            assertTrue(pool.getLogs().contains("pool broke"), "The failure should reach the pool's log");
+        }
+    }
+
+    @Test
+    void testStoppedClientsAreDroppedButStillCounted() throws InterruptedException {
+        TicketPool pool = new ReentrantLockTicketPool(1_000);
+        try (ClientRuntime runtime = new ClientRuntime(1)) {
+            SimulatedClient producer = runtime.addProducer(pool, 200);
+            Thread.sleep(100);
+            producer.stop();
+            Thread.sleep(50);
+            assertEquals(0, runtime.getClientCount());
+            assertEquals(producer.getCompleted(), runtime.getCompletedOps(), "A dropped client keeps its counts");
+            assertEquals(pool.getAddedTickets(), runtime.getCompletedOps());
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ProducerTest {
@@ -54,4 +56,20 @@ class ProducerTest {
         producerThread.join(1000);
         assertTrue(pool.getAddedTickets() >= 5, "Producer did not add additional tickets once stopped");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testProducedTicketsAreCompact() throws InterruptedException {
+        Thread producerThread = new Thread(producer);
+        producerThread.start();
+        Ticket first = pool.purchaseTicket();
+        producer.stop();
+        producerThread.interrupt();
+        producerThread.join(2000);
+
+        assertEquals("Tomorrowland", first.getEventName());
+        assertEquals(100.0, first.getPrice());
+        assertTrue(first.getId().endsWith("]-1"), "The first ticket of a producer is sequence 1");
+        assertNotEquals(Producer.newTicket(Producer.nextSource(), 1).getId(), first.getId(),
+                "Each producer mints ids from its own source");
+    }
+}
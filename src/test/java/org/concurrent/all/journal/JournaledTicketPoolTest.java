@@ -0,0 +1,346 @@
+package org.concurrent.all.journal;
+
+import org.concurrent.all.model.EventRegistry;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledTicketPoolTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testStateIsRebuiltFromJournal() throws Exception {
+        Path file = dir.resolve("pool.journal");
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            pool.addTicket(new Ticket("1", "Festival", 100.0));
+            pool.addTicket(new Ticket("2", "Festival", 120.0));
+            pool.addTickets(List.of(new Ticket("3", "Concert", 50.0), new Ticket("4", "Concert", 50.0)));
+            assertEquals("1", pool.purchaseTicket().getId());
+            pool.purchaseTickets(1, new ArrayList<>());
+            pool.performExclusiveUpdate();
+        }
+
+        try (JournaledTicketPool pool = new JournaledTicketPool(new BlockingQueueTicketPool(10), file)) {
+            assertEquals(4, pool.getAddedTickets());
+            assertEquals(2, pool.getPurchasedTickets());
+            assertEquals(2, pool.getAvailableTickets());
+            assertEquals(1, pool.getVersion());
+            assertEquals(220.0, pool.getTotalRevenue(), 0.001);
+            assertEquals(100.0, pool.getTotalUnsoldValue(), 0.001);
+            assertEquals(new PoolSnapshot(2, 10, 4, 2, 1, 0, 220_00, 100_00), pool.snapshot());
+            assertEquals("3", pool.purchaseTicket().getId(), "Unsold tickets are restored in add order");
+
+            pool.addTicket(new Ticket("5", "Concert", 50.0));
+            assertEquals(5, pool.getAddedTickets());
+            assertEquals(3, pool.getPurchasedTickets());
+        }
+
+        try (JournaledTicketPool pool = new JournaledTicketPool(new RingBufferTicketPool(10), file)) {
+            assertEquals(5, pool.getAddedTickets());
+            assertEquals(3, pool.getPurchasedTickets());
+            assertEquals(2, pool.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void testAsyncCallsAreJournaled() throws Exception {
+        Path file = dir.resolve("async.journal");
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(1), file)) {
+            CompletableFuture<Ticket> purchase = pool.purchaseTicketAsync();
+            assertTrue(pool.addTicketAsync(new Ticket("1", "Festival", 100.0)).get(1, TimeUnit.SECONDS));
+            assertFalse(purchase.cancel(false), "A purchase the pool has served cannot be withdrawn");
+            assertEquals("1", purchase.get(1, TimeUnit.SECONDS).getId());
+            assertTrue(pool.addTicketAsync(new Ticket("2", "Festival", 100.0)).get(1, TimeUnit.SECONDS));
+            assertFalse(pool.addTicketAsync(new Ticket("3", "Festival", 100.0), 50, TimeUnit.MILLISECONDS)
+                    .get(1, TimeUnit.SECONDS), "A timed-out add is neither made nor journaled");
+        }
+
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            assertEquals(2, pool.getAddedTickets());
+            assertEquals(1, pool.getPurchasedTickets());
+            assertEquals("2", pool.tryPurchaseTicket().getId());
+        }
+    }
+
+    @Test
+    void testTornTailIsTruncated() throws Exception {
+        Path file = dir.resolve("torn.journal");
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            pool.addTicket(new Ticket("1", "Festival", 100.0));
+            pool.addTicket(new Ticket("2", "Festival", 100.0));
+        }
+        long intact = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            // Header of a record whose payload never made it to disk.
+            channel.write(ByteBuffer.allocate(10).putInt(40).putInt(7).flip());
+        }
+
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            assertEquals(2, pool.getAvailableTickets());
+            assertEquals(intact, Files.size(file), "The torn record should be truncated");
+            pool.purchaseTicket();
+        }
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            assertEquals(1, pool.getPurchasedTickets());
+            assertEquals(1, pool.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void testPurchaseJournaledBeforeItsAdd() throws IOException {
+        Path file = dir.resolve("reordered.journal");
+        Ticket ticket = new Ticket("1", "Festival", 100.0);
+        try (Journal journal = new Journal(file)) {
+            journal.recover();
+            journal.append(Journal.PURCHASE, ticket);
+            journal.awaitDurable(journal.append(Journal.ADD, ticket));
+        }
+        try (Journal journal = new Journal(file)) {
+            Journal.Recovery recovery = journal.recover();
+            assertTrue(recovery.getRemainingTickets().isEmpty());
+            assertEquals(1, recovery.getAddedTickets());
+            assertEquals(1, recovery.getPurchasedTickets());
+        }
+    }
+
+    @Test
+    void testPricesAreStoredAsExactCents() throws IOException {
+        Path file = dir.resolve("cents.journal");
+        // 2^53 + 1 cents has no exact double, in cents or in dollars.
+        long cents = (1L << 53) + 1;
+        try (Journal journal = new Journal(file)) {
+            journal.recover();
+            journal.awaitDurable(journal.append(Journal.ADD, Ticket.ofCents("1", "Festival", cents)));
+            journal.checkpoint();
+            journal.awaitDurable(journal.append(Journal.ADD, Ticket.ofCents("2", "Festival", cents + 2)));
+        }
+        try (Journal journal = new Journal(file)) {
+            List<Ticket> remaining = journal.recover().getRemainingTickets();
+            assertEquals(cents, remaining.get(0).getPriceCents(), "Snapshot price");
+            assertEquals(cents + 2, remaining.get(1).getPriceCents(), "Journal price");
+        }
+    }
+
+    @Test
+    void testCompactTicketsKeepTheirIdentity() throws IOException {
+        Path file = dir.resolve("compact.journal");
+        int eventId = EventRegistry.idOf("Festival");
+        try (Journal journal = new Journal(file)) {
+            journal.recover();
+            journal.awaitDurable(journal.append(Journal.ADD, Ticket.compact(41, eventId, 100_00)));
+            journal.checkpoint();
+            journal.awaitDurable(journal.append(Journal.ADD, Ticket.compact(42, eventId, 100_00)));
+            journal.awaitDurable(journal.append(Journal.ADD, new Ticket("43", "Festival", 100.0)));
+        }
+        try (Journal journal = new Journal(file)) {
+            List<Ticket> remaining = journal.recover().getRemainingTickets();
+            for (int i = 0; i < 2; i++) {
+                Ticket ticket = remaining.get(i);
+                assertTrue(ticket.isCompact(), "Ticket " + i + " should come back compact");
+                assertEquals(41 + i, ticket.getNumber());
+                assertEquals(eventId, ticket.getEventId());
+                assertEquals(100_00, ticket.getPriceCents());
+            }
+            assertFalse(remaining.get(2).isCompact());
+            assertEquals("43", remaining.get(2).getId());
+        }
+    }
+
+    @Test
+    void testTryOperationsAreJournaled() throws Exception {
+        Path file = dir.resolve("try.journal");
+        try (JournaledTicketPool pool = new JournaledTicketPool(new RingBufferTicketPool(2), file)) {
+            assertTrue(pool.tryAddTicket(new Ticket("1", "Festival", 100.0)));
+            assertTrue(pool.tryAddTicket(new Ticket("2", "Festival", 100.0)));
+            assertFalse(pool.tryAddTicket(new Ticket("3", "Festival", 100.0)), "The pool is full");
+            assertEquals("1", pool.tryPurchaseTicket().getId());
+            assertEquals("2", pool.tryPurchaseTicket(1, TimeUnit.SECONDS).getId());
+            assertNull(pool.tryPurchaseTicket(10, TimeUnit.MILLISECONDS));
+            assertEquals(1, pool.getTimeouts(), "Only the timed purchase waited and ran out");
+            assertTrue(pool.tryAddTicket(new Ticket("4", "Festival", 100.0), 1, TimeUnit.SECONDS));
+        }
+        try (JournaledTicketPool pool = new JournaledTicketPool(new RingBufferTicketPool(2), file)) {
+            assertEquals(3, pool.getAddedTickets(), "A rejected add is not journaled");
+            assertEquals(2, pool.getPurchasedTickets());
+            assertEquals("4", pool.tryPurchaseTicket().getId());
+            assertNull(pool.tryPurchaseTicket());
+        }
+    }
+
+    @Test
+    void testConcurrentCallersShareCommits() throws Exception {
+        Path file = dir.resolve("group.journal");
+        int threads = 8;
+        int perThread = 200;
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(16), file)) {
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int n = i;
+                workers.add(new Thread(() -> {
+                    try {
+                        for (int j = 0; j < perThread; j++) {
+                            if (n % 2 == 0) {
+                                pool.addTicket(new Ticket(n + "-" + j, "Event", 10.0));
+                            } else {
+                                pool.purchaseTicket();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, "Worker-" + i));
+            }
+            workers.forEach(Thread::start);
+            for (Thread t : workers) {
+                t.join();
+            }
+            assertEquals(threads / 2 * perThread, pool.getPurchasedTickets());
+            assertTrue(pool.getPoolInfo().contains("Journal: "));
+        }
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(16), file)) {
+            assertEquals(threads / 2 * perThread, pool.getAddedTickets());
+            assertEquals(threads / 2 * perThread, pool.getPurchasedTickets());
+            assertEquals(0, pool.getAvailableTickets());
+            assertEquals(threads / 2 * perThread * 10.0, pool.getTotalRevenue(), 0.001);
+        }
+    }
+
+    @Test
+    void testCheckpointFoldsJournalIntoSnapshot() throws Exception {
+        Path file = dir.resolve("checkpoint.journal");
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            for (int i = 0; i < 5; i++) {
+                pool.addTicket(new Ticket(String.valueOf(i), "Festival", 100.0));
+            }
+            pool.purchaseTicket();
+            pool.performExclusiveUpdate();
+            pool.checkpoint();
+            assertEquals(0, Files.size(file), "The checkpoint should empty the active journal");
+            assertTrue(Files.exists(dir.resolve("checkpoint.journal.snapshot")));
+            assertTrue(pool.getPoolInfo().contains("1 checkpoints"));
+
+            pool.purchaseTicket();
+            pool.addTicket(new Ticket("5", "Concert", 40.0));
+        }
+
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ShardedTicketPool(10), file)) {
+            assertEquals(6, pool.getAddedTickets());
+            assertEquals(2, pool.getPurchasedTickets());
+            assertEquals(4, pool.getAvailableTickets());
+            assertEquals(1, pool.getVersion());
+            assertEquals(200.0, pool.getTotalRevenue(), 0.001);
+            assertEquals(340.0, pool.getTotalUnsoldValue(), 0.001);
+            pool.checkpoint();
+        }
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            assertEquals(6, pool.getAddedTickets());
+            assertEquals(4, pool.getAvailableTickets());
+            assertEquals("2", pool.purchaseTicket().getId());
+        }
+    }
+
+    @Test
+    void testUnfoldedCheckpointIsRecovered() throws Exception {
+        Path file = dir.resolve("crashed.journal");
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            pool.addTicket(new Ticket("1", "Festival", 100.0));
+            pool.addTicket(new Ticket("2", "Festival", 100.0));
+        }
+        // As if the process died right after rotating the journal for checkpoint 1.
+        Files.move(file, dir.resolve("crashed.journal.checkpoint-1"));
+
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            assertEquals(2, pool.getAvailableTickets());
+            assertEquals(2, pool.getAddedTickets());
+            assertFalse(Files.exists(dir.resolve("crashed.journal.checkpoint-1")));
+            assertTrue(pool.getPoolInfo().contains("1 checkpoints"));
+        }
+    }
+
+    @Test
+    void testFailedCheckpointIsFoldedByTheNext() throws Exception {
+        Path file = dir.resolve("retried.journal");
+        Path blocker = dir.resolve("retried.journal.snapshot.tmp");
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            pool.addTicket(new Ticket("1", "Festival", 100.0));
+            pool.addTicket(new Ticket("2", "Festival", 100.0));
+            // The snapshot cannot be written, so the checkpoint fails after rotating.
+            Files.createDirectories(blocker.resolve("taken"));
+            assertThrows(IOException.class, pool::checkpoint);
+            assertTrue(Files.exists(dir.resolve("retried.journal.checkpoint-1")));
+
+            pool.addTicket(new Ticket("3", "Festival", 100.0));
+            pool.purchaseTicket();
+            Files.delete(blocker.resolve("taken"));
+            Files.delete(blocker);
+            pool.checkpoint();
+            assertFalse(Files.exists(dir.resolve("retried.journal.checkpoint-1")));
+            assertFalse(Files.exists(dir.resolve("retried.journal.checkpoint-2")));
+            assertTrue(pool.getPoolInfo().contains("2 checkpoints"));
+        }
+
+        try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(10), file)) {
+            assertEquals(3, pool.getAddedTickets(), "The rotated file of the failed checkpoint must not be lost");
+            assertEquals(1, pool.getPurchasedTickets());
+            assertEquals(2, pool.getAvailableTickets());
+        }
+    }
+
+    @Test
+    void testCheckpointWhileProducersAndConsumersRun() throws Exception {
+        Path file = dir.resolve("online.journal");
+        int perThread = 500;
+        try (JournaledTicketPool pool = new JournaledTicketPool(new RingBufferTicketPool(perThread), file)) {
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        pool.addTicket(new Ticket("P-" + i, "Event", 10.0));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "Producer");
+            Thread consumer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread / 2; i++) {
+                        pool.purchaseTicket();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "Consumer");
+            producer.start();
+            consumer.start();
+            while (producer.isAlive() || consumer.isAlive()) {
+                pool.checkpoint();
+                Thread.sleep(5);
+            }
+        }
+        try (JournaledTicketPool pool = new JournaledTicketPool(new RingBufferTicketPool(perThread), file)) {
+            assertEquals(perThread, pool.getAddedTickets());
+            assertEquals(perThread / 2, pool.getPurchasedTickets());
+            assertEquals(perThread / 2, pool.getAvailableTickets());
+            assertEquals(perThread / 2 * 10.0, pool.getTotalRevenue(), 0.001);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.concurrent.all.log;
+
+import org.concurrent.all.model.EventRegistry;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.model.TicketId;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecordsRoundTrip() throws IOException {
+        int event = EventRegistry.idOf("Audit");
+        long id = TicketId.of(1, 2, 3);
+        EventLog log = new EventLog();
+        Instant before = Instant.now();
+        try (AuditLog audit = new AuditLog(dir, 16, 4)) {
+            log.setAuditLog(audit);
+            log.log(LogAction.ADDED, Ticket.compact(id, event, 12_34));
+            log.log(LogAction.WAIT, "Pool FULL");
+            log.log(LogAction.UPDATE, 7);
+            log.log(LogAction.MESSAGE, "not audited");
+            log.getLogs();
+            assertEquals(3, audit.getWrittenRecords());
+        }
+
+        List<AuditLogDecoder.Entry> entries = readAll();
+        assertEquals(3, entries.size());
+        AuditLogDecoder.Entry added = entries.get(0);
+        assertEquals(LogAction.ADDED, added.action());
+        assertEquals(id, added.ticketId());
+        assertEquals(12_34, added.priceCents());
+        assertEquals(event, added.eventId());
+        assertEquals(Thread.currentThread().getId(), added.threadId());
+        assertFalse(added.timestamp().isBefore(before.minusSeconds(1)));
+        assertEquals(LogAction.WAIT, entries.get(1).action());
+        assertEquals(7, entries.get(2).ticketId());
+        assertTrue(added.render().endsWith("ADDED ticket=" + TicketId.toString(id) + " event=#" + event + " price=12.34"));
+    }
+
+    @Test
+    void testFailedRotationStopsAuditingButNotThePool() throws Exception {
+        TicketPool pool = new ReentrantLockTicketPool(100);
+        // Each string-id ticket takes two slots, so four fit in a segment.
+        try (AuditLog audit = new AuditLog(dir, 8, 4)) {
+            pool.setAuditLog(audit);
+            // Take the next segment's name, so creating it fails.
+            Files.createFile(dir.resolve(String.format("%016d%s", 1, AuditLog.SUFFIX)));
+            for (int i = 0; i < 10; i++) {
+                assertTrue(pool.addTicket(new Ticket(String.valueOf(i), "Audit", 1.0)));
+            }
+            pool.getLogs();
+            assertEquals(4, audit.getWrittenRecords());
+            assertEquals(6, audit.getDroppedRecords());
+            assertNotNull(audit.getFailure());
+        }
+        assertEquals(10, pool.getAddedTickets());
+    }
+
+    @Test
+    void testSegmentsRotateAndOldestAreDeleted() throws IOException {
+        EventLog log = new EventLog();
+        try (AuditLog audit = new AuditLog(dir, 4, 2)) {
+            log.setAuditLog(audit);
+            for (int i = 0; i < 10; i++) {
+                log.log(LogAction.UPDATE, i);
+            }
+            log.getLogs();
+        }
+
+        assertEquals(2, AuditLog.segments(dir).size());
+        List<AuditLogDecoder.Entry> entries = readAll();
+        assertEquals(6, entries.size(), "Only the two newest segments are kept");
+        assertEquals(4, entries.get(0).ticketId());
+        assertEquals(9, entries.get(5).ticketId());
+    }
+
+    @Test
+    void testSegmentsAreKeptUnlessRetentionIsAskedFor() throws IOException {
+        EventLog log = new EventLog();
+        try (AuditLog audit = new AuditLog(dir, 4, AuditLog.KEEP_ALL_SEGMENTS)) {
+            log.setAuditLog(audit);
+            for (int i = 0; i < 40; i++) {
+                log.log(LogAction.UPDATE, i);
+            }
+            log.getLogs();
+        }
+
+        assertEquals(10, AuditLog.segments(dir).size());
+        assertEquals(40, readAll().size(), "No record of the audit trail is deleted by default");
+        assertThrows(IllegalArgumentException.class, () -> new AuditLog(dir, 4, -1));
+    }
+
+    @Test
+    void testStringIdsAreRecorded() throws IOException {
+        EventLog log = new EventLog();
+        String longId = "order-" + "x".repeat(200);
+        try (AuditLog audit = new AuditLog(dir, 4, AuditLog.KEEP_ALL_SEGMENTS)) {
+            log.setAuditLog(audit);
+            log.log(LogAction.ADDED, new Ticket("A-17", "Audit", 5.0));
+            log.log(LogAction.PURCHASED, new Ticket(longId, "Audit", 5.0));
+            log.log(LogAction.UPDATE, 3);
+            log.getLogs();
+            assertEquals(3, audit.getWrittenRecords());
+        }
+
+        List<AuditLogDecoder.Entry> entries = readAll();
+        assertEquals(3, entries.size());
+        assertEquals("A-17", entries.get(0).ticketName());
+        assertEquals(0, entries.get(0).ticketId());
+        assertEquals(5_00, entries.get(0).priceCents());
+        // Four slots per segment leave three, 120 bytes, for the id.
+        assertEquals(longId.substring(0, 120), entries.get(1).ticketName(), "An id is cut to what a segment holds");
+        assertEquals(LogAction.PURCHASED, entries.get(1).action());
+        assertNull(entries.get(2).ticketName());
+        assertEquals(3, entries.get(2).ticketId());
+        assertTrue(entries.get(0).render().contains("ADDED ticket=A-17 event="));
+    }
+
+    @Test
+    void testRecordsTheRingDropsStillReachTheAuditLog() throws Exception {
+        EventLog log = new EventLog(2);
+        int threads = 8;
+        int perThread = 5_000;
+        try (AuditLog audit = new AuditLog(dir)) {
+            log.setAuditLog(audit);
+            Thread[] publishers = new Thread[threads];
+            for (int i = 0; i < threads; i++) {
+                publishers[i] = new Thread(() -> {
+                    for (int j = 0; j < perThread; j++) {
+                        log.log(LogAction.UPDATE, j);
+                    }
+                });
+                publishers[i].start();
+            }
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+            long lines = log.getLogs().lines().count();
+            assertEquals(threads * perThread, lines + log.getDroppedRecords());
+            assertEquals(threads * perThread, audit.getWrittenRecords(), "Dropped display records are still audited");
+        }
+    }
+
+    @Test
+    void testLogPoliciesDoNotFilterTheAuditLog() throws Exception {
+        TicketPool pool = new ReentrantLockTicketPool(1_000);
+        pool.setLogPolicy(LogCategory.ACTIONS, LogPolicy.oneIn(1_000));
+        try (AuditLog audit = new AuditLog(dir)) {
+            pool.setAuditLog(audit);
+            for (int i = 0; i < 500; i++) {
+                pool.addTicket(new Ticket(String.valueOf(i), "Audit", 1.0));
+            }
+            for (int i = 0; i < 200; i++) {
+                pool.purchaseTicket();
+            }
+            long shown = pool.getLogs().lines().filter(line -> !line.contains("suppressed")).count();
+            assertTrue(shown < 50, "The policy should still thin out the display log, showed " + shown);
+        }
+
+        List<AuditLogDecoder.Entry> entries = readAll();
+        assertEquals(500, entries.stream().filter(e -> e.action() == LogAction.ADDED).count(), "Every add is audited");
+        assertEquals(200, entries.stream().filter(e -> e.action() == LogAction.PURCHASED).count(), "Every sale is audited");
+    }
+
+    @Test
+    void testReopeningContinuesAfterExistingSegments() throws IOException {
+        EventLog log = new EventLog();
+        try (AuditLog audit = new AuditLog(dir, 4, 8)) {
+            log.setAuditLog(audit);
+            log.log(LogAction.UPDATE, 1);
+            log.getLogs();
+        }
+        try (AuditLog audit = new AuditLog(dir, 4, 8)) {
+            log.setAuditLog(audit);
+            log.log(LogAction.UPDATE, 2);
+            log.getLogs();
+        }
+
+        List<AuditLogDecoder.Entry> entries = readAll();
+        assertEquals(2, entries.size());
+        assertEquals(1, entries.get(0).ticketId());
+        assertEquals(2, entries.get(1).ticketId());
+    }
+
+    @Test
+    void testDecoderFiltersByActionAndTime() throws Exception {
+        TicketPool pool = new ReentrantLockTicketPool(10);
+        try (AuditLog audit = new AuditLog(dir)) {
+            pool.setAuditLog(audit);
+            pool.addTicket(new Ticket("1", "Event", 10.0));
+            pool.addTicket(new Ticket("2", "Event", 20.0));
+            pool.purchaseTicket();
+            pool.getLogs();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        AuditLogDecoder.decode(List.of(dir),
+                AuditLogDecoder.filter(Instant.MIN, Instant.MAX, EnumSet.of(LogAction.PURCHASED)), out);
+        List<String> lines = bytes.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("PURCHASED ticket=1 event=#" + EventRegistry.idOf("Event") + " price=10.00"));
+
+        bytes.reset();
+        AuditLogDecoder.decode(List.of(dir),
+                AuditLogDecoder.filter(Instant.now().plusSeconds(60), Instant.MAX, EnumSet.allOf(LogAction.class)), out);
+        assertEquals(0, bytes.size(), "Nothing was written in the future");
+    }
+
+    @Test
+    void testDecoderRejectsOtherFiles() throws IOException {
+        Path file = Files.write(dir.resolve("other.audit"), new byte[64]);
+        assertThrows(IOException.class, () -> AuditLogDecoder.read(file, entry -> { }));
+    }
+
+    private List<AuditLogDecoder.Entry> readAll() throws IOException {
+        List<AuditLogDecoder.Entry> entries = new ArrayList<>();
+        for (Path segment : AuditLog.segments(dir)) {
+            AuditLogDecoder.read(segment, entries::add);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,195 @@
+package org.concurrent.all.log;
+
+import org.concurrent.all.model.Ticket;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogTest {
+
+    @Test
+    void testRendersRecordsInPublishOrder() {
+        EventLog log = new EventLog();
+        Ticket ticket = new Ticket("1", "Event", 10.0);
+        log.log(LogAction.ADDED, ticket);
+        log.log(LogAction.WAIT, "Pool EMPTY");
+        log.log(LogAction.UPDATE, 3);
+        log.log(LogAction.MESSAGE, "hello");
+
+        String[] lines = log.getLogs().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].endsWith("[" + Thread.currentThread().getName() + "] Added " + ticket));
+        assertTrue(lines[1].endsWith("] WAIT - Pool EMPTY"));
+        assertTrue(lines[2].endsWith("] updated version to 3"));
+        assertTrue(lines[3].endsWith("] hello"));
+        assertTrue(lines[0].matches("\\d{2}:\\d{2}:\\d{2}\\.\\d{3} \\[.*"), "Lines should start with a timestamp");
+    }
+
+    @Test
+    void testPublishingBeyondBufferCapacityKeepsRecords() {
+        EventLog log = new EventLog(8);
+        for (int i = 0; i < 100; i++) {
+            log.log(LogAction.UPDATE, i);
+        }
+        assertEquals(100, log.getLogs().lines().count());
+        assertEquals(0, log.getDroppedRecords());
+    }
+
+    @Test
+    void testConcurrentPublishers() throws InterruptedException {
+        EventLog log = new EventLog(64);
+        int threads = 4;
+        int perThread = 1000;
+        Thread[] publishers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            publishers[i] = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    log.log(LogAction.MESSAGE, "msg");
+                }
+            }, "Publisher-" + i);
+            publishers[i].start();
+        }
+        for (Thread t : publishers) {
+            t.join();
+        }
+        long lines = log.getLogs().lines().count();
+        assertEquals(threads * perThread, lines + log.getDroppedRecords());
+    }
+
+    @Test
+    void testLogsSinceReturnsOnlyNewLinesAndNextCursor() {
+        EventLog log = new EventLog();
+        for (int i = 0; i < 5; i++) {
+            log.log(LogAction.UPDATE, i);
+        }
+        log.getLogs();
+
+        LogBatch first = log.getLogsSince(0, 3);
+        assertEquals(3, first.lines().size());
+        assertEquals(3, first.next());
+        assertTrue(first.lines().get(0).endsWith("updated version to 0"));
+
+        LogBatch rest = log.getLogsSince(first.next(), 100);
+        assertEquals(2, rest.lines().size());
+        assertEquals(5, rest.next());
+        assertTrue(rest.lines().get(1).endsWith("updated version to 4"));
+
+        LogBatch none = log.getLogsSince(rest.next(), 100);
+        assertTrue(none.lines().isEmpty());
+        assertEquals(5, none.next());
+    }
+
+    @Test
+    void testHistoryIsBoundedAndSkipsLostLines() {
+        EventLog log = new EventLog(8, 16);
+        for (int i = 0; i < 100; i++) {
+            log.log(LogAction.UPDATE, i);
+        }
+        assertEquals(16, log.getLogs().lines().count());
+        assertEquals(100, log.getRenderedLines());
+
+        LogBatch batch = log.getLogsSince(0, 100);
+        assertEquals(16, batch.lines().size());
+        assertEquals(100, batch.next());
+        assertTrue(batch.lines().get(0).endsWith("updated version to 84"));
+    }
+
+    @Test
+    void testTailingWhilePublishingSeesEveryLineOnce() throws InterruptedException {
+        EventLog log = new EventLog(64, 1 << 16);
+        int total = 20_000;
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                log.log(LogAction.UPDATE, i);
+            }
+        }, "Publisher");
+        publisher.start();
+
+        long cursor = 0;
+        int seen = 0;
+        int last = -1;
+        while (publisher.isAlive() || cursor < log.getRenderedLines()) {
+            LogBatch batch = log.getLogsSince(cursor, 256);
+            for (String line : batch.lines()) {
+                int version = Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1));
+                assertTrue(version > last, "Lines must arrive once and in order");
+                last = version;
+                seen++;
+            }
+            cursor = batch.next();
+            log.getLogs();
+        }
+        publisher.join();
+        assertEquals(total, seen + log.getDroppedRecords());
+    }
+
+    @Test
+    void testLogsSinceRejectsNegativeArguments() {
+        EventLog log = new EventLog();
+        assertThrows(IllegalArgumentException.class, () -> log.getLogsSince(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> log.getLogsSince(0, -1));
+    }
+
+    @Test
+    void testPolicyOffSuppressesAndSummarizesCategory() throws InterruptedException {
+        EventLog log = new EventLog();
+        log.setPolicy(LogCategory.WAITS, LogPolicy.OFF);
+        for (int i = 0; i < 10; i++) {
+            log.log(LogAction.WAIT, "Pool EMPTY");
+        }
+        log.log(LogAction.ADDED, new Ticket("1", "Event", 10.0));
+        assertEquals(10, log.getSuppressed(LogAction.WAIT));
+        assertEquals(0, log.getSuppressed(LogAction.ADDED));
+
+        Thread.sleep(1_100);
+        List<String> lines = log.getLogs().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("] Added "));
+        assertTrue(lines.get(1).endsWith("suppressed WAIT=10"), lines.get(1));
+
+        Thread.sleep(1_100);
+        assertEquals(2, log.getLogs().lines().count(), "Counts are summarized once");
+    }
+
+    @Test
+    void testSamplingPolicies() {
+        EventLog log = new EventLog();
+        log.setPolicy(LogCategory.UPDATES, LogPolicy.perSecond(5));
+        for (int i = 0; i < 100; i++) {
+            log.log(LogAction.UPDATE, i);
+        }
+        assertEquals(5, log.getLogs().lines().count());
+        assertEquals(95, log.getSuppressed(LogAction.UPDATE));
+
+        log.setPolicy(LogCategory.MESSAGES, LogPolicy.oneIn(10));
+        for (int i = 0; i < 10_000; i++) {
+            log.log(LogAction.MESSAGE, "msg");
+        }
+        long kept = 10_000 - log.getSuppressed(LogAction.MESSAGE);
+        assertTrue(kept > 700 && kept < 1300, "About one in ten should be kept, got " + kept);
+    }
+
+    @Test
+    void testPolicyParsing() {
+        assertSame(LogPolicy.ALL, LogPolicy.parse("all"));
+        assertSame(LogPolicy.OFF, LogPolicy.parse("OFF"));
+        assertEquals("1/100", LogPolicy.parse("1/100").toString());
+        assertEquals("20/s", LogPolicy.parse(" 20/s ").toString());
+        assertThrows(IllegalArgumentException.class, () -> LogPolicy.parse("sometimes"));
+        assertThrows(IllegalArgumentException.class, () -> LogPolicy.parse("1/0"));
+    }
+
+    @Test
+    void testPolicyFromSystemProperty() {
+        System.setProperty(LogCategory.ACTIONS.property(), "off");
+        try {
+            EventLog log = new EventLog();
+            assertSame(LogPolicy.OFF, log.getPolicy(LogCategory.ACTIONS));
+            assertSame(LogPolicy.ALL, log.getPolicy(LogCategory.WAITS));
+        } finally {
+            System.clearProperty(LogCategory.ACTIONS.property());
+        }
+    }
+}
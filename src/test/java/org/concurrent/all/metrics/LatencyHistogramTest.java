@@ -0,0 +1,82 @@
+package org.concurrent.all.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+        assertEquals(50, histogram.getCount());
+        assertEquals(25, histogram.getValueAtPercentile(50));
+        assertEquals(50, histogram.getValueAtPercentile(100));
+        assertEquals(1, histogram.getMin());
+        assertEquals(25.5, histogram.getMean(), 0.0001);
+    }
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 1_000_000; v++) {
+            histogram.record(v * 1_000);
+        }
+        assertRelativelyClose(500_000_000L, histogram.getValueAtPercentile(50));
+        assertRelativelyClose(990_000_000L, histogram.getValueAtPercentile(99));
+        assertRelativelyClose(999_000_000L, histogram.getValueAtPercentile(99.9));
+        assertEquals(1_000_000_000L, histogram.getMax(), "Max should be exact");
+    }
+
+    @Test
+    void testBucketIndexIsMonotonicAndCoversLongRange() {
+        int previous = -1;
+        for (long v = 0; v < 100_000; v++) {
+            int index = LatencyHistogram.indexOf(v);
+            assertTrue(index >= previous);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= v);
+            previous = index;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalentValue(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void testAddMergesCounts() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        b.record(20);
+        b.record(5_000);
+        a.add(b);
+        assertEquals(3, a.getCount());
+        assertEquals(5_000, a.getMax());
+        assertEquals(10, a.getMin());
+    }
+
+    @Test
+    void testRecorderMergesPerThreadHistograms() throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    recorder.record(j);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        LatencyHistogram merged = recorder.snapshot();
+        assertEquals(40_000, merged.getCount());
+        assertEquals(9_999, merged.getMax());
+    }
+
+    private static void assertRelativelyClose(long expected, long actual) {
+        assertEquals(expected, actual, expected * 0.035, "Value should be within the histogram precision");
+    }
+}
@@ -0,0 +1,20 @@
+package org.concurrent.all.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SeatedTicketTest {
+
+    @Test
+    void testSeatCoordinatesAndToString() {
+        SeatedTicket ticket = new SeatedTicket("Super Ball", 150.50, "A", 3, 14);
+        assertEquals("A-R3-S14", ticket.getId());
+        assertEquals("A", ticket.getSection());
+        assertEquals(3, ticket.getRow());
+        assertEquals(14, ticket.getSeat());
+        String expected = String.format("SeatedTicket{id='%s', event='%s', price=%.2f, section='%s', row=%d, seat=%d}",
+                "A-R3-S14", "Super Ball", 150.50, "A", 3, 14);
+        assertEquals(expected, ticket.toString());
+    }
+}
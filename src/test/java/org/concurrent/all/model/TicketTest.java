@@ -3,6 +3,8 @@ package org.concurrent.all.model;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TicketTest {
 
@@ -14,5 +16,44 @@ class TicketTest {
                 "ID123", "Super Ball", 150.50);
         assertEquals(expected, ticket.toString());
     }
-}
 
+    @Test
+    void testPriceIsHeldInCents() {
+        assertEquals(15050, new Ticket("ID123", "Super Ball", 150.50).getPriceCents());
+        assertEquals(30, new Ticket("ID124", "Super Ball", 0.1 + 0.2).getPriceCents(),
+                "Dollar prices are rounded to the nearest cent");
+        Ticket ticket = Ticket.ofCents("ID125", "Super Ball", 1999);
+        assertEquals(19.99, ticket.getPrice());
+        assertEquals(1999, ticket.getPriceCents());
+    }
+
+    @Test
+    void testCompactTicketRendersItsIdOnDemand() {
+        int event = EventRegistry.idOf("Super Ball");
+        Ticket ticket = Ticket.compact(TicketId.of(2, 7, 42), event, 15050);
+        assertEquals("[2.7]-42", ticket.getId());
+        assertEquals("Super Ball", ticket.getEventName());
+        assertEquals(event, ticket.getEventId());
+        assertEquals(150.50, ticket.getPrice());
+        assertEquals("Ticket{id='[2.7]-42', event='Super Ball', price=150.50}", ticket.toString());
+    }
+
+    @Test
+    void testTicketIdFields() {
+        long id = TicketId.of(TicketId.MAX_NODE, TicketId.MAX_SOURCE, TicketId.MAX_SEQUENCE);
+        assertEquals(TicketId.MAX_NODE, TicketId.node(id));
+        assertEquals(TicketId.MAX_SOURCE, TicketId.source(id));
+        assertEquals(TicketId.MAX_SEQUENCE, TicketId.sequence(id));
+        assertEquals(1, TicketId.source(TicketId.of(0, 1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> TicketId.of(0, TicketId.MAX_SOURCE + 1, 0));
+    }
+
+    @Test
+    void testEventNamesAreInterned() {
+        int id = EventRegistry.idOf(new String("Interned Fest"));
+        assertEquals(id, EventRegistry.idOf("Interned Fest"));
+        assertSame(new Ticket("1", new String("Interned Fest"), 1.0).getEventName(),
+                new Ticket("2", new String("Interned Fest"), 1.0).getEventName());
+        assertThrows(IllegalArgumentException.class, () -> EventRegistry.nameOf(Integer.MAX_VALUE));
+    }
+}
@@ -5,6 +5,8 @@ import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -97,6 +99,97 @@ class BlockingQueueTicketPoolTest {
                 "Total unsold value should equal price of remaining ticket");
     }
 
+    @Test
+    void testTryOperationsNeverWait() {
+        assertNull(pool.tryPurchaseTicket(), "An empty pool has nothing to sell right now");
+        int capacity = 0;
+        while (pool.tryAddTicket(new Ticket(String.valueOf(capacity), "Festival", 100.0))) {
+            capacity++;
+        }
+        assertEquals(capacity, pool.getAvailableTickets());
+        assertEquals(capacity, pool.getAddedTickets(), "A rejected add must not be counted");
+        assertEquals(0, pool.getTimeouts(), "A failed attempt that never waited is not a timeout");
+        assertEquals("0", pool.tryPurchaseTicket().getId());
+        assertTrue(pool.tryAddTicket(new Ticket("again", "Festival", 100.0)), "The purchase freed a slot");
+        assertEquals(1, pool.getPurchasedTickets());
+        assertEquals(100.0, pool.getTotalRevenue(), 0.01);
+    }
+
+    @Test
+    void testValueTotalsAreExactCents() throws InterruptedException {
+        for (int i = 0; i < 10_000; i++) {
+            pool.addTicket(new Ticket(String.valueOf(i), "Festival", 0.10));
+            pool.purchaseTicket();
+        }
+        pool.addTickets(List.of(new Ticket("a", "Festival", 0.10), new Ticket("b", "Festival", 0.20)));
+        assertEquals(30, pool.getTotalUnsoldValueCents());
+        pool.purchaseTickets(2, new ArrayList<>());
+        assertEquals(100_030, pool.getTotalRevenueCents(), "10,000 sales of $0.10 must not drift");
+        assertEquals(0, pool.getTotalUnsoldValueCents());
+        assertEquals(1000.30, pool.getTotalRevenue());
+    }
+
+    @Test
+    void testSnapshotIsConsistentUnderLoad() throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                try {
+                    pool.addTicket(new Ticket(String.valueOf(i), "Concert", 10.0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                try {
+                    pool.purchaseTicket();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        producer.start();
+        consumer.start();
+        while (producer.isAlive() || consumer.isAlive()) {
+            PoolSnapshot s = pool.snapshot();
+            assertEquals(s.added() - s.purchased(), s.available());
+            assertEquals(s.purchased() * 1000L, s.revenueCents());
+            assertEquals(s.available() * 1000L, s.unsoldValueCents());
+        }
+        producer.join();
+        consumer.join();
+        assertEquals(new PoolSnapshot(0, pool.snapshot().capacity(), 20_000, 20_000, 0, 0, 20_000_000L, 0), pool.snapshot());
+    }
+
+    @Test
+    void testTimedTryOperations() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(pool.tryPurchaseTicket(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(45), "The purchase should wait for the timeout");
+        assertEquals(1, pool.getTimeouts());
+        assertTrue(pool.getPoolInfo().contains("Timeouts: 1"));
+
+        Thread seller = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                pool.addTicket(new Ticket("late", "Festival", 100.0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        seller.start();
+        Ticket t = pool.tryPurchaseTicket(5, TimeUnit.SECONDS);
+        seller.join();
+        assertEquals("late", t.getId(), "A ticket arriving within the timeout should be sold");
+        assertEquals(1, pool.getTimeouts());
+
+        while (pool.tryAddTicket(new Ticket("fill", "Festival", 100.0), 10, TimeUnit.MILLISECONDS)) {
+            // fill the pool
+        }
+        assertEquals(2, pool.getTimeouts(), "Only the add that found the pool full timed out");
+    }
+
     @Test
     void testPerformExclusiveUpdateAndLogging() throws InterruptedException {
         assertEquals(0, pool.getVersion(), "Initial version must be 0");
@@ -137,4 +230,97 @@ class BlockingQueueTicketPoolTest {
         assertTrue(info.contains("Version: 0"),
                 "getPoolInfo() must report correct version");
     }
+
+    @Test
+    void testAddTicketsAndPurchaseTickets() throws InterruptedException {
+        List<Ticket> batch = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            batch.add(new Ticket(String.valueOf(i), "Group", 10.0));
+        }
+        assertEquals(2, pool.addTickets(batch), "All tickets of the batch should be added");
+        assertEquals(2, pool.getAddedTickets());
+        assertEquals(2, pool.getAvailableTickets());
+
+        List<Ticket> sink = new ArrayList<>();
+        assertEquals(2, pool.purchaseTickets(100, sink), "purchaseTickets should drain what is available");
+        assertEquals(batch.get(0).toString(), sink.get(0).toString(), "Tickets should be purchased in FIFO order");
+        assertEquals(2, sink.size());
+        assertEquals(2, pool.getPurchasedTickets());
+        assertEquals(0, pool.getAvailableTickets());
+        assertEquals(2 * 10.0, pool.getTotalRevenue(), 0.001);
+    }
+
+    @Test
+    void testPurchaseTicketsRespectsMax() throws InterruptedException {
+        pool.addTicket(new Ticket("1", "Group", 10.0));
+        pool.addTicket(new Ticket("2", "Group", 10.0));
+        List<Ticket> sink = new ArrayList<>();
+        assertEquals(1, pool.purchaseTickets(1, sink));
+        assertEquals(1, pool.getAvailableTickets());
+        assertEquals(0, pool.purchaseTickets(0, sink), "A non-positive max should not purchase anything");
+    }
+
+    @Test
+    void testAddTicketsLargerThanCapacityWaitsForConsumers() throws InterruptedException {
+        List<Ticket> batch = new ArrayList<>();
+        for (int i = 0; i < 2 * 3; i++) {
+            batch.add(new Ticket(String.valueOf(i), "Group", 10.0));
+        }
+        Thread adder = new Thread(() -> {
+            try {
+                pool.addTickets(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "BatchAdder");
+        adder.start();
+
+        List<Ticket> sink = new ArrayList<>();
+        while (sink.size() < batch.size()) {
+            pool.purchaseTickets(batch.size(), sink);
+        }
+        adder.join(1000);
+        assertFalse(adder.isAlive(), "addTickets should complete once consumers free up space");
+        assertEquals(batch.size(), pool.getAddedTickets());
+        assertEquals(batch.size(), pool.getPurchasedTickets());
+    }
+
+    @Test
+    void testSnapshotNeverShowsASaleBeforeItsAdd() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int n = 0; n < 2; n++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    try {
+                        if (i % 2 == 0) {
+                            pool.addTicket(new Ticket("S" + i, "Concert", 10.0));
+                        } else {
+                            pool.addTickets(List.of(new Ticket("B" + i, "Concert", 10.0)));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    try {
+                        pool.purchaseTicket();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            PoolSnapshot s = pool.snapshot();
+            assertTrue(s.available() >= 0 && s.unsoldValueCents() >= 0 && s.purchased() <= s.added(),
+                    "A sale was counted before its add: " + s);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, pool.snapshot().available());
+    }
 }
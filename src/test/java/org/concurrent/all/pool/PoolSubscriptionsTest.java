@@ -0,0 +1,149 @@
+package org.concurrent.all.pool;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+import org.concurrent.all.reservation.Reservation;
+import org.concurrent.all.reservation.ReservingTicketPool;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolSubscriptionsTest {
+
+    @Test
+    void testChangesAreCoalesced() throws InterruptedException {
+        TicketPool pool = new SynchronizedTicketPool(10);
+        BlockingQueue<PoolDelta> deltas = new LinkedBlockingQueue<>();
+        Subscription subscription = pool.subscribe(deltas::add, 200, TimeUnit.MILLISECONDS);
+        try {
+            Thread.sleep(250);
+            for (int i = 0; i < 5; i++) {
+                pool.addTicket(new Ticket(String.valueOf(i), "Event", 10.0));
+            }
+            pool.purchaseTicket();
+            pool.purchaseTicket();
+            pool.performExclusiveUpdate();
+
+            // The first change is delivered at once; everything after it within 200ms in one more delta.
+            PoolDelta first = deltas.poll(1, TimeUnit.SECONDS);
+            assertNotNull(first, "A change should be delivered");
+            PoolDelta last = first.current().equals(pool.snapshot()) ? first : awaitState(deltas, pool.snapshot());
+            assertTrue(deltas.isEmpty(), "Changes should be coalesced into at most two deltas");
+            PoolDelta delta = new PoolDelta(first.previous(), last.current());
+            assertEquals(5, delta.added());
+            assertEquals(2, delta.purchased());
+            assertEquals(1, delta.versions());
+            assertEquals(20_00, delta.revenueCents());
+            assertNull(deltas.poll(300, TimeUnit.MILLISECONDS), "Nothing changed since");
+        } finally {
+            subscription.close();
+        }
+    }
+
+    @Test
+    void testDeliveriesAreRateLimited() throws InterruptedException {
+        TicketPool pool = new RingBufferTicketPool(1024);
+        List<PoolDelta> deltas = new CopyOnWriteArrayList<>();
+        Subscription subscription = pool.subscribe(deltas::add, 100, TimeUnit.MILLISECONDS);
+        try {
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(550);
+            int ops = 0;
+            while (System.nanoTime() < end) {
+                pool.tryAddTicket(new Ticket("T", "Event", 1.0));
+                pool.tryPurchaseTicket();
+                ops++;
+            }
+            Thread.sleep(200);
+            assertTrue(ops > deltas.size());
+            assertTrue(deltas.size() <= 8, "At most one delta per 100ms, got " + deltas.size());
+            assertEquals(pool.snapshot(), deltas.get(deltas.size() - 1).current(), "The last delta has the final state");
+        } finally {
+            subscription.close();
+        }
+    }
+
+    @Test
+    void testClosedSubscriptionGetsNothing() throws InterruptedException {
+        TicketPool pool = new SynchronizedTicketPool(10);
+        BlockingQueue<PoolDelta> deltas = new LinkedBlockingQueue<>();
+        Subscription subscription = pool.subscribe(deltas::add, 0, TimeUnit.MILLISECONDS);
+        pool.addTicket(new Ticket("1", "Event", 10.0));
+        assertNotNull(deltas.poll(1, TimeUnit.SECONDS));
+        subscription.close();
+        pool.addTicket(new Ticket("2", "Event", 10.0));
+        assertNull(deltas.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testDecoratorReportsItsOwnView() throws InterruptedException {
+        ReservingTicketPool pool = new ReservingTicketPool(new SynchronizedTicketPool(10));
+        pool.addTicket(new Ticket("1", "Event", 10.0));
+        BlockingQueue<PoolDelta> deltas = new LinkedBlockingQueue<>();
+        Subscription subscription = pool.subscribe(deltas::add, 0, TimeUnit.MILLISECONDS);
+        try {
+            Reservation reservation = pool.reserveTicket(Duration.ofMinutes(1));
+            PoolDelta held = awaitState(deltas, pool.snapshot());
+            assertEquals(0, held.current().purchased(), "A held ticket is not sold yet");
+
+            assertTrue(reservation.confirm());
+            PoolDelta sold = awaitState(deltas, pool.snapshot());
+            assertEquals(1, sold.current().purchased());
+            assertEquals(10_00, sold.current().revenueCents());
+        } finally {
+            subscription.close();
+            pool.close();
+        }
+    }
+
+    @Test
+    void testSlowOrFailingObserverDoesNotHoldUpOthers() throws InterruptedException {
+        TicketPool pool = new SynchronizedTicketPool(10);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<PoolDelta> deltas = new LinkedBlockingQueue<>();
+        Subscription slow = pool.subscribe(delta -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0, TimeUnit.MILLISECONDS);
+        Subscription failing = pool.subscribe(delta -> {
+            throw new IllegalStateException("observer broke");
+        }, 0, TimeUnit.MILLISECONDS);
+        Subscription subscription = pool.subscribe(deltas::add, 0, TimeUnit.MILLISECONDS);
+        try {
+            pool.addTicket(new Ticket("1", "Event", 10.0));
+            assertNotNull(deltas.poll(1, TimeUnit.SECONDS), "A blocked observer must not delay the others");
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (!pool.getLogs().contains("Pool observer failed") && System.nanoTime() < end) {
+                Thread.sleep(10);
+            }
+            assertTrue(pool.getLogs().contains("observer broke"), "Observer failures go to the pool's log");
+        } finally {
+            release.countDown();
+            slow.close();
+            failing.close();
+            subscription.close();
+        }
+    }
+
+    // Deliveries may split a change in two; returns the one that reaches the expected state.
+    private PoolDelta awaitState(BlockingQueue<PoolDelta> deltas, PoolSnapshot expected) throws InterruptedException {
+        while (true) {
+            PoolDelta delta = deltas.poll(1, TimeUnit.SECONDS);
+            assertNotNull(delta, "Expected a delta reaching " + expected);
+            if (delta.current().equals(expected)) {
+                return delta;
+            }
+        }
+    }
+}
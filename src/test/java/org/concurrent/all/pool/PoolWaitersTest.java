@@ -0,0 +1,180 @@
+package org.concurrent.all.pool;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
+import org.concurrent.all.pool.impl.MultiEventTicketPool;
+import org.concurrent.all.pool.impl.OffHeapTicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.concurrent.all.pool.impl.StampedLockTicketPool;
+import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolWaitersTest {
+
+    private static final List<IntFunction<TicketPool>> POOLS = List.of(
+            SynchronizedTicketPool::new,
+            ReentrantLockTicketPool::new,
+            StampedLockTicketPool::new,
+            BlockingQueueTicketPool::new,
+            RingBufferTicketPool::new,
+            OffHeapTicketPool::new,
+            capacity -> new ShardedTicketPool(capacity, 2),
+            MultiEventTicketPool::new);
+
+    @Test
+    void testPurchaseIsCompletedByTheProducer() throws Exception {
+        for (IntFunction<TicketPool> factory : POOLS) {
+            TicketPool pool = factory.apply(4);
+            CompletableFuture<Ticket> purchase = pool.purchaseTicketAsync();
+            assertFalse(purchase.isDone(), "An empty pool should queue the purchase");
+
+            Ticket ticket = new Ticket("1", "Event", 10.0);
+            Thread producer = new Thread(() -> pool.tryAddTicket(ticket));
+            producer.start();
+            producer.join();
+
+            assertSame(ticket, purchase.get(1, TimeUnit.SECONDS), pool.getClass().getSimpleName()
+                    + ": the producer's own call should hand the ticket over");
+            assertEquals(1, pool.getPurchasedTickets());
+            assertEquals(0, pool.getAvailableTickets());
+            assertEquals(0, pool.getTimeouts(), "A queued purchase is not a timeout");
+        }
+    }
+
+    @Test
+    void testAddIsCompletedByTheConsumer() throws Exception {
+        for (IntFunction<TicketPool> factory : POOLS) {
+            TicketPool pool = factory.apply(1);
+            assertTrue(pool.addTicketAsync(new Ticket("1", "Event", 10.0)).get(1, TimeUnit.SECONDS));
+            Ticket waiting = new Ticket("2", "Event", 10.0);
+            CompletableFuture<Boolean> add = pool.addTicketAsync(waiting);
+            assertFalse(add.isDone(), "A full pool should queue the add");
+
+            assertNotNull(pool.tryPurchaseTicket());
+            assertTrue(add.get(1, TimeUnit.SECONDS), pool.getClass().getSimpleName() + ": the purchase should make room");
+            assertSame(waiting, pool.tryPurchaseTicket());
+            assertEquals(2, pool.getAddedTickets());
+        }
+    }
+
+    @Test
+    void testTryAddTicketServesWaitersAndIsNeverATimeout() throws Exception {
+        for (IntFunction<TicketPool> factory : POOLS) {
+            TicketPool pool = factory.apply(1);
+            CompletableFuture<Ticket> purchase = pool.purchaseTicketAsync();
+            Ticket ticket = new Ticket("1", "Event", 10.0);
+            assertTrue(pool.tryAddTicket(ticket));
+            assertSame(ticket, purchase.get(1, TimeUnit.SECONDS), pool.getClass().getSimpleName()
+                    + ": the added ticket should go to the queued purchase");
+
+            assertTrue(pool.tryAddTicket(new Ticket("2", "Event", 10.0)));
+            assertFalse(pool.tryAddTicket(new Ticket("3", "Event", 10.0)), "The pool is full");
+            assertEquals(0, pool.getTimeouts(), pool.getClass().getSimpleName()
+                    + ": a refused try is not a timeout");
+        }
+    }
+
+    @Test
+    void testWaitersAreServedInOrder() throws Exception {
+        TicketPool pool = new StampedLockTicketPool(10);
+        List<CompletableFuture<Ticket>> purchases = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            purchases.add(pool.purchaseTicketAsync());
+        }
+        for (int i = 0; i < 5; i++) {
+            pool.addTicket(new Ticket(String.valueOf(i), "Event", 10.0));
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals(String.valueOf(i), purchases.get(i).get(1, TimeUnit.SECONDS).getId(),
+                    "The oldest purchase should get the first ticket");
+        }
+    }
+
+    @Test
+    void testCancelledPurchaseIsSkipped() throws Exception {
+        TicketPool pool = new SynchronizedTicketPool(10);
+        CompletableFuture<Ticket> cancelled = pool.purchaseTicketAsync();
+        CompletableFuture<Ticket> next = pool.purchaseTicketAsync();
+        assertTrue(cancelled.cancel(false));
+
+        Ticket ticket = new Ticket("1", "Event", 10.0);
+        pool.addTicket(ticket);
+        assertSame(ticket, next.get(1, TimeUnit.SECONDS), "The ticket should go to the next waiter");
+        assertTrue(cancelled.isCancelled());
+        assertFalse(next.cancel(false), "A served purchase cannot be withdrawn");
+        assertEquals(1, pool.getPurchasedTickets());
+    }
+
+    @Test
+    void testTimedOutWaitersTakeNothing() throws Exception {
+        TicketPool pool = new RingBufferTicketPool(1);
+        assertNull(pool.purchaseTicketAsync(50, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS));
+
+        CompletableFuture<Ticket> expiring = pool.purchaseTicketAsync().orTimeout(50, TimeUnit.MILLISECONDS);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> expiring.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+
+        assertTrue(pool.tryAddTicket(new Ticket("1", "Event", 10.0)));
+        assertFalse(pool.addTicketAsync(new Ticket("2", "Event", 10.0), 50, TimeUnit.MILLISECONDS)
+                .get(1, TimeUnit.SECONDS));
+        assertEquals(1, pool.getAvailableTickets(), "Withdrawn waiters must not touch the pool");
+        assertEquals(0, pool.getPurchasedTickets());
+        assertEquals(1, pool.getAddedTickets());
+    }
+
+    @Test
+    void testEveryTicketReachesExactlyOneWaiter() throws Exception {
+        TicketPool pool = new ShardedTicketPool(8, 4);
+        int producers = 4;
+        int perProducer = 2_000;
+        List<CompletableFuture<Ticket>> purchases = new ArrayList<>();
+        List<CompletableFuture<Boolean>> adds = new ArrayList<>();
+        for (int i = 0; i < producers * perProducer; i++) {
+            purchases.add(pool.purchaseTicketAsync());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            List<CompletableFuture<Boolean>> own = new ArrayList<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        own.add(pool.addTicketAsync(new Ticket(id + "-" + i, "Event", 1.0)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                synchronized (adds) {
+                    adds.addAll(own);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CompletableFuture.allOf(purchases.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(adds.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+        assertEquals(producers * perProducer, purchases.stream().map(CompletableFuture::join).distinct().count());
+        assertEquals(producers * perProducer, pool.getPurchasedTickets());
+        assertEquals(0, pool.getAvailableTickets());
+    }
+}
@@ -1,10 +1,16 @@
 package org.concurrent.all.pool;
 
+import org.concurrent.all.log.LogCategory;
+import org.concurrent.all.log.LogPolicy;
 import org.concurrent.all.model.Ticket;
 import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ReentrantLockTicketPoolTest {
@@ -100,6 +106,97 @@ class ReentrantLockTicketPoolTest {
     }
 
 
+    @Test
+    void testTryOperationsNeverWait() {
+        assertNull(pool.tryPurchaseTicket(), "An empty pool has nothing to sell right now");
+        int capacity = 0;
+        while (pool.tryAddTicket(new Ticket(String.valueOf(capacity), "Festival", 100.0))) {
+            capacity++;
+        }
+        assertEquals(capacity, pool.getAvailableTickets());
+        assertEquals(capacity, pool.getAddedTickets(), "A rejected add must not be counted");
+        assertEquals(0, pool.getTimeouts(), "A failed attempt that never waited is not a timeout");
+        assertEquals("0", pool.tryPurchaseTicket().getId());
+        assertTrue(pool.tryAddTicket(new Ticket("again", "Festival", 100.0)), "The purchase freed a slot");
+        assertEquals(1, pool.getPurchasedTickets());
+        assertEquals(100.0, pool.getTotalRevenue(), 0.01);
+    }
+
+    @Test
+    void testValueTotalsAreExactCents() throws InterruptedException {
+        for (int i = 0; i < 10_000; i++) {
+            pool.addTicket(new Ticket(String.valueOf(i), "Festival", 0.10));
+            pool.purchaseTicket();
+        }
+        pool.addTickets(List.of(new Ticket("a", "Festival", 0.10), new Ticket("b", "Festival", 0.20)));
+        assertEquals(30, pool.getTotalUnsoldValueCents());
+        pool.purchaseTickets(2, new ArrayList<>());
+        assertEquals(100_030, pool.getTotalRevenueCents(), "10,000 sales of $0.10 must not drift");
+        assertEquals(0, pool.getTotalUnsoldValueCents());
+        assertEquals(1000.30, pool.getTotalRevenue());
+    }
+
+    @Test
+    void testSnapshotIsConsistentUnderLoad() throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                try {
+                    pool.addTicket(new Ticket(String.valueOf(i), "Concert", 10.0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                try {
+                    pool.purchaseTicket();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        producer.start();
+        consumer.start();
+        while (producer.isAlive() || consumer.isAlive()) {
+            PoolSnapshot s = pool.snapshot();
+            assertEquals(s.added() - s.purchased(), s.available());
+            assertEquals(s.purchased() * 1000L, s.revenueCents());
+            assertEquals(s.available() * 1000L, s.unsoldValueCents());
+        }
+        producer.join();
+        consumer.join();
+        assertEquals(new PoolSnapshot(0, pool.snapshot().capacity(), 20_000, 20_000, 0, 0, 20_000_000L, 0), pool.snapshot());
+    }
+
+    @Test
+    void testTimedTryOperations() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(pool.tryPurchaseTicket(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(45), "The purchase should wait for the timeout");
+        assertEquals(1, pool.getTimeouts());
+        assertTrue(pool.getPoolInfo().contains("Timeouts: 1"));
+
+        Thread seller = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                pool.addTicket(new Ticket("late", "Festival", 100.0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        seller.start();
+        Ticket t = pool.tryPurchaseTicket(5, TimeUnit.SECONDS);
+        seller.join();
+        assertEquals("late", t.getId(), "A ticket arriving within the timeout should be sold");
+        assertEquals(1, pool.getTimeouts());
+
+        while (pool.tryAddTicket(new Ticket("fill", "Festival", 100.0), 10, TimeUnit.MILLISECONDS)) {
+            // fill the pool
+        }
+        assertEquals(2, pool.getTimeouts(), "Only the add that found the pool full timed out");
+    }
+
     @Test
     void testPerformExclusiveUpdate() throws InterruptedException {
         assertEquals(0, pool.getVersion());
@@ -133,6 +230,49 @@ class ReentrantLockTicketPoolTest {
         assertTrue(logs.contains("LockPool Test"), "Logs should contain the provided message");
     }
 
+    @Test
+    void testWaitIsLoggedOncePerWaitNotPerWakeup() throws InterruptedException {
+        for (int i = 0; i < pool.snapshot().capacity(); i++) {
+            pool.addTicket(new Ticket(String.valueOf(i), "E", 10.0));
+        }
+        List<Thread> adders = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Thread adder = new Thread(() -> {
+                try {
+                    pool.addTicket(new Ticket("X", "E", 5.0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "Adder-" + i);
+            adders.add(adder);
+            adder.start();
+        }
+        Thread.sleep(100);
+        // Every purchase wakes all waiting adders, but only one of them gets the free slot.
+        for (int i = 0; i < 3; i++) {
+            assertNotNull(pool.purchaseTicket());
+            Thread.sleep(50);
+        }
+        for (Thread adder : adders) {
+            adder.join(500);
+            assertFalse(adder.isAlive());
+        }
+        long waits = pool.getLogs().lines().filter(line -> line.contains("WAIT - Pool FULL")).count();
+        assertEquals(3, waits, "Each blocked adder should log its wait once");
+    }
+
+    @Test
+    void testLogPolicyAppliesAtRuntime() throws InterruptedException {
+        pool.setLogPolicy(LogCategory.ACTIONS, LogPolicy.OFF);
+        pool.addTicket(new Ticket("1", "Event", 100.0));
+        pool.purchaseTicket();
+        pool.setLogPolicy(LogCategory.ACTIONS, LogPolicy.ALL);
+        pool.addTicket(new Ticket("2", "Event", 100.0));
+        List<String> lines = pool.getLogs().lines().toList();
+        assertEquals(1, lines.size(), "Only the add after re-enabling should be logged");
+        assertTrue(lines.get(0).contains("id='2'"));
+    }
+
     @Test
     void testConcurrentProducersAndConsumers() throws InterruptedException {
         int numThreads = 5;
@@ -170,4 +310,58 @@ class ReentrantLockTicketPoolTest {
         assertEquals(25, pool.getPurchasedTickets(), "Should have purchased 25 tickets");
         assertTrue(pool.getTotalRevenue() >= 0, "Total revenue should be non-negative");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAddTicketsAndPurchaseTickets() throws InterruptedException {
+        List<Ticket> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batch.add(new Ticket(String.valueOf(i), "Group", 10.0));
+        }
+        assertEquals(3, pool.addTickets(batch), "All tickets of the batch should be added");
+        assertEquals(3, pool.getAddedTickets());
+        assertEquals(3, pool.getAvailableTickets());
+
+        List<Ticket> sink = new ArrayList<>();
+        assertEquals(3, pool.purchaseTickets(100, sink), "purchaseTickets should drain what is available");
+        assertEquals(batch.get(0).toString(), sink.get(0).toString(), "Tickets should be purchased in FIFO order");
+        assertEquals(3, sink.size());
+        assertEquals(3, pool.getPurchasedTickets());
+        assertEquals(0, pool.getAvailableTickets());
+        assertEquals(3 * 10.0, pool.getTotalRevenue(), 0.001);
+    }
+
+    @Test
+    void testPurchaseTicketsRespectsMax() throws InterruptedException {
+        pool.addTicket(new Ticket("1", "Group", 10.0));
+        pool.addTicket(new Ticket("2", "Group", 10.0));
+        List<Ticket> sink = new ArrayList<>();
+        assertEquals(1, pool.purchaseTickets(1, sink));
+        assertEquals(1, pool.getAvailableTickets());
+        assertEquals(0, pool.purchaseTickets(0, sink), "A non-positive max should not purchase anything");
+    }
+
+    @Test
+    void testAddTicketsLargerThanCapacityWaitsForConsumers() throws InterruptedException {
+        List<Ticket> batch = new ArrayList<>();
+        for (int i = 0; i < 3 * 3; i++) {
+            batch.add(new Ticket(String.valueOf(i), "Group", 10.0));
+        }
+        Thread adder = new Thread(() -> {
+            try {
+                pool.addTickets(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "BatchAdder");
+        adder.start();
+
+        List<Ticket> sink = new ArrayList<>();
+        while (sink.size() < batch.size()) {
+            pool.purchaseTickets(batch.size(), sink);
+        }
+        adder.join(1000);
+        assertFalse(adder.isAlive(), "addTickets should complete once consumers free up space");
+        assertEquals(batch.size(), pool.getAddedTickets());
+        assertEquals(batch.size(), pool.getPurchasedTickets());
+    }
+}
@@ -0,0 +1,346 @@
+package org.concurrent.all.pool;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedTicketPoolTest {
+
+    private TicketPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ShardedTicketPool(3);
+    }
+
+    @Test
+    void testAddTicket() throws InterruptedException {
+        Ticket t1 = new Ticket("1", "Festival", 120.0);
+        pool.addTicket(t1);
+        assertEquals(1, pool.getAvailableTickets());
+        assertEquals(1, pool.getAddedTickets());
+        assertEquals(120.0, pool.getTotalUnsoldValue(), 0.01);
+    }
+
+    @Test
+    void testPurchaseTicket() throws InterruptedException {
+        Ticket t1 = new Ticket("1", "Festival", 120.0);
+        pool.addTicket(t1);
+        Ticket purchased = pool.purchaseTicket();
+        assertEquals(t1.toString(), purchased.toString(), "Purchased ticket should match the one added");
+        assertEquals(0, pool.getAvailableTickets());
+        assertEquals(1, pool.getPurchasedTickets());
+        assertEquals(120.0, pool.getTotalRevenue(), 0.01);
+    }
+
+    @Test
+    void testAddBlocksWhenFull() throws InterruptedException {
+        int capacity = 3;
+        for (int i = 0; i < capacity; i++) {
+            pool.addTicket(new Ticket(String.valueOf(i), "E", 10.0));
+        }
+        assertEquals(capacity, pool.getAvailableTickets());
+
+        int initialAdded = pool.getAddedTickets();
+
+        Thread adder = new Thread(() -> {
+            try {
+                pool.addTicket(new Ticket("X", "E", 5.0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Adder");
+        adder.start();
+
+        Thread.sleep(100);
+        assertTrue(adder.isAlive(), "addTicket should block when full");
+
+        Ticket freed = pool.purchaseTicket();
+        assertNotNull(freed);
+
+        adder.join(500);
+        assertFalse(adder.isAlive(), "addTicket should unblock after purchase");
+
+        assertEquals(initialAdded + 1, pool.getAddedTickets(),
+                "Added count should increment by one");
+        assertEquals(capacity, pool.getAvailableTickets(),
+                "Pool should return to full after unblock");
+    }
+
+    @Test
+    void testPurchaseBlocksWhenEmpty() throws InterruptedException {
+        assertEquals(0, pool.getAvailableTickets());
+        int initialPurchased = pool.getPurchasedTickets();
+
+        Thread consumer = new Thread(() -> {
+            try {
+                pool.purchaseTicket();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Consumer");
+        consumer.start();
+
+        Thread.sleep(100);
+        assertTrue(consumer.isAlive(), "purchaseTicket should block when empty");
+
+        Ticket t = new Ticket("Z", "E", 15.0);
+        pool.addTicket(t);
+
+        consumer.join(500);
+        assertFalse(consumer.isAlive(), "purchaseTicket should unblock after add");
+
+        assertEquals(initialPurchased + 1, pool.getPurchasedTickets(),
+                "Purchased count should increment by one");
+        assertEquals(0, pool.getAvailableTickets(),
+                "Pool should be empty again after the purchase");
+    }
+
+
+    @Test
+    void testTryOperationsNeverWait() {
+        assertNull(pool.tryPurchaseTicket(), "An empty pool has nothing to sell right now");
+        int capacity = 0;
+        while (pool.tryAddTicket(new Ticket(String.valueOf(capacity), "Festival", 100.0))) {
+            capacity++;
+        }
+        assertEquals(capacity, pool.getAvailableTickets());
+        assertEquals(capacity, pool.getAddedTickets(), "A rejected add must not be counted");
+        assertEquals(0, pool.getTimeouts(), "A failed attempt that never waited is not a timeout");
+        assertEquals("0", pool.tryPurchaseTicket().getId());
+        assertTrue(pool.tryAddTicket(new Ticket("again", "Festival", 100.0)), "The purchase freed a slot");
+        assertEquals(1, pool.getPurchasedTickets());
+        assertEquals(100.0, pool.getTotalRevenue(), 0.01);
+    }
+
+    @Test
+    void testValueTotalsAreExactCents() throws InterruptedException {
+        for (int i = 0; i < 10_000; i++) {
+            pool.addTicket(new Ticket(String.valueOf(i), "Festival", 0.10));
+            pool.purchaseTicket();
+        }
+        pool.addTickets(List.of(new Ticket("a", "Festival", 0.10), new Ticket("b", "Festival", 0.20)));
+        assertEquals(30, pool.getTotalUnsoldValueCents());
+        pool.purchaseTickets(2, new ArrayList<>());
+        assertEquals(100_030, pool.getTotalRevenueCents(), "10,000 sales of $0.10 must not drift");
+        assertEquals(0, pool.getTotalUnsoldValueCents());
+        assertEquals(1000.30, pool.getTotalRevenue());
+    }
+
+    @Test
+    void testSnapshotIsConsistentUnderLoad() throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                try {
+                    pool.addTicket(new Ticket(String.valueOf(i), "Concert", 10.0));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                try {
+                    pool.purchaseTicket();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        producer.start();
+        consumer.start();
+        while (producer.isAlive() || consumer.isAlive()) {
+            PoolSnapshot s = pool.snapshot();
+            assertEquals(s.added() - s.purchased(), s.available());
+            assertEquals(s.purchased() * 1000L, s.revenueCents());
+            assertEquals(s.available() * 1000L, s.unsoldValueCents());
+        }
+        producer.join();
+        consumer.join();
+        assertEquals(new PoolSnapshot(0, pool.snapshot().capacity(), 20_000, 20_000, 0, 0, 20_000_000L, 0), pool.snapshot());
+    }
+
+    @Test
+    void testTimedTryOperations() throws InterruptedException {
+        long start = System.nanoTime();
+        assertNull(pool.tryPurchaseTicket(50, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(45), "The purchase should wait for the timeout");
+        assertEquals(1, pool.getTimeouts());
+        assertTrue(pool.getPoolInfo().contains("Timeouts: 1"));
+
+        Thread seller = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                pool.addTicket(new Ticket("late", "Festival", 100.0));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        seller.start();
+        Ticket t = pool.tryPurchaseTicket(5, TimeUnit.SECONDS);
+        seller.join();
+        assertEquals("late", t.getId(), "A ticket arriving within the timeout should be sold");
+        assertEquals(1, pool.getTimeouts());
+
+        while (pool.tryAddTicket(new Ticket("fill", "Festival", 100.0), 10, TimeUnit.MILLISECONDS)) {
+            // fill the pool
+        }
+        assertEquals(2, pool.getTimeouts(), "Only the add that found the pool full timed out");
+    }
+
+    @Test
+    void testPerformExclusiveUpdate() throws InterruptedException {
+        assertEquals(0, pool.getVersion());
+        pool.performExclusiveUpdate();
+        assertEquals(1, pool.getVersion());
+    }
+
+    @Test
+    void testGetTotalUnsoldValue() throws InterruptedException {
+        pool.addTicket(new Ticket("1", "Event", 50.0));
+        pool.addTicket(new Ticket("2", "Event", 75.0));
+        double expected = 50.0 + 75.0;
+        assertEquals(expected, pool.getTotalUnsoldValue(), 0.001);
+    }
+
+    @Test
+    void testGetPoolInfoAndLogs() throws InterruptedException {
+        pool.addTicket(new Ticket("1", "Event", 100.0));
+        pool.purchaseTicket();
+        pool.performExclusiveUpdate();
+        String info = pool.getPoolInfo();
+        assertTrue(info.contains("Added: 1"), "Pool info should mention 1 added ticket");
+        String logs = pool.getLogs();
+        assertFalse(logs.isEmpty(), "Logs should not be empty");
+    }
+
+    @Test
+    void testLogReaderMessage() throws InterruptedException {
+        pool.logReaderMessage("ShardedPool Test");
+        String logs = pool.getLogs();
+        assertTrue(logs.contains("ShardedPool Test"), "Logs should contain the provided message");
+    }
+
+    @Test
+    void testConcurrentProducersAndConsumers() throws InterruptedException {
+        int numThreads = 5;
+        Thread[] threads = new Thread[numThreads * 2];
+
+        for (int i = 0; i < numThreads; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 5; j++) {
+                    try {
+                        pool.addTicket(new Ticket("Prod", "Event", 50.0));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, "Producer-" + i);
+
+            threads[numThreads + i] = new Thread(() -> {
+                for (int j = 0; j < 5; j++) {
+                    try {
+                        pool.purchaseTicket();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, "Consumer-" + i);
+        }
+
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(25, pool.getAddedTickets(), "Should have added 25 tickets");
+        assertEquals(25, pool.getPurchasedTickets(), "Should have purchased 25 tickets");
+        assertTrue(pool.getTotalRevenue() >= 0, "Total revenue should be non-negative");
+    }
+
+    @Test
+    void testAddTicketsAndPurchaseTickets() throws InterruptedException {
+        List<Ticket> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batch.add(new Ticket(String.valueOf(i), "Group", 10.0));
+        }
+        assertEquals(3, pool.addTickets(batch), "All tickets of the batch should be added");
+        assertEquals(3, pool.getAddedTickets());
+        assertEquals(3, pool.getAvailableTickets());
+
+        List<Ticket> sink = new ArrayList<>();
+        assertEquals(3, pool.purchaseTickets(100, sink), "purchaseTickets should drain what is available");
+        assertEquals(batch.get(0).toString(), sink.get(0).toString(), "Tickets should be purchased in FIFO order");
+        assertEquals(3, sink.size());
+        assertEquals(3, pool.getPurchasedTickets());
+        assertEquals(0, pool.getAvailableTickets());
+        assertEquals(3 * 10.0, pool.getTotalRevenue(), 0.001);
+    }
+
+    @Test
+    void testPurchaseTicketsRespectsMax() throws InterruptedException {
+        pool.addTicket(new Ticket("1", "Group", 10.0));
+        pool.addTicket(new Ticket("2", "Group", 10.0));
+        List<Ticket> sink = new ArrayList<>();
+        assertEquals(1, pool.purchaseTickets(1, sink));
+        assertEquals(1, pool.getAvailableTickets());
+        assertEquals(0, pool.purchaseTickets(0, sink), "A non-positive max should not purchase anything");
+    }
+
+    @Test
+    void testAddTicketsLargerThanCapacityWaitsForConsumers() throws InterruptedException {
+        List<Ticket> batch = new ArrayList<>();
+        for (int i = 0; i < 3 * 3; i++) {
+            batch.add(new Ticket(String.valueOf(i), "Group", 10.0));
+        }
+        Thread adder = new Thread(() -> {
+            try {
+                pool.addTickets(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "BatchAdder");
+        adder.start();
+
+        List<Ticket> sink = new ArrayList<>();
+        while (sink.size() < batch.size()) {
+            pool.purchaseTickets(batch.size(), sink);
+        }
+        adder.join(1000);
+        assertFalse(adder.isAlive(), "addTickets should complete once consumers free up space");
+        assertEquals(batch.size(), pool.getAddedTickets());
+        assertEquals(batch.size(), pool.getPurchasedTickets());
+    }
+
+    @Test
+    void testConsumerStealsFromOtherShards() throws Exception {
+        ShardedTicketPool sharded = new ShardedTicketPool(8, 4);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(sharded.addTicket(new Ticket(String.valueOf(i), "Event", 10.0)));
+        }
+        assertEquals(8, sharded.getAvailableTickets(), "Producer should spill into other shards");
+
+        List<Ticket> bought = new ArrayList<>();
+        Thread buyer = new Thread(() -> {
+            for (int i = 0; i < 8; i++) {
+                bought.add(sharded.purchaseTicket());
+            }
+        }, "Buyer");
+        buyer.start();
+        buyer.join(1000);
+        assertFalse(buyer.isAlive(), "Consumer should steal every ticket without blocking");
+        assertEquals(8, bought.size());
+        assertEquals(0, sharded.getAvailableTickets());
+        assertEquals(80.0, sharded.getTotalRevenue(), 0.001);
+        assertTrue(sharded.getPoolInfo().contains("Added: 8, Purchased: 8"));
+        assertTrue(sharded.getPoolInfo().contains("Shards: 4"));
+    }
+}
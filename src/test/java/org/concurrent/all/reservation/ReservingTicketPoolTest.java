@@ -0,0 +1,161 @@
+package org.concurrent.all.reservation;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.PoolSnapshot;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservingTicketPoolTest {
+
+    private ReservingTicketPool pool;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        pool = new ReservingTicketPool(new ReentrantLockTicketPool(3));
+        pool.addTicket(new Ticket("1", "Festival", 100.0));
+        pool.addTicket(new Ticket("2", "Festival", 50.0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testHeldTicketIsNeitherAvailableNorSold() throws InterruptedException {
+        Reservation reservation = pool.reserveTicket(Duration.ofSeconds(30));
+        assertEquals("1", reservation.getTicket().getId());
+        assertEquals(Reservation.State.HELD, reservation.getState());
+        assertEquals(1, pool.getAvailableTickets());
+        assertEquals(1, pool.getHeldTickets());
+        assertEquals(0, pool.getPurchasedTickets());
+        assertEquals(0.0, pool.getTotalRevenue(), 0.001);
+        assertEquals(150.0, pool.getTotalUnsoldValue(), 0.001, "Held tickets are still unsold");
+        assertEquals(new PoolSnapshot(1, 3, 2, 0, 0, 0, 0, 150_00), pool.snapshot());
+        assertTrue(pool.getPoolInfo().contains("Held: 1"));
+    }
+
+    @Test
+    void testConfirmCompletesTheSale() throws InterruptedException {
+        Reservation reservation = pool.reserveTicket(Duration.ofSeconds(30));
+        assertTrue(reservation.confirm());
+        assertFalse(reservation.release(), "A confirmed hold cannot be released");
+        assertEquals(Reservation.State.CONFIRMED, reservation.getState());
+        assertEquals(0, pool.getHeldTickets());
+        assertEquals(1, pool.getPurchasedTickets());
+        assertEquals(100.0, pool.getTotalRevenue(), 0.001);
+        assertEquals(50.0, pool.getTotalUnsoldValue(), 0.001);
+        assertEquals(2, pool.getAddedTickets());
+    }
+
+    @Test
+    void testReleaseReturnsTheTicket() throws InterruptedException {
+        Reservation reservation = pool.reserveTicket(Duration.ofSeconds(30));
+        assertTrue(reservation.release());
+        assertFalse(reservation.confirm(), "A released hold cannot be confirmed");
+        assertEquals(2, pool.getAvailableTickets());
+        assertEquals(2, pool.getAddedTickets(), "A returned ticket is not a new add");
+        assertEquals(0, pool.getPurchasedTickets());
+        assertEquals(0.0, pool.getTotalRevenue(), 0.001);
+        assertEquals(150.0, pool.getTotalUnsoldValue(), 0.001);
+    }
+
+    @Test
+    void testUnconfirmedHoldExpires() throws InterruptedException {
+        Reservation reservation = pool.reserveTicket(Duration.ofMillis(50));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (reservation.getState() == Reservation.State.HELD && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(Reservation.State.EXPIRED, reservation.getState());
+        assertFalse(reservation.confirm(), "An expired hold cannot be confirmed");
+        assertEquals(2, pool.getAvailableTickets());
+        assertEquals(0, pool.getHeldTickets());
+        assertEquals(1, pool.getExpiredReservations());
+        assertEquals("2", pool.purchaseTicket().getId());
+        assertEquals("1", pool.purchaseTicket().getId(), "The expired ticket should be back in the pool");
+    }
+
+    @Test
+    void testExpiryWaitsForRoomWhenThePoolFilledUp() throws InterruptedException {
+        Reservation reservation = pool.reserveTicket(Duration.ofMillis(20));
+        pool.addTicket(new Ticket("3", "Festival", 10.0));
+        pool.addTicket(new Ticket("4", "Festival", 10.0));
+        Thread.sleep(100);
+        assertEquals(Reservation.State.EXPIRED, reservation.getState());
+        assertEquals(1, pool.getHeldTickets(), "The ticket is held until it fits back into the pool");
+        assertEquals(3, pool.getAvailableTickets());
+
+        pool.purchaseTicket();
+        long deadline = System.currentTimeMillis() + 2000;
+        while (pool.getHeldTickets() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, pool.getHeldTickets());
+        assertEquals(3, pool.getAvailableTickets());
+        assertEquals(1, pool.getPurchasedTickets());
+        assertEquals(0, pool.getTimeouts(), "Waiting for room to return a hold is not a timeout");
+    }
+
+    @Test
+    void testTryReserveTimesOut() throws InterruptedException {
+        pool.tryReserveTicket(Duration.ofSeconds(30), 0, TimeUnit.SECONDS);
+        pool.tryReserveTicket(Duration.ofSeconds(30), 0, TimeUnit.SECONDS);
+        assertNull(pool.tryReserveTicket(Duration.ofSeconds(30), 20, TimeUnit.MILLISECONDS));
+        assertEquals(2, pool.getHeldTickets());
+    }
+
+    @Test
+    void testConcurrentCheckoutsAccountForEveryTicket() throws InterruptedException {
+        int tickets = 20_000;
+        try (ReservingTicketPool shop = new ReservingTicketPool(new ShardedTicketPool(tickets))) {
+            for (int i = 0; i < tickets; i++) {
+                shop.addTicket(new Ticket(String.valueOf(i), "Festival", 10.0));
+            }
+            List<Thread> buyers = new ArrayList<>();
+            for (int b = 0; b < 4; b++) {
+                buyers.add(new Thread(() -> {
+                    Reservation r;
+                    int n = 0;
+                    try {
+                        while ((r = shop.tryReserveTicket(Duration.ofMillis(30), 0, TimeUnit.SECONDS)) != null) {
+                            switch (n++ % 3) {
+                                case 0 -> r.confirm();
+                                case 1 -> r.release();
+                                default -> { } // let it expire
+                            }
+                            if (shop.getPurchasedTickets() >= tickets / 2) {
+                                return;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            buyers.forEach(Thread::start);
+            for (Thread t : buyers) {
+                t.join();
+            }
+            long deadline = System.currentTimeMillis() + 3000;
+            while (shop.getHeldTickets() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, shop.getHeldTickets());
+            assertEquals(tickets, shop.getAddedTickets());
+            assertEquals(tickets, shop.getAvailableTickets() + shop.getPurchasedTickets());
+            assertEquals(shop.getPurchasedTickets() * 10.0, shop.getTotalRevenue(), 0.001);
+            assertEquals(shop.getAvailableTickets() * 10.0, shop.getTotalUnsoldValue(), 0.001);
+        }
+    }
+}
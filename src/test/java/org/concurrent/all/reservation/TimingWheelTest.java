@@ -0,0 +1,79 @@
+package org.concurrent.all.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void testTimersFireInDeadlineOrderAndNeverEarly() throws InterruptedException {
+        List<Integer> fired = new CopyOnWriteArrayList<>();
+        long[] firedAt = new long[3];
+        CountDownLatch done = new CountDownLatch(3);
+        long start = System.nanoTime();
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, "test-wheel")) {
+            int[] delays = {120, 5, 40};
+            for (int i = 0; i < delays.length; i++) {
+                int n = i;
+                wheel.schedule(() -> {
+                    firedAt[n] = System.nanoTime();
+                    fired.add(n);
+                    done.countDown();
+                }, delays[i], TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(2, TimeUnit.SECONDS));
+            assertEquals(List.of(1, 2, 0), fired);
+            for (int i = 0; i < delays.length; i++) {
+                assertTrue(firedAt[i] - start >= TimeUnit.MILLISECONDS.toNanos(delays[i]), "Timer " + i + " fired early");
+            }
+            assertEquals(0, wheel.getScheduled());
+        }
+    }
+
+    @Test
+    void testTimersBeyondTheFirstLevelCascadeDown() throws InterruptedException {
+        // With a 1ms tick the first level spans 64ms, so these go through one or two cascades.
+        CountDownLatch done = new CountDownLatch(3);
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, "test-wheel")) {
+            wheel.schedule(done::countDown, 70, TimeUnit.MILLISECONDS);
+            wheel.schedule(done::countDown, 200, TimeUnit.MILLISECONDS);
+            wheel.schedule(done::countDown, 4200, TimeUnit.MILLISECONDS);
+            assertFalse(done.await(3, TimeUnit.SECONDS));
+            assertEquals(1, done.getCount(), "Only the 4.2s timer should still be pending");
+            assertTrue(done.await(3, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testManyTimersOnOneThread() throws InterruptedException {
+        int timers = 200_000;
+        CountDownLatch done = new CountDownLatch(timers);
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, "test-wheel")) {
+            for (int i = 0; i < timers; i++) {
+                wheel.schedule(done::countDown, i % 500, TimeUnit.MILLISECONDS);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS), done.getCount() + " timers never fired");
+        }
+    }
+
+    @Test
+    void testFailingTaskDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+        try (TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, "test-wheel", failures::add)) {
+            wheel.schedule(() -> {
+                throw new IllegalStateException("boom");
+            }, 1, TimeUnit.MILLISECONDS);
+            wheel.schedule(done::countDown, 10, TimeUnit.MILLISECONDS);
+            assertTrue(done.await(1, TimeUnit.SECONDS));
+            assertEquals(1, wheel.getFailed());
+            assertEquals("boom", failures.get(0).getMessage(), "The failure should reach the handler");
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.concurrent.all.seating;
+
+import org.concurrent.all.model.SeatedTicket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    private SeatMap seatMap;
+
+    @BeforeEach
+    void setUp() {
+        seatMap = new SeatMap("Tomorrowland");
+        seatMap.addSection("A", 3, 100, 150.0);
+        seatMap.addSection("B", 2, 10, 80.0);
+    }
+
+    @Test
+    void testPurchaseSpecificSeat() {
+        SeatedTicket ticket = seatMap.purchaseSeat("A", 1, 70);
+        assertNotNull(ticket);
+        assertEquals("A", ticket.getSection());
+        assertEquals(1, ticket.getRow());
+        assertEquals(70, ticket.getSeat());
+        assertEquals("Tomorrowland", ticket.getEventName());
+        assertEquals(150.0, ticket.getPrice(), 0.001);
+        assertNull(seatMap.purchaseSeat("A", 1, 70), "A sold seat cannot be purchased twice");
+        assertFalse(seatMap.isAvailable("A", 1, 70));
+        assertEquals(319, seatMap.getAvailableSeats());
+        assertEquals(1, seatMap.getSoldSeats());
+    }
+
+    @Test
+    void testInvalidSeatOrSection() {
+        assertThrows(IllegalArgumentException.class, () -> seatMap.purchaseSeat("A", 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.purchaseSeat("A", 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.purchaseSeat("Z", 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.addSection("A", 1, 1, 1.0));
+    }
+
+    @Test
+    void testBestAvailableFillsFrontRowsFirst() {
+        seatMap.purchaseSeat("B", 0, 0);
+        SeatedTicket best = seatMap.purchaseBestAvailable("B");
+        assertEquals(0, best.getRow());
+        assertEquals(1, best.getSeat());
+
+        for (int i = 0; i < 18; i++) {
+            assertNotNull(seatMap.purchaseBestAvailable("B"));
+        }
+        assertEquals(0, seatMap.getAvailableSeats("B"));
+        assertNull(seatMap.purchaseBestAvailable("B"), "A sold out section has no best seat");
+    }
+
+    @Test
+    void testBestAvailableMovesToNextSection() {
+        SeatMap small = new SeatMap("Gig");
+        small.addSection("Front", 1, 1, 200.0);
+        small.addSection("Back", 1, 2, 50.0);
+        assertEquals("Front", small.purchaseBestAvailable().getSection());
+        assertEquals("Back", small.purchaseBestAvailable().getSection());
+        assertEquals(250.0, small.getTotalRevenue(), 0.001);
+    }
+
+    @Test
+    void testAdjacentSeatsSpanWordBoundary() {
+        // Leave a gap of four seats at 62..65 in row 0, which straddles two bitset words.
+        for (int seat = 0; seat < 100; seat++) {
+            if (seat < 62 || seat > 65) {
+                seatMap.purchaseSeat("A", 0, seat);
+            }
+        }
+        List<SeatedTicket> group = seatMap.purchaseAdjacent("A", 4);
+        assertEquals(4, group.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, group.get(i).getRow());
+            assertEquals(62 + i, group.get(i).getSeat());
+        }
+
+        List<SeatedTicket> next = seatMap.purchaseAdjacent("A", 5);
+        assertEquals(1, next.get(0).getRow(), "Row 0 is full, so the group moves to row 1");
+        assertEquals(0, next.get(0).getSeat());
+    }
+
+    @Test
+    void testAdjacentSkipsRunsThatAreTooShort() {
+        seatMap.purchaseSeat("B", 0, 3);
+        seatMap.purchaseSeat("B", 0, 7);
+        List<SeatedTicket> group = seatMap.purchaseAdjacent("B", 4);
+        assertEquals(1, group.get(0).getRow(), "No run of four free seats remains in row 0");
+        assertTrue(seatMap.purchaseAdjacent("B", 11).isEmpty(), "A group wider than a row never fits");
+    }
+
+    @Test
+    void testReleaseMakesSeatAvailableAgain() {
+        SeatedTicket ticket = seatMap.purchaseSeat("B", 0, 0);
+        assertTrue(seatMap.release(ticket));
+        assertFalse(seatMap.release(ticket), "A seat can only be released once");
+        assertTrue(seatMap.isAvailable("B", 0, 0));
+        assertEquals(0.0, seatMap.getTotalRevenue(), 0.001);
+        assertEquals(0, seatMap.purchaseBestAvailable("B").getSeat());
+    }
+
+    @Test
+    void testConcurrentBuyersNeverShareASeat() throws InterruptedException {
+        SeatMap stadium = new SeatMap("Final");
+        stadium.addSection("North", 100, 250, 90.0);
+        stadium.addSection("South", 100, 250, 90.0);
+        int threads = 8;
+        Set<String> seats = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int groupSize = t % 2 == 0 ? 1 : 3;
+            executor.submit(() -> {
+                start.await();
+                while (true) {
+                    List<SeatedTicket> bought = groupSize == 1
+                            ? toList(stadium.purchaseBestAvailable())
+                            : stadium.purchaseAdjacent(groupSize);
+                    if (bought.isEmpty()) {
+                        return null;
+                    }
+                    for (SeatedTicket ticket : bought) {
+                        if (!seats.add(ticket.getId())) {
+                            duplicates.incrementAndGet();
+                        }
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(0, duplicates.get(), "No seat may be sold twice");
+        assertEquals(stadium.getSoldSeats(), seats.size());
+        assertEquals(50_000, seats.size(), "Single-seat buyers should sell out the stadium");
+        assertEquals(0, stadium.getAvailableSeats());
+        assertEquals(50_000 * 90.0, stadium.getTotalRevenue(), 0.001);
+    }
+
+    private static List<SeatedTicket> toList(SeatedTicket ticket) {
+        return ticket == null ? List.of() : List.of(ticket);
+    }
+}
@@ -1,9 +1,13 @@
 package org.concurrent.all.system.test;
 
+import org.concurrent.all.metrics.LatencyHistogram;
+import org.concurrent.all.metrics.LatencyRecorder;
 import org.concurrent.all.model.Ticket;
 import org.concurrent.all.pool.TicketPool;
 import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
 import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
 import org.concurrent.all.pool.impl.SynchronizedTicketPool;
 import org.junit.jupiter.api.Test;
 
@@ -33,6 +37,8 @@ class PerformanceTest {
         testImplementation("Synchronized", SynchronizedTicketPool::new);
         testImplementation("ReentrantLock", ReentrantLockTicketPool::new);
         testImplementation("BlockingQueue", BlockingQueueTicketPool::new);
+        testImplementation("RingBuffer", RingBufferTicketPool::new);
+        testImplementation("Sharded", ShardedTicketPool::new);
     }
 
     private void testImplementation(String name, PoolCreator creator) throws Exception {
@@ -47,8 +53,10 @@ class PerformanceTest {
             TestResult result = runTest(creator, threadCount, false);
             double execTime = Duration.between(startTime, Instant.now()).toMillis() / 1000.0;
 
-            System.out.printf("  %2d Threads | Exec Time: %.3f s | Throughput: %,.0f ops/sec | Latency: %.3f ms/op%n",
-                    threadCount, execTime, result.throughput(), result.avgLatencyMs());
+            System.out.printf("  %2d Threads | Exec Time: %.3f s | Throughput: %,.0f ops/sec%n",
+                    threadCount, execTime, result.throughput());
+            printLatency("add", result.addLatency());
+            printLatency("purchase", result.purchaseLatency());
         }
         System.out.println();
     }
@@ -59,7 +67,8 @@ class PerformanceTest {
         ExecutorService executor = Executors.newFixedThreadPool(threadCount);
         TicketPool pool = creator.create(POOL_CAPACITY);
         AtomicLong totalOperations = new AtomicLong();
-        List<Long> operationTimes = new CopyOnWriteArrayList<>();
+        LatencyRecorder addLatency = new LatencyRecorder();
+        LatencyRecorder purchaseLatency = new LatencyRecorder();
 
         int producerCount = threadCount / 2;
         int consumerCount = threadCount - producerCount;
@@ -77,7 +86,7 @@ class PerformanceTest {
                         long ts = System.nanoTime();
                         try {
                             pool.addTicket(new Ticket("T", "Event", 100));
-                            operationTimes.add(System.nanoTime() - ts);
+                            addLatency.record(System.nanoTime() - ts);
                             totalOperations.incrementAndGet();
                         } catch (InterruptedException e) {
                             Thread.currentThread().interrupt();
@@ -99,7 +108,7 @@ class PerformanceTest {
                         long ts = System.nanoTime();
                         try {
                             pool.purchaseTicket();
-                            operationTimes.add(System.nanoTime() - ts);
+                            purchaseLatency.record(System.nanoTime() - ts);
                             totalOperations.incrementAndGet();
                         } catch (InterruptedException e) {
                             Thread.currentThread().interrupt();
@@ -121,7 +130,6 @@ class PerformanceTest {
         }
 
         // Actual test phase
-        operationTimes.clear();
         totalOperations.set(0);
         running.set(true);
 
@@ -139,22 +147,33 @@ class PerformanceTest {
         }
 
         long totalOps = totalOperations.get();
-        double avgLatency = operationTimes.stream()
-                .mapToLong(Long::longValue)
-                .average()
-                .orElse(0) / 1_000_000.0;
 
         return new TestResult(
                 totalOps / (double) TEST_SECONDS,
-                avgLatency
+                addLatency.snapshot(),
+                purchaseLatency.snapshot()
         );
     }
 
+    private void printLatency(String operation, LatencyHistogram histogram) {
+        System.out.printf("      %-8s | ops: %,d | p50: %.1f | p90: %.1f | p99: %.1f | p99.9: %.1f | max: %.1f us%n",
+                operation, histogram.getCount(),
+                toMicros(histogram.getValueAtPercentile(50)),
+                toMicros(histogram.getValueAtPercentile(90)),
+                toMicros(histogram.getValueAtPercentile(99)),
+                toMicros(histogram.getValueAtPercentile(99.9)),
+                toMicros(histogram.getMax()));
+    }
+
+    private static double toMicros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
     @FunctionalInterface
     private interface PoolCreator {
         TicketPool create(int capacity) throws Exception;
     }
 
-    private record TestResult(double throughput, double avgLatencyMs) {
+    private record TestResult(double throughput, LatencyHistogram addLatency, LatencyHistogram purchaseLatency) {
     }
 }
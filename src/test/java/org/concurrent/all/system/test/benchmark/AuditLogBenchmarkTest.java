@@ -0,0 +1,51 @@
+package org.concurrent.all.system.test.benchmark;
+
+import org.concurrent.all.log.AuditLog;
+import org.concurrent.all.model.EventRegistry;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.model.TicketId;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class AuditLogBenchmarkTest {
+    private static final int CAPACITY = 1000;
+    private static final int OPS = 200_000;
+
+    @TempDir
+    Path dir;
+
+    // Pool throughput with and without the audit log attached, and the rate it was written at.
+    @Test
+    public void benchmarkAuditedPool() throws Exception {
+        System.out.println("=== Audit log Benchmark ===");
+        run("Plain", null);
+        try (AuditLog audit = new AuditLog(dir.resolve("audit"))) {
+            run("Audited", audit);
+        }
+    }
+
+    private void run(String name, AuditLog audit) throws InterruptedException, IOException {
+        TicketPool pool = new ReentrantLockTicketPool(CAPACITY);
+        pool.setAuditLog(audit);
+        int event = EventRegistry.idOf("Benchmark");
+        long start = System.nanoTime();
+        for (int i = 0; i < OPS; i++) {
+            pool.addTicket(Ticket.compact(TicketId.of(0, 0, i), event, 100_00));
+            pool.purchaseTicket();
+        }
+        double poolSeconds = (System.nanoTime() - start) / 1e9;
+        pool.getLogs();
+        double totalSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %.0f pool ops/s", name, 2 * OPS / poolSeconds);
+        if (audit != null) {
+            System.out.printf(", %d audit records at %.0f records/s", audit.getWrittenRecords(),
+                    audit.getWrittenRecords() / totalSeconds);
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,101 @@
+package org.concurrent.all.system.test.benchmark;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
+import org.concurrent.all.pool.impl.MultiEventTicketPool;
+import org.concurrent.all.pool.impl.OffHeapTicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.concurrent.all.pool.impl.StampedLockTicketPool;
+import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+public class BatchTicketPoolBenchmarkTest {
+    private static final int CAPACITY = 1000;
+    private static final int TICKETS_PER_THREAD = 16_384;
+    private static final int THREAD_COUNT = 8;
+    private static final int[] BATCH_SIZES = {1, 16, 256};
+
+    @Test
+    public void benchmarkBatchSizes() throws InterruptedException {
+        System.out.println("=== Batch add/purchase Benchmark ===");
+        run("Synchronized", SynchronizedTicketPool::new);
+        run("ReentrantLock", ReentrantLockTicketPool::new);
+        run("BlockingQueue", BlockingQueueTicketPool::new);
+        run("RingBuffer", RingBufferTicketPool::new);
+        run("Sharded", ShardedTicketPool::new);
+        run("MultiEvent", MultiEventTicketPool::new);
+        run("OffHeap", OffHeapTicketPool::new);
+        run("StampedLock", StampedLockTicketPool::new);
+    }
+
+    private void run(String name, IntFunction<TicketPool> creator) throws InterruptedException {
+        for (int batchSize : BATCH_SIZES) {
+            double time = measure(creator.apply(CAPACITY), THREAD_COUNT, batchSize);
+            System.out.printf("%-13s Batch: %3d, Time: %.3f s%n", name, batchSize, time);
+        }
+    }
+
+    private double measure(TicketPool pool, int threadCount, int batchSize) throws InterruptedException {
+        int producers = threadCount / 2;
+        int consumers = threadCount - producers;
+        ExecutorService exec = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch done = new CountDownLatch(threadCount);
+        Ticket ticket = new Ticket("T", "Event", 100.0);
+
+        for (int i = 0; i < producers; i++) {
+            exec.submit(() -> {
+                List<Ticket> batch = new ArrayList<>(batchSize);
+                for (int j = 0; j < batchSize; j++) {
+                    batch.add(ticket);
+                }
+                try {
+                    for (int sent = 0; sent < TICKETS_PER_THREAD; sent += batchSize) {
+                        if (batchSize == 1) {
+                            pool.addTicket(ticket);
+                        } else {
+                            pool.addTickets(batch);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        for (int i = 0; i < consumers; i++) {
+            exec.submit(() -> {
+                List<Ticket> sink = new ArrayList<>(batchSize);
+                try {
+                    int received = 0;
+                    while (received < TICKETS_PER_THREAD) {
+                        if (batchSize == 1) {
+                            pool.purchaseTicket();
+                            received++;
+                        } else {
+                            received += pool.purchaseTickets(Math.min(batchSize, TICKETS_PER_THREAD - received), sink);
+                            sink.clear();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+
+        long start = System.nanoTime();
+        done.await();
+        exec.shutdown();
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,110 @@
+package org.concurrent.all.system.test.benchmark;
+
+import org.concurrent.all.client.ClientRuntime;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
+import org.concurrent.all.pool.impl.MultiEventTicketPool;
+import org.concurrent.all.pool.impl.OffHeapTicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.pool.impl.ShardedTicketPool;
+import org.concurrent.all.pool.impl.StampedLockTicketPool;
+import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+import org.concurrent.all.util.ClientThreads;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+public class ClientThreadsBenchmarkTest {
+    private static final int CAPACITY = 1000;
+    private static final int CLIENTS = 2_000;
+    private static final int OPS_PER_CLIENT = 20;
+    private static final int SIMULATED_CLIENTS = 50_000;
+    private static final double SIMULATED_RATE = 2.0;
+
+    @Test
+    public void benchmarkPlatformVsVirtualThreads() throws InterruptedException {
+        System.out.println("=== Platform vs Virtual Threads Benchmark ===");
+        if (!ClientThreads.isVirtualSupported()) {
+            System.out.println("Virtual threads need Java 21; measuring platform threads only");
+        }
+        run("Synchronized", SynchronizedTicketPool::new);
+        run("ReentrantLock", ReentrantLockTicketPool::new);
+        run("BlockingQueue", BlockingQueueTicketPool::new);
+        run("RingBuffer", RingBufferTicketPool::new);
+        run("Sharded", ShardedTicketPool::new);
+        run("MultiEvent", MultiEventTicketPool::new);
+        run("OffHeap", OffHeapTicketPool::new);
+        run("StampedLock", StampedLockTicketPool::new);
+    }
+
+    @Test
+    public void benchmarkSharedScheduler() throws InterruptedException {
+        System.out.println("=== Shared Scheduler Benchmark ===");
+        simulate("Synchronized", SynchronizedTicketPool::new);
+        simulate("ReentrantLock", ReentrantLockTicketPool::new);
+        simulate("BlockingQueue", BlockingQueueTicketPool::new);
+        simulate("RingBuffer", RingBufferTicketPool::new);
+        simulate("Sharded", ShardedTicketPool::new);
+        simulate("MultiEvent", MultiEventTicketPool::new);
+        simulate("OffHeap", OffHeapTicketPool::new);
+        simulate("StampedLock", StampedLockTicketPool::new);
+    }
+
+    // Half the clients sell and half buy at SIMULATED_RATE each; ideally every slot is used.
+    private void simulate(String name, IntFunction<TicketPool> creator) throws InterruptedException {
+        TicketPool pool = creator.apply(CAPACITY);
+        try (ClientRuntime runtime = new ClientRuntime()) {
+            for (int i = 0; i < SIMULATED_CLIENTS / 2; i++) {
+                runtime.addProducer(pool, SIMULATED_RATE);
+                runtime.addConsumer(pool, SIMULATED_RATE);
+            }
+            Thread.sleep(1000); // every client has had its first slot
+            long completed = runtime.getCompletedOps();
+            long missed = runtime.getMissedOps();
+            Thread.sleep(1000);
+            System.out.printf("%-13s Clients: %d, Workers: %d, Ops/s: %d (target %.0f), Missed/s: %d%n",
+                    name, SIMULATED_CLIENTS, runtime.getWorkerCount(), runtime.getCompletedOps() - completed,
+                    SIMULATED_CLIENTS * SIMULATED_RATE, runtime.getMissedOps() - missed);
+        }
+    }
+
+    private void run(String name, IntFunction<TicketPool> creator) throws InterruptedException {
+        double platform = measure(creator.apply(CAPACITY), false);
+        if (ClientThreads.isVirtualSupported()) {
+            double virtual = measure(creator.apply(CAPACITY), true);
+            System.out.printf("%-13s Clients: %d, Platform: %.3f s, Virtual: %.3f s%n", name, CLIENTS, platform, virtual);
+        } else {
+            System.out.printf("%-13s Clients: %d, Platform: %.3f s%n", name, CLIENTS, platform);
+        }
+    }
+
+    private double measure(TicketPool pool, boolean virtual) throws InterruptedException {
+        Ticket ticket = new Ticket("T-1", "Event", 100.0);
+        List<Thread> clients = new ArrayList<>(CLIENTS);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < CLIENTS; i++) {
+            boolean producer = i % 2 == 0;
+            clients.add(ClientThreads.start(() -> {
+                try {
+                    for (int j = 0; j < OPS_PER_CLIENT; j++) {
+                        if (producer) {
+                            pool.addTicket(ticket);
+                        } else {
+                            pool.purchaseTicket();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "Client-" + i, virtual));
+        }
+        for (Thread t : clients) {
+            t.join();
+        }
+        return (System.currentTimeMillis() - start) / 1000.0;
+    }
+}
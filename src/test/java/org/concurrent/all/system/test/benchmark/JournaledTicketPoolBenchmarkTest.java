@@ -0,0 +1,113 @@
+package org.concurrent.all.system.test.benchmark;
+
+import org.concurrent.all.journal.JournaledTicketPool;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class JournaledTicketPoolBenchmarkTest {
+    private static final int CAPACITY = 1000;
+    private static final int OPS_PER_THREAD = 2_000;
+    private static final int[] THREAD_COUNTS = {2, 4, 16, 64};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void benchmarkJournalOffVsOn() throws InterruptedException, IOException {
+        System.out.println("=== JournaledTicketPool Benchmark ===");
+        for (int tc : THREAD_COUNTS) {
+            double off = measure(new ReentrantLockTicketPool(CAPACITY), tc, OPS_PER_THREAD);
+            double on;
+            try (JournaledTicketPool journaled = new JournaledTicketPool(
+                    new ReentrantLockTicketPool(CAPACITY), dir.resolve("journal-" + tc))) {
+                on = measure(journaled, tc, OPS_PER_THREAD);
+                System.out.printf("Threads: %d, Journal off: %.3f s, on: %.3f s, %s%n",
+                        tc, off, on, journaled.getPoolInfo().replaceAll(".*Journal: ", "Journal: "));
+            }
+        }
+    }
+
+    @Test
+    public void benchmarkRestartWithAndWithoutCheckpoint() throws InterruptedException, IOException {
+        System.out.println("=== JournaledTicketPool Restart Benchmark ===");
+        for (int history : new int[]{10_000, 100_000}) {
+            for (boolean checkpoint : new boolean[]{false, true}) {
+                Path file = dir.resolve("restart-" + history + "-" + checkpoint);
+                try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(CAPACITY), file)) {
+                    List<Ticket> batch = new ArrayList<>();
+                    for (int i = 0; i < history; i += batch.size()) {
+                        batch.clear();
+                        for (int j = 0; j < CAPACITY / 2; j++) {
+                            batch.add(new Ticket(i + "-" + j, "Event", 10.0));
+                        }
+                        pool.addTickets(batch);
+                        pool.purchaseTickets(batch.size() - 1, new ArrayList<>());
+                    }
+                    if (checkpoint) {
+                        pool.checkpoint();
+                    }
+                }
+                long start = System.nanoTime();
+                try (JournaledTicketPool pool = new JournaledTicketPool(new ReentrantLockTicketPool(CAPACITY), file)) {
+                    double millis = (System.nanoTime() - start) / 1_000_000.0;
+                    System.out.printf("History: %d adds, Checkpoint: %s, Restart: %.1f ms, Restored: %d tickets%n",
+                            history, checkpoint, millis, pool.getAvailableTickets());
+                }
+            }
+        }
+    }
+
+    private double measure(TicketPool pool, int threadCount, int opsPerThread) throws InterruptedException {
+        int producers = threadCount / 2;
+        int consumers = threadCount - producers;
+        ExecutorService prodExec = Executors.newFixedThreadPool(producers);
+        ExecutorService consExec = Executors.newFixedThreadPool(consumers);
+        CountDownLatch prodLatch = new CountDownLatch(producers);
+        CountDownLatch consLatch = new CountDownLatch(consumers);
+
+        for (int i = 0; i < producers; i++) {
+            prodExec.submit(() -> {
+                for (int j = 0; j < opsPerThread; j++) {
+                    try {
+                        pool.addTicket(new Ticket(UUID.randomUUID().toString(), "Event", Math.random() * 100));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                prodLatch.countDown();
+            });
+        }
+        for (int i = 0; i < consumers; i++) {
+            consExec.submit(() -> {
+                for (int j = 0; j < opsPerThread; j++) {
+                    try {
+                        pool.purchaseTicket();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                consLatch.countDown();
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        prodLatch.await();
+        consLatch.await();
+        prodExec.shutdown();
+        consExec.shutdown();
+
+        return (System.currentTimeMillis() - start) / 1000.0;
+    }
+}
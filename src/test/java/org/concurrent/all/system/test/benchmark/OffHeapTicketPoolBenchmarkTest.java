@@ -0,0 +1,128 @@
+package org.concurrent.all.system.test.benchmark;
+
+import org.concurrent.all.model.EventRegistry;
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.model.TicketId;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.BlockingQueueTicketPool;
+import org.concurrent.all.pool.impl.OffHeapTicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+public class OffHeapTicketPoolBenchmarkTest {
+    private static final int CAPACITY = 1000;
+    private static final int OPS_PER_THREAD = 10_000;
+    private static final int[] THREAD_COUNTS = {2, 4, 16, 64};
+    private static final int RESIDENT_TICKETS = 500_000;
+
+    @Test
+    public void benchmarkOffHeapTicketPool() throws InterruptedException {
+        System.out.println("=== OffHeapTicketPool Benchmark ===");
+        for (int tc : THREAD_COUNTS) {
+            double time = measure(new OffHeapTicketPool(CAPACITY), tc, OPS_PER_THREAD);
+            System.out.printf("Threads: %d, Time: %.3f s%n", tc, time);
+        }
+    }
+
+    // Fills each pool with unsold tickets and reports the heap held while it is full and the GC
+    // time spent filling and draining it. Every pool logs the same records, so the rendered log
+    // adds the same amount to each row; the difference between rows is the ticket storage.
+    @Test
+    public void benchmarkHeapAndGcPauses() {
+        System.out.println("=== Resident tickets: heap and GC ===");
+        footprint("Synchronized", SynchronizedTicketPool::new);
+        footprint("ReentrantLock", ReentrantLockTicketPool::new);
+        footprint("BlockingQueue", BlockingQueueTicketPool::new);
+        footprint("OffHeap", OffHeapTicketPool::new);
+    }
+
+    private void footprint(String name, IntFunction<TicketPool> creator) {
+        int event = EventRegistry.idOf("Event");
+        long gcBefore = gcMillis();
+        TicketPool pool = creator.apply(RESIDENT_TICKETS);
+        long empty = usedHeap();
+        for (int i = 0; i < RESIDENT_TICKETS; i++) {
+            pool.tryAddTicket(Ticket.compact(TicketId.of(0, 1, i), event, 100_00));
+        }
+        pool.getLogs();
+        long full = usedHeap();
+        while (pool.tryPurchaseTicket() != null) {
+            // drain
+        }
+        System.out.printf("%-13s Heap: %6.1f MB, GC time: %d ms%n",
+                name, (full - empty) / (1024.0 * 1024.0), gcMillis() - gcBefore);
+    }
+
+    // The shared log renderer may still hold the previous pool's log for one pass, so give it
+    // a couple of passes before collecting.
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(60));
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private double measure(TicketPool pool, int threadCount, int opsPerThread) throws InterruptedException {
+        int producers = threadCount / 2;
+        int consumers = threadCount - producers;
+        ExecutorService prodExec = Executors.newFixedThreadPool(producers);
+        ExecutorService consExec = Executors.newFixedThreadPool(consumers);
+        CountDownLatch prodLatch = new CountDownLatch(producers);
+        CountDownLatch consLatch = new CountDownLatch(consumers);
+
+        for (int i = 0; i < producers; i++) {
+            prodExec.submit(() -> {
+                for (int j = 0; j < opsPerThread; j++) {
+                    try {
+                        pool.addTicket(new Ticket(UUID.randomUUID().toString(), "Event", Math.random() * 100));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                prodLatch.countDown();
+            });
+        }
+        for (int i = 0; i < consumers; i++) {
+            consExec.submit(() -> {
+                for (int j = 0; j < opsPerThread; j++) {
+                    try {
+                        pool.purchaseTicket();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                consLatch.countDown();
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        prodLatch.await();
+        consLatch.await();
+        prodExec.shutdown();
+        consExec.shutdown();
+
+        return (System.currentTimeMillis() - start) / 1000.0;
+    }
+}
+
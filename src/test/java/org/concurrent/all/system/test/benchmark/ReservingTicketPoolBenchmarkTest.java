@@ -0,0 +1,42 @@
+package org.concurrent.all.system.test.benchmark;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.impl.RingBufferTicketPool;
+import org.concurrent.all.reservation.ReservingTicketPool;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ReservingTicketPoolBenchmarkTest {
+    private static final int[] HOLD_COUNTS = {100_000, 500_000};
+    private static final Duration HOLD = Duration.ofMillis(500);
+
+    @Test
+    public void benchmarkOutstandingHolds() throws InterruptedException {
+        System.out.println("=== ReservingTicketPool Expiry Benchmark ===");
+        for (int holds : HOLD_COUNTS) {
+            try (ReservingTicketPool pool = new ReservingTicketPool(new RingBufferTicketPool(holds))) {
+                List<Ticket> batch = new ArrayList<>(holds);
+                for (int i = 0; i < holds; i++) {
+                    batch.add(new Ticket(String.valueOf(i), "Event", 10.0));
+                }
+                pool.addTickets(batch);
+
+                long start = System.nanoTime();
+                for (int i = 0; i < holds; i++) {
+                    pool.tryReserveTicket(HOLD, 0, TimeUnit.SECONDS);
+                }
+                long reserved = System.nanoTime();
+                while (pool.getHeldTickets() > 0) {
+                    Thread.sleep(1);
+                }
+                long expired = System.nanoTime();
+                System.out.printf("Holds: %d, Reserve: %.3f s, All expired %.3f s after the last hold (hold %d ms)%n",
+                        holds, (reserved - start) / 1e9, (expired - reserved) / 1e9, HOLD.toMillis());
+            }
+        }
+    }
+}
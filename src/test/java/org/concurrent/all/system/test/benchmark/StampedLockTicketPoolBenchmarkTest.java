@@ -0,0 +1,134 @@
+package org.concurrent.all.system.test.benchmark;
+
+import org.concurrent.all.model.Ticket;
+import org.concurrent.all.pool.TicketPool;
+import org.concurrent.all.pool.impl.ReentrantLockTicketPool;
+import org.concurrent.all.pool.impl.StampedLockTicketPool;
+import org.concurrent.all.pool.impl.SynchronizedTicketPool;
+import org.concurrent.all.util.Reader;
+import org.concurrent.all.util.Writer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+public class StampedLockTicketPoolBenchmarkTest {
+    private static final int CAPACITY = 1000;
+    private static final int OPS_PER_THREAD = 10_000;
+    private static final int[] THREAD_COUNTS = {2, 4, 16, 64};
+    // 90/10 read/write mix: nine Readers for every Writer, all paced at the same rate.
+    private static final int READERS = 18;
+    private static final int WRITERS = 2;
+    private static final double DASHBOARD_RATE = 2_000;
+    private static final long MIX_MILLIS = 1_000;
+
+    @Test
+    public void benchmarkStampedLockTicketPool() throws InterruptedException {
+        System.out.println("=== StampedLockTicketPool Benchmark ===");
+        for (int tc : THREAD_COUNTS) {
+            double time = measure(new StampedLockTicketPool(CAPACITY), tc, OPS_PER_THREAD);
+            System.out.printf("Threads: %d, Time: %.3f s%n", tc, time);
+        }
+    }
+
+    // Tickets sold in a fixed window while Reader and Writer threads poll and update the pool.
+    @Test
+    public void benchmarkReadHeavyMix() throws InterruptedException {
+        System.out.println("=== Read-heavy dashboard mix (90/10) ===");
+        mix("Synchronized", SynchronizedTicketPool::new);
+        mix("ReentrantLock", ReentrantLockTicketPool::new);
+        mix("StampedLock", StampedLockTicketPool::new);
+    }
+
+    private void mix(String name, IntFunction<TicketPool> creator) throws InterruptedException {
+        TicketPool pool = creator.apply(CAPACITY);
+        List<Reader> readers = new ArrayList<>();
+        List<Writer> writers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            Reader reader = new Reader(pool, DASHBOARD_RATE);
+            readers.add(reader);
+            threads.add(new Thread(reader, "Reader-" + i));
+        }
+        for (int i = 0; i < WRITERS; i++) {
+            Writer writer = new Writer(pool, DASHBOARD_RATE);
+            writers.add(writer);
+            threads.add(new Thread(writer, "Writer-" + i));
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder sold = new LongAdder();
+        Ticket ticket = new Ticket("T", "Event", 100.0);
+        threads.add(new Thread(() -> {
+            while (running.get()) {
+                pool.tryAddTicket(ticket);
+            }
+        }, "Producer"));
+        threads.add(new Thread(() -> {
+            while (running.get()) {
+                if (pool.tryPurchaseTicket() != null) {
+                    sold.increment();
+                }
+            }
+        }, "Consumer"));
+        threads.forEach(Thread::start);
+        Thread.sleep(MIX_MILLIS);
+        running.set(false);
+        readers.forEach(Reader::stop);
+        writers.forEach(Writer::stop);
+        for (Thread t : threads) {
+            t.interrupt();
+            t.join();
+        }
+        System.out.printf("%-13s Sold: %8d, Updates: %d%n", name, sold.sum(), pool.getVersion());
+    }
+
+    private double measure(TicketPool pool, int threadCount, int opsPerThread) throws InterruptedException {
+        int producers = threadCount / 2;
+        int consumers = threadCount - producers;
+        ExecutorService prodExec = Executors.newFixedThreadPool(producers);
+        ExecutorService consExec = Executors.newFixedThreadPool(consumers);
+        CountDownLatch prodLatch = new CountDownLatch(producers);
+        CountDownLatch consLatch = new CountDownLatch(consumers);
+
+        for (int i = 0; i < producers; i++) {
+            prodExec.submit(() -> {
+                for (int j = 0; j < opsPerThread; j++) {
+                    try {
+                        pool.addTicket(new Ticket(UUID.randomUUID().toString(), "Event", Math.random() * 100));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                prodLatch.countDown();
+            });
+        }
+        for (int i = 0; i < consumers; i++) {
+            consExec.submit(() -> {
+                for (int j = 0; j < opsPerThread; j++) {
+                    try {
+                        pool.purchaseTicket();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                consLatch.countDown();
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        prodLatch.await();
+        consLatch.await();
+        prodExec.shutdown();
+        consExec.shutdown();
+
+        return (System.currentTimeMillis() - start) / 1000.0;
+    }
+}
+
@@ -0,0 +1,33 @@
+package org.concurrent.all.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientThreadsTest {
+
+    @Test
+    void testStartsPlatformThread() throws InterruptedException {
+        CountDownLatch ran = new CountDownLatch(1);
+        Thread t = ClientThreads.start(ran::countDown, "Platform-Client", false);
+        assertTrue(ran.await(1, TimeUnit.SECONDS));
+        assertEquals("Platform-Client", t.getName());
+        t.join();
+    }
+
+    @Test
+    void testVirtualThreadOrFallback() throws InterruptedException {
+        AtomicReference<String> name = new AtomicReference<>();
+        Thread t = ClientThreads.start(() -> name.set(Thread.currentThread().getName()), "Virtual-Client", true);
+        t.join();
+        assertEquals("Virtual-Client", name.get());
+        boolean supported = Runtime.version().feature() >= 21;
+        assertEquals(supported, ClientThreads.isVirtualSupported());
+        assertEquals(supported, t.toString().startsWith("VirtualThread"),
+                "Clients should run on virtual threads exactly when the runtime supports them");
+    }
+}
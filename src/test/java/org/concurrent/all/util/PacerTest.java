@@ -0,0 +1,73 @@
+package org.concurrent.all.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacerTest {
+
+    @Test
+    void testRejectsNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new Pacer(0));
+        assertThrows(IllegalArgumentException.class, () -> new Pacer(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Pacer(Double.NaN));
+    }
+
+    @Test
+    void testFractionalRate() throws InterruptedException {
+        Pacer pacer = new Pacer(2.5);
+        assertEquals(2.5, pacer.getRate(), 1e-6);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            pacer.pace();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 1190 && elapsedMillis < 1500, "3 ops at 2.5/s took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testHighRateIsNotCappedAtOnePerMillisecond() throws InterruptedException {
+        Pacer pacer = new Pacer(100_000);
+        long start = System.nanoTime();
+        for (int i = 0; i < 20_000; i++) {
+            pacer.pace();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 199 && elapsedMillis < 400, "20k ops at 100k/s took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testServiceTimeIsCompensated() throws InterruptedException {
+        Pacer pacer = new Pacer(20);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(30); // work that takes most of each 50ms interval
+            pacer.pace();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 495 && elapsedMillis < 650,
+                "Work time should be absorbed by the interval, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    void testInterruptStopsWaiting() throws InterruptedException {
+        Pacer pacer = new Pacer(0.1);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread t = new Thread(() -> {
+            try {
+                pacer.pace();
+            } catch (InterruptedException e) {
+                thrown.set(e);
+            }
+        });
+        t.start();
+        Thread.sleep(50);
+        t.interrupt();
+        t.join(1000);
+        assertFalse(t.isAlive());
+        assertInstanceOf(InterruptedException.class, thrown.get());
+    }
+}
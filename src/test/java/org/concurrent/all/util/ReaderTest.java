@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ReaderTest {
@@ -29,13 +30,31 @@ class ReaderTest {
     void testLogReaderMessageFromReader() throws InterruptedException {
         Thread readerThread = new Thread(reader);
         readerThread.start();
-        Thread.sleep(1100);
+        Thread.sleep(50);
+        // The pool changes every 50ms, but the reader reports at most twice a second.
+        for (int i = 0; i < 22; i++) {
+            pool.performExclusiveUpdate();
+            Thread.sleep(50);
+        }
         reader.stop();
-        readerThread.interrupt();
         readerThread.join(2000);
+        assertFalse(readerThread.isAlive(), "stop() should wake the reader");
         String logs = pool.getLogs();
         long count = logs.lines().filter(line -> line.contains("reads from")).count();
         assertTrue(count >= 2, "Logs should contain at least 2 read messages");
+        assertTrue(count <= 4, "Changes should be coalesced to the reader's rate, got " + count);
+    }
+
+    @Test
+    void testIdlePoolIsNotRead() throws InterruptedException {
+        Thread readerThread = new Thread(reader);
+        readerThread.start();
+        Thread.sleep(1100);
+        readerThread.interrupt();
+        readerThread.join(2000);
+        assertFalse(readerThread.isAlive(), "An interrupt should stop the reader");
+        assertTrue(pool.getLogs().lines().noneMatch(line -> line.contains("reads from")),
+                "A reader of an idle pool should stay silent");
     }
 
     @Test